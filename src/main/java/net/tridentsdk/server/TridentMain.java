@@ -20,13 +20,18 @@ import net.tridentsdk.Impl;
 import net.tridentsdk.Server;
 import net.tridentsdk.command.logger.Logger;
 import net.tridentsdk.doc.Debug;
+import net.tridentsdk.server.command.FileLogger;
 import net.tridentsdk.server.command.InfoLogger;
+import net.tridentsdk.server.command.LogLevel;
 import net.tridentsdk.server.command.PipelinedLogger;
+import net.tridentsdk.server.concurrent.SamplingProfiler;
 import net.tridentsdk.server.concurrent.ServerThreadPool;
 import net.tridentsdk.server.config.ConfigIo;
+import net.tridentsdk.server.config.ConfigWatcher;
 import net.tridentsdk.server.config.ServerConfig;
 import net.tridentsdk.server.net.NetServer;
 import net.tridentsdk.server.packet.status.StatusOutResponse;
+import net.tridentsdk.server.plugin.EventDispatcher;
 import net.tridentsdk.server.util.JiraExceptionCatcher;
 import net.tridentsdk.server.world.TridentWorldLoader;
 
@@ -34,6 +39,7 @@ import javax.annotation.concurrent.Immutable;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Trident server startup class
@@ -48,6 +54,12 @@ public final class TridentMain {
      * If passed, native epoll is not used
      */
     private static final String NO_EPOLL = "-noepoll";
+    /**
+     * If passed, the sampling profiler is started with the
+     * server and written out on shutdown, as if the profiler
+     * setting were enabled
+     */
+    private static final String PROFILE = "-profile";
 
     // Prevent instantiation
     private TridentMain() {
@@ -73,6 +85,7 @@ public final class TridentMain {
         List<String> argList = Arrays.asList(args);
         boolean verbose = argList.contains(VERBOSE);
         boolean noEpoll = argList.contains(NO_EPOLL);
+        boolean profile = argList.contains(PROFILE);
         // -------------------------------------------------
 
         // Setup logging facilities ------------------------
@@ -96,6 +109,21 @@ public final class TridentMain {
 
         logger.log("Reading server.json...");
         ServerConfig config = ServerConfig.init();
+        AtomicBoolean profiler = new AtomicBoolean(config.profiler());
+        Runnable applySettings = () -> {
+            if (internal instanceof FileLogger) {
+                ((FileLogger) internal).setOverflowPolicy(config.logOverflow());
+            }
+            InfoLogger.setLevels(verbose ? LogLevel.DEBUG : config.logLevel(), config.logLevels());
+            EventDispatcher.setWarnThreshold(config.listenerWarnThresh());
+
+            // Toggling the setting starts or stops the profiler
+            boolean enabled = config.profiler();
+            if (profiler.getAndSet(enabled) != enabled) {
+                SamplingProfiler.getInstance().setRunning(enabled);
+            }
+        };
+        applySettings.run();
         logger.success("Done.");
         // -------------------------------------------------
 
@@ -115,6 +143,10 @@ public final class TridentMain {
 
         // Init thread pools -------------------------------
         ServerThreadPool.init();
+        if (profile || config.profiler()) {
+            logger.log("Starting the sampling profiler...");
+            SamplingProfiler.getInstance().start(SamplingProfiler.DEFAULT_INTERVAL_MILLIS, false);
+        }
         // -------------------------------------------------
 
         // Load worlds -------------------------------------
@@ -126,6 +158,7 @@ public final class TridentMain {
         // Setup server ------------------------------------
         logger.log("Setting up the server...");
         TridentServer.init(config, logger, server);
+        new ConfigWatcher(config, applySettings).start();
         logger.success("Done.");
         // -------------------------------------------------
 
@@ -21,10 +21,11 @@ import net.tridentsdk.Server;
 import net.tridentsdk.command.logger.Logger;
 import net.tridentsdk.doc.Policy;
 import net.tridentsdk.event.EventController;
+import net.tridentsdk.server.concurrent.SamplingProfiler;
 import net.tridentsdk.server.concurrent.ServerThreadPool;
+import net.tridentsdk.server.concurrent.TickWatchdog;
 import net.tridentsdk.server.concurrent.TridentTick;
 import net.tridentsdk.server.config.ServerConfig;
-import net.tridentsdk.server.net.NetClient;
 import net.tridentsdk.server.net.NetServer;
 import net.tridentsdk.server.player.TridentPlayer;
 import net.tridentsdk.server.plugin.TridentEventController;
@@ -33,8 +34,9 @@ import net.tridentsdk.server.world.TridentWorldLoader;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Collections;
 
 /**
  * This class represents the running Minecraft server
@@ -66,6 +68,11 @@ public class TridentServer implements Server {
      * The ticking thread for the server
      */
     private final TridentTick tick;
+    /**
+     * The watchdog observing the ticking thread, or
+     * {@code null} if it is disabled
+     */
+    private final TickWatchdog watchdog;
 
     /**
      * Creates a new server instance
@@ -80,6 +87,18 @@ public class TridentServer implements Server {
         this.logger = console;
         this.server = server;
         this.tick = new TridentTick(console);
+        this.tick.adaptViewDistance(config);
+        int allocInterval = config.allocReportInterval();
+        if (allocInterval > 0) {
+            try {
+                this.tick.trackAllocations(allocInterval * 20);
+            } catch (UnsupportedOperationException e) {
+                console.warn("Allocation reports are disabled: " + e.getMessage());
+            }
+        }
+
+        int watchdogThresh = config.watchdogThresh();
+        this.watchdog = watchdogThresh > 0 ? new TickWatchdog(this.tick, console, watchdogThresh) : null;
     }
 
     /**
@@ -91,6 +110,9 @@ public class TridentServer implements Server {
         if (TridentServer.instance == null) {
             TridentServer.instance = server;
             server.tick.start();
+            if (server.watchdog != null) {
+                server.watchdog.start();
+            }
             return server;
         }
 
@@ -118,10 +140,7 @@ public class TridentServer implements Server {
 
     @Override
     public Collection<TridentPlayer> getPlayers() {
-        return TridentPlayer.getPlayers().values()
-                .stream()
-                .filter(p -> p.net().getState() == NetClient.NetState.PLAY)
-                .collect(Collectors.toSet());
+        return Collections.unmodifiableList(Arrays.asList(TridentPlayer.getPlayers()));
     }
 
     @Override
@@ -152,19 +171,57 @@ public class TridentServer implements Server {
     @Override
     public void shutdown() {
         this.logger.warn("SERVER SHUTTING DOWN...");
+        boolean interrupted = this.stopProfiler();
         try {
             this.logger.log("Saving config...");
             this.config.save();
+            TridentEventController.getInstance().report(this.logger, 5);
             this.logger.log("Shutting down server process...");
             this.tick.interrupt();
+            if (this.watchdog != null) {
+                this.watchdog.interrupt();
+            }
             ServerThreadPool.shutdownAll();
             this.logger.log("Closing network connections...");
             this.server.shutdown();
         } catch (IOException | InterruptedException e) {
             JiraExceptionCatcher.serverException(e);
             return;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
 
         this.logger.success("Server has shutdown successfully.");
     }
+
+    /**
+     * Stops the profiler if it is running and writes its
+     * output, logging any failure so that the rest of the
+     * shutdown still runs.
+     *
+     * @return {@code true} if the thread was interrupted
+     * while waiting for the profiler to stop
+     */
+    private boolean stopProfiler() {
+        SamplingProfiler profiler = SamplingProfiler.getInstance();
+        if (!profiler.isRunning()) {
+            return false;
+        }
+
+        this.logger.log("Writing profiler output...");
+        try {
+            profiler.stop();
+        } catch (IllegalStateException ignored) {
+            // stopped since it was checked
+        } catch (IOException e) {
+            this.logger.error("Failed to write the profile: " + e.getMessage());
+        } catch (InterruptedException e) {
+            this.logger.error("Interrupted while stopping the profiler");
+            return true;
+        }
+
+        return false;
+    }
 }
@@ -24,6 +24,9 @@ import javax.annotation.concurrent.Immutable;
  * Colorizer logger is a pipeline logger which replaces
  * color codes with the ANSI equivalents before passing to
  * the next logger.
+ *
+ * <p>Color codes are translated using a table which is
+ * built once from the chat colors.</p>
  */
 @Immutable
 public class ColorizerLogger extends PipelinedLogger {
@@ -43,6 +46,28 @@ public class ColorizerLogger extends PipelinedLogger {
     public static final String UNDERLINE = "\u001B[4m";
     public static final String STRIKETHROUGH = "\u001B[9m";
 
+    /**
+     * Translates a color code char into the equivalent
+     * ANSI sequence, or {@code null} if there is no color
+     * with the char
+     */
+    private static final String[] ANSI = new String[128];
+
+    static {
+        for (char c = 0; c < ANSI.length; c++) {
+            ChatColor color;
+            try {
+                color = ChatColor.of(c);
+            } catch (RuntimeException e) {
+                continue;
+            }
+
+            if (color != null) {
+                ANSI[c] = ansi(color);
+            }
+        }
+    }
+
     /**
      * Creates a new logger that colorizes the output
      *
@@ -52,95 +77,95 @@ public class ColorizerLogger extends PipelinedLogger {
         super(next);
     }
 
+    /**
+     * Obtains the ANSI equivalent of the given color.
+     *
+     * @param color the color to translate
+     * @return the ANSI sequence
+     */
+    private static String ansi(ChatColor color) {
+        switch (color) {
+            case BLACK:
+                return BLACK;
+            case DARK_BLUE:
+                return BLUE;
+            case DARK_GREEN:
+                return GREEN;
+            case DARK_AQUA:
+                return CYAN;
+            case DARK_RED:
+                return RED;
+            case DARK_PURPLE:
+                return PURPLE;
+            case GOLD:
+                return YELLOW;
+            case GRAY:
+                return WHITE;
+            case DARK_GRAY:
+                return WHITE;
+            case BLUE:
+                return BLUE;
+            case GREEN:
+                return GREEN;
+            case AQUA:
+                return CYAN;
+            case RED:
+                return RED;
+            case LIGHT_PURPLE:
+                return PURPLE;
+            case YELLOW:
+                return YELLOW;
+            case WHITE:
+                return WHITE;
+            case OBFUSCATED:
+                // obfuscated is the only chat
+                // color without an ansi equiv.
+                return "";
+            case BOLD:
+                return BOLD;
+            case STRIKETHROUGH:
+                return STRIKETHROUGH;
+            case UNDERLINE:
+                return UNDERLINE;
+            case ITALIC:
+                return ITALICS;
+            case RESET:
+                return RESET;
+            default:
+                return null;
+        }
+    }
+
     @Override
     public LogMessageImpl handle(LogMessageImpl msg) {
-        char[] sq = msg.getMessage().toCharArray();
-
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < sq.length; i++) {
-            char c = sq[i];
-            if (c == '\u00A7') {
-                int codeIdx = ++i;
-                if (codeIdx >= sq.length) {
-                    break;
-                } else {
-                    ChatColor decode = ChatColor.of(sq[codeIdx]);
-                    switch (decode) {
-                        case BLACK:
-                            builder.append(BLACK);
-                            break;
-                        case DARK_BLUE:
-                            builder.append(BLUE);
-                            break;
-                        case DARK_GREEN:
-                            builder.append(GREEN);
-                            break;
-                        case DARK_AQUA:
-                            builder.append(CYAN);
-                            break;
-                        case DARK_RED:
-                            builder.append(RED);
-                            break;
-                        case DARK_PURPLE:
-                            builder.append(PURPLE);
-                            break;
-                        case GOLD:
-                            builder.append(YELLOW);
-                            break;
-                        case GRAY:
-                            builder.append(WHITE);
-                            break;
-                        case DARK_GRAY:
-                            builder.append(WHITE);
-                            break;
-                        case BLUE:
-                            builder.append(BLUE);
-                            break;
-                        case GREEN:
-                            builder.append(GREEN);
-                            break;
-                        case AQUA:
-                            builder.append(CYAN);
-                            break;
-                        case RED:
-                            builder.append(RED);
-                            break;
-                        case LIGHT_PURPLE:
-                            builder.append(PURPLE);
-                            break;
-                        case YELLOW:
-                            builder.append(YELLOW);
-                            break;
-                        case WHITE:
-                            builder.append(WHITE);
-                            break;
-                        case OBFUSCATED:
-                            // obfuscated is the only chat
-                            // color without an ansi equiv.
-                            break;
-                        case BOLD:
-                            builder.append(BOLD);
-                            break;
-                        case STRIKETHROUGH:
-                            builder.append(STRIKETHROUGH);
-                            break;
-                        case UNDERLINE:
-                            builder.append(UNDERLINE);
-                            break;
-                        case ITALIC:
-                            builder.append(ITALICS);
-                            break;
-                        case RESET:
-                            builder.append(RESET);
-                            break;
-                    }
-                }
-            } else {
-                builder.append(c);
-            }
+        String sq = msg.getMessage();
+        int idx = sq.indexOf('\u00A7');
+        if (idx < 0) {
+            // No colors are set, so there is nothing to reset
+            // and the formatted line stays cached
+            return msg;
         }
 
-        msg.setMessage(builder.toString() + RESET);
+        StringBuilder builder = LogMessageImpl.builder();
+        int last = 0;
+        do {
+            builder.append(sq, last, idx);
+            int codeIdx = idx + 1;
+            if (codeIdx >= sq.length()) {
+                last = sq.length();
+                break;
+            }
+
+            char code = sq.charAt(codeIdx);
+            String ansi = code < ANSI.length ? ANSI[code] : null;
+            if (ansi != null) {
+                builder.append(ansi);
+            }
+            last = codeIdx + 1;
+        } while ((idx = sq.indexOf('\u00A7', last)) >= 0);
+
+        builder.append(sq, last, sq.length());
+        msg.setMessage(builder.append(RESET).toString());
         return msg;
     }
 
@@ -149,7 +174,7 @@ public class ColorizerLogger extends PipelinedLogger {
      * log.
      */
     private LogMessageImpl handle(String color, LogMessageImpl msg) {
-        msg.setMessage(color + msg.getMessage() + RESET);
+        msg.setMessage(LogMessageImpl.builder().append(color).append(msg.getMessage()).append(RESET).toString());
         return msg;
     }
 
@@ -0,0 +1,210 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.command;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline logger which hands messages over to a renderer
+ * thread, which passes them along the rest of the pipeline.
+ *
+ * <p>This decouples the loggers from the console, so that
+ * translating colors and printing to a slow terminal never
+ * delays the thread which logged the message. If the
+ * console cannot keep up, messages are dropped from the
+ * console rather than waited on; they are still written to
+ * the log file.</p>
+ */
+@ThreadSafe
+public class ConsoleRenderer extends PipelinedLogger {
+    /**
+     * The amount of messages which may be waiting to be
+     * rendered
+     */
+    private static final int CAPACITY = 4096;
+    /**
+     * The time the renderer thread sleeps when there is
+     * nothing to render
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Pipeline method tags
+    private static final int LOG = 0;
+    private static final int SUCCESS = 1;
+    private static final int WARN = 2;
+    private static final int ERROR = 3;
+    private static final int DEBUG = 4;
+
+    /**
+     * The messages waiting to be rendered
+     */
+    private final LogRing<LogMessageImpl> ring = new LogRing<>(CAPACITY);
+    /**
+     * The amount of messages dropped since the last notice
+     */
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * The logger which reports dropped messages to the rest
+     * of the pipeline, bypassing the ring
+     */
+    private final InfoLogger notices;
+    /**
+     * The renderer thread
+     */
+    private final Thread renderer;
+    /**
+     * Whether the renderer thread is parked waiting for
+     * messages
+     */
+    private volatile boolean idle;
+    /**
+     * Whether the renderer should keep running
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new console renderer and starts its thread.
+     *
+     * @param next the next logger in the pipeline
+     */
+    public ConsoleRenderer(PipelinedLogger next) {
+        super(next);
+        this.notices = new InfoLogger(next, "Console");
+        this.renderer = new Thread(this::render, "TRD - Console");
+        this.renderer.setDaemon(true);
+        this.renderer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    @Override
+    public LogMessageImpl handle(LogMessageImpl msg) {
+        return msg;
+    }
+
+    /**
+     * Queues the given message to be passed to the given
+     * pipeline method on the renderer thread.
+     *
+     * @param msg the message
+     * @param tag the pipeline method
+     */
+    private void enqueue(LogMessageImpl msg, int tag) {
+        if (msg == null) return;
+        if (!this.ring.offer(msg, tag)) {
+            this.dropped.incrementAndGet();
+        }
+
+        if (this.idle) {
+            this.idle = false;
+            LockSupport.unpark(this.renderer);
+        }
+    }
+
+    @Override
+    public void log(LogMessageImpl msg) {
+        this.enqueue(msg, LOG);
+    }
+
+    @Override
+    public void success(LogMessageImpl msg) {
+        this.enqueue(msg, SUCCESS);
+    }
+
+    @Override
+    public void warn(LogMessageImpl msg) {
+        this.enqueue(msg, WARN);
+    }
+
+    @Override
+    public void error(LogMessageImpl msg) {
+        this.enqueue(msg, ERROR);
+    }
+
+    @Override
+    public void debug(LogMessageImpl msg) {
+        this.enqueue(msg, DEBUG);
+    }
+
+    /**
+     * Stops the renderer thread after it has rendered all
+     * of the messages that are waiting.
+     */
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.renderer);
+        try {
+            this.renderer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The renderer thread loop.
+     */
+    private void render() {
+        while (true) {
+            LogMessageImpl msg = this.ring.poll();
+            if (msg == null) {
+                long dropped = this.dropped.getAndSet(0);
+                if (dropped > 0) {
+                    this.notices.warn(dropped + " messages were not printed, see the log file");
+                    continue;
+                }
+
+                if (!this.running) {
+                    break;
+                }
+
+                this.idle = true;
+                // Check again in case a message was published
+                // before the flag was set
+                if (this.ring.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+
+                this.idle = false;
+                continue;
+            }
+
+            try {
+                switch (this.ring.polledTag()) {
+                    case LOG:
+                        this.next.log(msg);
+                        break;
+                    case SUCCESS:
+                        this.next.success(msg);
+                        break;
+                    case WARN:
+                        this.next.warn(msg);
+                        break;
+                    case ERROR:
+                        this.next.error(msg);
+                        break;
+                    case DEBUG:
+                        this.next.debug(msg);
+                        break;
+                }
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+        }
+    }
+}
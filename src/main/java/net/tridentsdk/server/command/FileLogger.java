@@ -18,21 +18,32 @@ package net.tridentsdk.server.command;
 
 import net.tridentsdk.util.Misc;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.ThreadLocalRandom;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.regex.Pattern;
 
 /**
  * This class represents the file logger which writes the
  * messages sent by loggers to the log file.
  *
+ * <p>Messages are formatted on the logging thread and then
+ * published to a ring buffer, from which a single writer
+ * thread batches them into the log file so that loggers
+ * never wait on the disk.</p>
+ *
  * <p>In addition, this class also manages the log files,
  * moving them to appropriate directories when they fill to
  * the text editor limits.</p>
@@ -46,7 +57,7 @@ public class FileLogger extends PipelinedLogger {
     /**
      * The system line separator
      */
-    private static final String LINE_SEP = System.getProperty("line.separator");
+    private static final byte[] LINE_SEP = System.getProperty("line.separator").getBytes(StandardCharsets.UTF_8);
     /**
      * Max file length, 80 mb
      */
@@ -55,21 +66,116 @@ public class FileLogger extends PipelinedLogger {
      * The index separator for the
      */
     private static final String IDX_SEPARATOR = Pattern.quote(".");
+    /**
+     * The amount of lines that may be waiting to be written
+     */
+    private static final int CAPACITY = 8192;
+    /**
+     * The size of the buffer used to batch writes
+     */
+    private static final int BATCH_SIZE = 65536;
+    /**
+     * The amount of overflowing messages out of which one
+     * is kept when using {@link OverflowPolicy#SAMPLE}
+     */
+    private static final int SAMPLE_RATE = 16;
+    /**
+     * The time the writer thread sleeps when there is
+     * nothing to write
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /**
+     * The time a producer waits for space in the ring
+     */
+    private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    /**
+     * The minimum time between reports of errors writing
+     * the log file
+     */
+    private static final long ERROR_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * The behavior of loggers when messages are produced
+     * faster than they can be written.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for the writer to make space
+         */
+        BLOCK,
+        /**
+         * Discard the message
+         */
+        DROP,
+        /**
+         * Wait for space for one out of every few messages
+         * and discard the rest
+         */
+        SAMPLE
+    }
 
     /**
-     * The file writer
+     * The lines waiting to be written
+     */
+    private final LogRing<String> ring = new LogRing<>(CAPACITY);
+    /**
+     * The amount of messages that were discarded because
+     * the ring was full
+     */
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * The amount of messages that have overflowed, used to
+     * sample
      */
-    @GuardedBy("lock")
-    private Writer out;
+    private final AtomicLong overflowed = new AtomicLong();
     /**
-     * Current log file
+     * The thread which writes to the log file
+     */
+    private final Thread writer;
+    /**
+     * Whether the writer thread is parked waiting for lines
+     */
+    private volatile boolean idle;
+    /**
+     * The time at which an error was last reported, only
+     * used by the writer thread
+     */
+    private long lastError;
+    /**
+     * The amount of errors not reported since the last
+     * report, or -1 if no error has been reported, only
+     * used by the writer thread
+     */
+    private long suppressedErrors = -1;
+    /**
+     * Whether the writer should keep running
+     */
+    private volatile boolean running = true;
+    /**
+     * The current overflow policy
+     */
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * The encoder used to write lines into the batch buffer,
+     * confined to the writer thread
+     */
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    /**
+     * The log file channel, confined to the writer thread
+     */
+    private FileChannel out;
+    /**
+     * Current log file, confined to the writer thread
      */
-    @GuardedBy("lock")
     private Path current;
     /**
-     * The file writer lock
+     * The bytes written to the current log file, confined
+     * to the writer thread
      */
-    private final Object lock = new Object();
+    private long written;
 
     /**
      * Creates a new log file logger, which logs items to
@@ -79,6 +185,8 @@ public class FileLogger extends PipelinedLogger {
      */
     private FileLogger(PipelinedLogger next) {
         super(next);
+        this.writer = new Thread(this::write, "TRD - Log Writer");
+        this.writer.setDaemon(true);
     }
 
     /**
@@ -106,55 +214,207 @@ public class FileLogger extends PipelinedLogger {
             }
 
             if (f == null) throw new RuntimeException();
-
-            synchronized (logger.lock) {
-                logger.makeNewLog(f.toPath());
-            }
+            logger.makeNewLog(f.toPath());
         } else {
-            synchronized (logger.lock) {
-                logger.makeNewLog(0);
-            }
+            logger.makeNewLog(0);
         }
 
+        logger.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::close));
         return logger;
     }
 
+    /**
+     * Sets the behavior of this logger when messages are
+     * logged faster than they can be written to the file.
+     *
+     * @param policy the new overflow policy
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        this.overflowPolicy = policy;
+    }
+
     @Override
     public LogMessageImpl handle(LogMessageImpl msg) {
-        Writer out = this.check();
+        String line = msg.format(0);
+        if (!this.ring.offer(line)) {
+            this.overflow(line);
+        }
 
-        try {
-            out.write(msg.format(0));
-            out.write(LINE_SEP);
-            out.flush();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (this.idle) {
+            this.idle = false;
+            LockSupport.unpark(this.writer);
         }
+
         return msg;
     }
 
     /**
-     * Checks if the file needs to be truncated
+     * Handles a line which could not be added because the
+     * ring was full.
      *
-     * @return the writer, including if it was updated
-     */
-    private Writer check() {
-        if (ThreadLocalRandom.current().nextInt(50) == 1) {
-            synchronized (this.lock) {
-                try {
-                    if (Files.size(this.current) > MAX_LEN) {
-                        this.makeNewLog(this.current);
+     * @param line the line that was logged
+     */
+    private void overflow(String line) {
+        OverflowPolicy policy = this.overflowPolicy;
+        if (policy == OverflowPolicy.DROP || !this.running ||
+                policy == OverflowPolicy.SAMPLE && this.overflowed.getAndIncrement() % SAMPLE_RATE != 0) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+
+        LockSupport.unpark(this.writer);
+        while (!this.ring.offer(line)) {
+            if (!this.running) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+
+            LockSupport.parkNanos(FULL_NANOS);
+        }
+    }
+
+    /**
+     * Stops the writer thread after it has written all of
+     * the lines that are waiting.
+     */
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The writer thread loop, which drains the ring into
+     * the batch buffer and writes the buffer to the file
+     * whenever it fills or the ring runs empty.
+     */
+    private void write() {
+        ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_SIZE);
+        while (true) {
+            try {
+                String line = this.ring.poll();
+                if (line == null) {
+                    this.flush(batch);
+                    long dropped = this.dropped.getAndSet(0);
+                    if (dropped > 0) {
+                        this.append(batch, "[Logger] " + dropped + " messages were not written to the log file");
+                        continue;
+                    }
+
+                    if (!this.running) {
+                        break;
+                    }
+
+                    this.idle = true;
+                    // Check again in case a line was published
+                    // before the flag was set
+                    if (this.ring.isEmpty()) {
+                        LockSupport.parkNanos(this, IDLE_NANOS);
                     }
 
-                    return this.out;
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    this.idle = false;
+                    continue;
                 }
+
+                this.append(batch, line);
+            } catch (IOException e) {
+                this.reportError(e);
+                batch.clear();
             }
-        } else {
-            synchronized (this.lock) {
-                return this.out;
-            }
+        }
+
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reports an error writing the log file to stderr, at
+     * most once per {@link #ERROR_INTERVAL_NANOS} so that a
+     * file which stays unwritable does not flood the
+     * console.
+     *
+     * @param e the error
+     */
+    private void reportError(IOException e) {
+        long now = System.nanoTime();
+        if (this.suppressedErrors >= 0 && now - this.lastError < ERROR_INTERVAL_NANOS) {
+            this.suppressedErrors++;
+            return;
+        }
+
+        System.err.println("[Logger] Failed to write the log file" + (this.suppressedErrors > 0 ?
+                " (" + this.suppressedErrors + " more errors since the last report)" : ""));
+        e.printStackTrace();
+        this.lastError = now;
+        this.suppressedErrors = 0;
+    }
+
+    /**
+     * Encodes the given line into the batch, writing the
+     * batch to the file whenever it fills up.
+     *
+     * @param batch the batch buffer
+     * @param line the line to add
+     * @throws IOException if the file could not be written
+     */
+    private void append(ByteBuffer batch, String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        this.encoder.reset();
+        while (this.encoder.encode(chars, batch, true).isOverflow()) {
+            this.flush(batch);
+        }
+
+        if (batch.remaining() < LINE_SEP.length) {
+            this.flush(batch);
+        }
+        batch.put(LINE_SEP);
+    }
+
+    /**
+     * Writes out the contents of the batch buffer.
+     *
+     * @param batch the batch buffer
+     * @throws IOException if the file could not be written
+     */
+    private void flush(ByteBuffer batch) throws IOException {
+        if (batch.position() == 0) {
+            return;
+        }
+
+        batch.flip();
+        this.writeFully(batch);
+        batch.clear();
+    }
+
+    /**
+     * Writes the given buffer to the current log file and
+     * creates a new log file once it exceeds the max
+     * length.
+     *
+     * @param buf the bytes to write
+     * @throws IOException if the file could not be written
+     */
+    private void writeFully(ByteBuffer buf) throws IOException {
+        // A previous rotation failed, so try again
+        if (!this.out.isOpen()) {
+            this.makeNewLog(this.current);
+        }
+
+        while (buf.hasRemaining()) {
+            this.written += this.out.write(buf);
+        }
+
+        if (this.written > MAX_LEN) {
+            this.out.close();
+            this.makeNewLog(this.current);
         }
     }
 
@@ -164,7 +424,6 @@ public class FileLogger extends PipelinedLogger {
      * @param last the last log file
      * @throws IOException if something dumb went wrong
      */
-    @GuardedBy("lock")
     private void makeNewLog(Path last) throws IOException {
         String[] split = last.toFile().getName().split(IDX_SEPARATOR);
         int curIdx = Integer.parseInt(split[1]) + 1;
@@ -177,12 +436,10 @@ public class FileLogger extends PipelinedLogger {
      * @param idx the new index
      * @throws IOException if something dumb went wrong
      */
-    @GuardedBy("lock")
     private void makeNewLog(int idx) throws IOException {
         Path path = DIR.resolve("log." + idx + ".log");
-        Files.createFile(path);
-
+        this.out = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
         this.current = path;
-        this.out = new FileWriter(path.toFile());
+        this.written = 0;
     }
 }
\ No newline at end of file
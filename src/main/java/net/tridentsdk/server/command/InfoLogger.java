@@ -19,50 +19,45 @@ package net.tridentsdk.server.command;
 import net.tridentsdk.command.logger.Logger;
 import net.tridentsdk.doc.Policy;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.OutputStream;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.TextStyle;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
-import static java.time.temporal.ChronoField.*;
+import java.util.function.Supplier;
 
 /**
  * Not part of the pipeline, this logger is the surface
  * level logger that is given to plugins and appends the
  * information such as date and time and the logger name to
  * the message logged to the logger.
+ *
+ * <p>Each logger has a level below which messages are
+ * discarded before anything is allocated. The supplier and
+ * parameterized methods only build the message if its level
+ * is enabled, so they should be preferred on hot paths.</p>
  */
 @Policy("not pipelined")
 @ThreadSafe
 public class InfoLogger extends LoggerHandlers implements Logger {
     /**
-     * The time, using standard 24-hour format
+     * The logger cache
      */
-    private static final DateTimeFormatter TIME_FORMAT = new DateTimeFormatterBuilder()
-            .appendValue(HOUR_OF_DAY, 2)
-            .appendLiteral(':')
-            .appendValue(MINUTE_OF_HOUR, 2)
-            .appendLiteral(':')
-            .appendValue(SECOND_OF_MINUTE, 2)
-            .toFormatter();
+    private static final Map<String, InfoLogger> CACHE = new ConcurrentHashMap<>();
     /**
-     * The date, using MMM DD YYYY
+     * The levels configured for specific logger names
      */
-    private static final DateTimeFormatter DATE_FORMAT = new DateTimeFormatterBuilder()
-            .appendText(MONTH_OF_YEAR, TextStyle.SHORT)
-            .appendLiteral(' ')
-            .appendValue(DAY_OF_MONTH, 2)
-            .appendLiteral(' ')
-            .appendValue(YEAR, 4)
-            .toFormatter();
+    @GuardedBy("CACHE")
+    private static final Map<String, LogLevel> LEVELS = new ConcurrentHashMap<>();
     /**
-     * The logger cache
+     * The level of loggers which have not been configured
      */
-    private static final Map<String, InfoLogger> CACHE = new ConcurrentHashMap<>();
+    private static volatile LogLevel defaultLevel = LogLevel.INFO;
+    /**
+     * The placeholder replaced by arguments in
+     * parameterized messages
+     */
+    private static final String PLACEHOLDER = "{}";
 
     // logger level constants
     private static final String INFO = "INFO";
@@ -78,6 +73,18 @@ public class InfoLogger extends LoggerHandlers implements Logger {
      * The name of this logger
      */
     private final String name;
+    /**
+     * The name and level components for each level, which
+     * are built once per logger
+     */
+    private final String infoHeader;
+    private final String warnHeader;
+    private final String errorHeader;
+    private final String debugHeader;
+    /**
+     * The lowest level of messages which are logged
+     */
+    private volatile LogLevel level;
 
     /**
      * Creates a new logger handler interceptor with the
@@ -89,6 +96,23 @@ public class InfoLogger extends LoggerHandlers implements Logger {
         super(null);
         this.next = next;
         this.name = name;
+        this.infoHeader = header(name, INFO);
+        this.warnHeader = header(name, WARN);
+        this.errorHeader = header(name, ERROR);
+        this.debugHeader = header(name, DEBUG);
+        this.level = LEVELS.getOrDefault(name, defaultLevel);
+    }
+
+    /**
+     * Creates the component which shows the logger name and
+     * level of a message.
+     *
+     * @param name the logger name
+     * @param level the logger level
+     * @return the component
+     */
+    private static String header(String name, String level) {
+        return "[" + name + "/" + level + "]";
     }
 
     /**
@@ -99,18 +123,315 @@ public class InfoLogger extends LoggerHandlers implements Logger {
      * @return a cached logger, or a new one
      */
     public static Logger get(PipelinedLogger next, String name) {
-        return CACHE.computeIfAbsent(name, (k) -> new InfoLogger(next, name));
+        InfoLogger logger = CACHE.get(name);
+        if (logger != null) {
+            return logger;
+        }
+
+        // Loggers must not be created while levels are
+        // being changed
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(name, (k) -> new InfoLogger(next, name));
+        }
+    }
+
+    /**
+     * Replaces the levels of all loggers.
+     *
+     * @param def the level of loggers which are not named
+     * in the given levels
+     * @param levels the levels of specific loggers, mapped
+     * by logger name
+     */
+    public static void setLevels(LogLevel def, Map<String, LogLevel> levels) {
+        synchronized (CACHE) {
+            defaultLevel = def;
+            LEVELS.clear();
+            LEVELS.putAll(levels);
+            for (InfoLogger logger : CACHE.values()) {
+                logger.level = LEVELS.getOrDefault(logger.name, def);
+            }
+        }
+    }
+
+    /**
+     * Sets the level of the logger with the given name,
+     * whether or not it has been created yet.
+     *
+     * @param name the name of the logger
+     * @param level the new level
+     */
+    public static void setLevel(String name, LogLevel level) {
+        synchronized (CACHE) {
+            LEVELS.put(name, level);
+            InfoLogger logger = CACHE.get(name);
+            if (logger != null) {
+                logger.level = level;
+            }
+        }
+    }
+
+    /**
+     * Obtains the lowest level of messages which are
+     * logged by this logger.
+     *
+     * @return the level of this logger
+     */
+    public LogLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Determines whether messages at the given level are
+     * logged by this logger.
+     *
+     * @param level the level to check
+     * @return {@code true} if the messages are logged
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(this.level) >= 0;
+    }
+
+    /**
+     * Replaces each placeholder in the given format with
+     * the next argument.
+     *
+     * @param format the message format
+     * @param argc the amount of arguments
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     * @return the formatted message
+     */
+    private static String format(String format, int argc, Object arg0, Object arg1) {
+        // Convert the arguments before taking the thread's
+        // builder, as their toString may itself log
+        String s0 = String.valueOf(arg0);
+        String s1 = argc > 1 ? String.valueOf(arg1) : null;
+
+        StringBuilder builder = LogMessageImpl.builder();
+        int last = 0;
+        for (int i = 0; i < argc; i++) {
+            int idx = format.indexOf(PLACEHOLDER, last);
+            if (idx < 0) {
+                break;
+            }
+
+            builder.append(format, last, idx).append(i == 0 ? s0 : s1);
+            last = idx + PLACEHOLDER.length();
+        }
+
+        return builder.append(format, last, format.length()).toString();
+    }
+
+    /**
+     * Passes the given message to the pipeline method for
+     * the given level.
+     *
+     * @param level the level of the message
+     * @param s the message
+     */
+    private void emit(LogLevel level, String s) {
+        switch (level) {
+            case DEBUG:
+                this.next.debug(this.handle(this.debugHeader, s));
+                break;
+            case INFO:
+                this.next.log(this.handle(this.infoHeader, s));
+                break;
+            case WARN:
+                this.next.warn(this.handle(this.warnHeader, s));
+                break;
+            case ERROR:
+                this.next.error(this.handle(this.errorHeader, s));
+                break;
+        }
+    }
+
+    /**
+     * Logs the message obtained from the given supplier if
+     * the level is enabled.
+     *
+     * @param level the level of the message
+     * @param s the message supplier
+     */
+    public void log(LogLevel level, Supplier<String> s) {
+        if (this.isEnabled(level)) {
+            this.emit(level, s.get());
+        }
+    }
+
+    /**
+     * Logs the given message with the placeholder replaced
+     * by the argument if the level is enabled.
+     *
+     * @param level the level of the message
+     * @param format the message format
+     * @param arg the argument
+     */
+    public void log(LogLevel level, String format, Object arg) {
+        if (this.isEnabled(level)) {
+            this.emit(level, format(format, 1, arg, null));
+        }
+    }
+
+    /**
+     * Logs the given message with the placeholders replaced
+     * by the arguments if the level is enabled.
+     *
+     * @param level the level of the message
+     * @param format the message format
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     */
+    public void log(LogLevel level, String format, Object arg0, Object arg1) {
+        if (this.isEnabled(level)) {
+            this.emit(level, format(format, 2, arg0, arg1));
+        }
+    }
+
+    /**
+     * Logs the supplied message at the info level.
+     *
+     * @param s the message supplier
+     */
+    public void log(Supplier<String> s) {
+        this.log(LogLevel.INFO, s);
+    }
+
+    /**
+     * Logs a parameterized message at the info level.
+     *
+     * @param format the message format
+     * @param arg the argument
+     */
+    public void log(String format, Object arg) {
+        this.log(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Logs a parameterized message at the info level.
+     *
+     * @param format the message format
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     */
+    public void log(String format, Object arg0, Object arg1) {
+        this.log(LogLevel.INFO, format, arg0, arg1);
+    }
+
+    /**
+     * Logs the supplied message at the warn level.
+     *
+     * @param s the message supplier
+     */
+    public void warn(Supplier<String> s) {
+        this.log(LogLevel.WARN, s);
+    }
+
+    /**
+     * Logs a parameterized message at the warn level.
+     *
+     * @param format the message format
+     * @param arg the argument
+     */
+    public void warn(String format, Object arg) {
+        this.log(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Logs a parameterized message at the warn level.
+     *
+     * @param format the message format
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     */
+    public void warn(String format, Object arg0, Object arg1) {
+        this.log(LogLevel.WARN, format, arg0, arg1);
+    }
+
+    /**
+     * Logs the supplied message at the error level.
+     *
+     * @param s the message supplier
+     */
+    public void error(Supplier<String> s) {
+        this.log(LogLevel.ERROR, s);
+    }
+
+    /**
+     * Logs a parameterized message at the error level.
+     *
+     * @param format the message format
+     * @param arg the argument
+     */
+    public void error(String format, Object arg) {
+        this.log(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Logs a parameterized message at the error level.
+     *
+     * @param format the message format
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     */
+    public void error(String format, Object arg0, Object arg1) {
+        this.log(LogLevel.ERROR, format, arg0, arg1);
+    }
+
+    /**
+     * Logs the supplied message at the debug level.
+     *
+     * @param s the message supplier
+     */
+    public void debug(Supplier<String> s) {
+        this.log(LogLevel.DEBUG, s);
+    }
+
+    /**
+     * Logs a parameterized message at the debug level.
+     *
+     * @param format the message format
+     * @param arg the argument
+     */
+    public void debug(String format, Object arg) {
+        this.log(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Logs a parameterized message at the debug level to
+     * the given logger, checking the level before the
+     * message is built if the logger is an
+     * {@link InfoLogger}.
+     *
+     * @param logger the logger
+     * @param format the message format
+     * @param arg the argument
+     */
+    public static void debug(Logger logger, String format, Object arg) {
+        if (logger instanceof InfoLogger) {
+            ((InfoLogger) logger).debug(format, arg);
+        } else {
+            logger.debug(format(format, 1, arg, null));
+        }
+    }
+
+    /**
+     * Logs a parameterized message at the debug level.
+     *
+     * @param format the message format
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     */
+    public void debug(String format, Object arg0, Object arg1) {
+        this.log(LogLevel.DEBUG, format, arg0, arg1);
     }
 
     /**
      * Handles normal messages
      */
-    private LogMessageImpl handle(String level, String s) {
-        ZonedDateTime time = ZonedDateTime.now();
-        String[] components = new String[]{time.format(DATE_FORMAT),
-                time.format(TIME_FORMAT),
-                "[" + this.name + "/" + level + "]"};
-        return super.handle(new LogMessageImpl(this, components, s, time));
+    private LogMessageImpl handle(String header, String s) {
+        return super.handle(new LogMessageImpl(this, header, s, System.currentTimeMillis()));
     }
 
     @Override
@@ -120,27 +441,37 @@ public class InfoLogger extends LoggerHandlers implements Logger {
 
     @Override
     public void log(String s) {
-        this.next.log(this.handle(INFO, s));
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.next.log(this.handle(this.infoHeader, s));
+        }
     }
 
     @Override
     public void success(String s) {
-        this.next.success(this.handle(INFO, s));
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.next.success(this.handle(this.infoHeader, s));
+        }
     }
 
     @Override
     public void warn(String s) {
-        this.next.warn(this.handle(WARN, s));
+        if (this.isEnabled(LogLevel.WARN)) {
+            this.next.warn(this.handle(this.warnHeader, s));
+        }
     }
 
     @Override
     public void error(String s) {
-        this.next.error(this.handle(ERROR, s));
+        if (this.isEnabled(LogLevel.ERROR)) {
+            this.next.error(this.handle(this.errorHeader, s));
+        }
     }
 
     @Override
     public void debug(String s) {
-        this.next.debug(this.handle(DEBUG, s));
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.next.debug(this.handle(this.debugHeader, s));
+        }
     }
 
     @Override
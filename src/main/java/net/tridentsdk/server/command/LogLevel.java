@@ -0,0 +1,50 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.command;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Locale;
+
+/**
+ * The levels at which messages may be logged, in the order
+ * of increasing severity.
+ */
+@Immutable
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    /**
+     * Disables all logging; no message is logged at
+     * this level
+     */
+    OFF;
+
+    /**
+     * Obtains the level with the given case insensitive
+     * name, as it would be written in a config file.
+     *
+     * @param name the name of the level
+     * @return the level
+     * @throws IllegalArgumentException if there is no level
+     * with the given name
+     */
+    public static LogLevel of(String name) {
+        return valueOf(name.toUpperCase(Locale.ENGLISH));
+    }
+}
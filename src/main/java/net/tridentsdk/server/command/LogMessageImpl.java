@@ -19,44 +19,99 @@ package net.tridentsdk.server.command;
 import net.tridentsdk.command.logger.LogMessage;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 /**
  * This class represents a message sent by a logger
+ *
+ * <p>The message keeps the cached date and time strings and
+ * formats each line at most once per output; the component
+ * array and the date object are only created if they are
+ * requested by a log handler.</p>
  */
 @ThreadSafe
 public class LogMessageImpl implements LogMessage {
+    /**
+     * The size past which a thread's builder is discarded
+     * instead of being reused
+     */
+    private static final int MAX_BUILDER = 8192;
+    /**
+     * The builder used by the current thread to format
+     * lines
+     */
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     /**
      * The logger that sent the message
      */
     private final InfoLogger source;
     /**
-     * The components to be added to the output
+     * The time at which this log message was created, in
+     * millis since the epoch
+     */
+    private final long millis;
+    /**
+     * The date and time at which the message was logged
+     */
+    private final LogTime time;
+    /**
+     * The logger name and level component
      */
-    private final String[] components;
+    private final String header;
     /**
      * The message that was passed to the logger
      */
     private volatile String message;
     /**
-     * The time at which this log message was created
+     * The line including the date, or {@code null} if it
+     * has not been formatted for the current message
      */
-    private final ZonedDateTime time;
+    private volatile String line;
+    /**
+     * The line without the date, or {@code null} if it
+     * has not been formatted for the current message
+     */
+    private volatile String shortLine;
 
     /**
      * Creates a new log message
      *
      * @param source the logger that created the message
-     * @param components additional related info
+     * @param header the logger name and level
      * @param message the message that was passed
-     * @param time the time the message was created
+     * @param millis the time the message was created
      */
-    public LogMessageImpl(InfoLogger source, String[] components,
-                          String message, ZonedDateTime time) {
+    public LogMessageImpl(InfoLogger source, String header, String message, long millis) {
         this.source = source;
-        this.components = components;
+        this.header = header;
         this.message = message;
-        this.time = time;
+        this.millis = millis;
+        this.time = LogTime.of(millis);
+    }
+
+    /**
+     * Obtains the string builder for the current thread,
+     * which is cleared before it is returned.
+     *
+     * <p>Callers must not keep the builder, nor call any
+     * other method which uses it before they are done. This
+     * includes the {@code toString} of arbitrary objects,
+     * which may log, so only strings may be appended.</p>
+     *
+     * @return the builder
+     */
+    static StringBuilder builder() {
+        StringBuilder builder = BUILDER.get();
+        if (builder.capacity() > MAX_BUILDER) {
+            builder = new StringBuilder(256);
+            BUILDER.set(builder);
+        }
+
+        builder.setLength(0);
+        return builder;
     }
 
     @Override
@@ -66,7 +121,7 @@ public class LogMessageImpl implements LogMessage {
 
     @Override
     public String[] getComponents() {
-        return this.components;
+        return new String[] { this.time.date, this.time.time, this.header };
     }
 
     @Override
@@ -76,26 +131,54 @@ public class LogMessageImpl implements LogMessage {
 
     public void setMessage(String message) {
         this.message = message;
+        this.line = null;
+        this.shortLine = null;
     }
 
     @Override
     public ZonedDateTime getTime() {
-        return this.time;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(this.millis), ZoneId.systemDefault());
     }
 
     /**
      * Appends all of the components and the message.
      *
+     * <p>The result is cached until the message is
+     * changed, so each output in the pipeline which uses
+     * the same format shares the same line.</p>
+     *
      * @param start the start of the component index to add
      * @return the string
      */
     public String format(int start) {
-        StringBuilder builder = new StringBuilder();
-        for (int i = start; i < this.components.length; i++) {
-            builder.append(this.components[i]).append(' ');
+        String line = start == 0 ? this.line : this.shortLine;
+        if (line != null) {
+            return line;
+        }
+
+        String message = this.message;
+        StringBuilder builder = builder();
+        if (start == 0) {
+            builder.append(this.time.date).append(' ');
+        }
+        if (start <= 1) {
+            builder.append(this.time.time).append(' ');
+        }
+        if (start <= 2) {
+            builder.append(this.header).append(' ');
+        }
+
+        line = builder.append(message).toString();
+        // Only cache if the message was not changed while
+        // formatting
+        if (message == this.message) {
+            if (start == 0) {
+                this.line = line;
+            } else if (start == 1) {
+                this.shortLine = line;
+            }
         }
 
-        builder.append(this.message);
-        return builder.toString();
+        return line;
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.command;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of log items which may be
+ * offered to by any amount of threads but only polled by
+ * a single consumer thread.
+ *
+ * <p>Each slot carries a sequence number which tells
+ * producers whether the slot is free and tells the
+ * consumer whether the slot has been published. Items may
+ * also carry an int tag, which avoids wrapping them in
+ * another object.</p>
+ *
+ * @param <T> the type of item
+ */
+@ThreadSafe
+class LogRing<T> {
+    /**
+     * The mask used to wrap positions into slot indexes
+     */
+    private final int mask;
+    /**
+     * The published log items
+     */
+    private final AtomicReferenceArray<T> items;
+    /**
+     * The tags of the published items, which are published
+     * by the sequence number of the slot
+     */
+    private final int[] tags;
+    /**
+     * The sequence number of each slot
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * The next position to be claimed by a producer
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * The next position to be read, confined to the
+     * consumer thread
+     */
+    private long head;
+    /**
+     * The tag of the last polled item, confined to the
+     * consumer thread
+     */
+    private int polledTag;
+
+    /**
+     * Creates a new ring with the given capacity.
+     *
+     * @param capacity the amount of slots, must be a power
+     * of two
+     */
+    LogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+
+        this.mask = capacity - 1;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.tags = new int[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Attempts to add the given item to the ring.
+     *
+     * @param item the item to add
+     * @return {@code true} if the item was added,
+     * {@code false} if the ring is full
+     */
+    boolean offer(T item) {
+        return this.offer(item, 0);
+    }
+
+    /**
+     * Attempts to add the given item to the ring with the
+     * given tag.
+     *
+     * @param item the item to add
+     * @param tag the tag of the item
+     * @return {@code true} if the item was added,
+     * {@code false} if the ring is full
+     */
+    boolean offer(T item, int tag) {
+        long pos = this.tail.get();
+        int idx;
+        while (true) {
+            idx = (int) pos & this.mask;
+            long diff = this.sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (this.tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+
+                pos = this.tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = this.tail.get();
+            }
+        }
+
+        this.tags[idx] = tag;
+        this.items.lazySet(idx, item);
+        // A full fence, so that the consumer's idle flag is
+        // read only after the item is visible; otherwise the
+        // producer may miss a consumer that is going to park
+        this.sequences.set(idx, pos + 1);
+        return true;
+    }
+
+    /**
+     * Removes the next item from the ring. Must only be
+     * called by the consumer thread.
+     *
+     * @return the next item, or {@code null} if there are
+     * none
+     */
+    T poll() {
+        long pos = this.head;
+        int idx = (int) pos & this.mask;
+        if (this.sequences.get(idx) != pos + 1) {
+            return null;
+        }
+
+        T item = this.items.get(idx);
+        this.polledTag = this.tags[idx];
+        this.items.lazySet(idx, null);
+        this.sequences.lazySet(idx, pos + this.mask + 1);
+        this.head = pos + 1;
+        return item;
+    }
+
+    /**
+     * Obtains the tag of the item which was last polled.
+     * Must only be called by the consumer thread.
+     *
+     * @return the tag of the last polled item
+     */
+    int polledTag() {
+        return this.polledTag;
+    }
+
+    /**
+     * Determines whether there is no item to be polled.
+     * Must only be called by the consumer thread.
+     *
+     * @return {@code true} if the ring is empty
+     */
+    boolean isEmpty() {
+        long pos = this.head;
+        return this.sequences.get((int) pos & this.mask) != pos + 1;
+    }
+}
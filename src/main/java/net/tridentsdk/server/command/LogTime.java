@@ -0,0 +1,109 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.command;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * The date and time strings for a single second, which are
+ * shared by every message logged during that second so that
+ * the clock is only formatted once per second.
+ */
+@Immutable
+final class LogTime {
+    /**
+     * The time, using standard 24-hour format
+     */
+    private static final DateTimeFormatter TIME_FORMAT = new DateTimeFormatterBuilder()
+            .appendValue(HOUR_OF_DAY, 2)
+            .appendLiteral(':')
+            .appendValue(MINUTE_OF_HOUR, 2)
+            .appendLiteral(':')
+            .appendValue(SECOND_OF_MINUTE, 2)
+            .toFormatter();
+    /**
+     * The date, using MMM DD YYYY
+     */
+    private static final DateTimeFormatter DATE_FORMAT = new DateTimeFormatterBuilder()
+            .appendText(MONTH_OF_YEAR, TextStyle.SHORT)
+            .appendLiteral(' ')
+            .appendValue(DAY_OF_MONTH, 2)
+            .appendLiteral(' ')
+            .appendValue(YEAR, 4)
+            .toFormatter();
+    /**
+     * The most recently formatted second
+     */
+    private static volatile LogTime last = new LogTime(System.currentTimeMillis() / 1000);
+
+    /**
+     * The second since the epoch which is represented
+     */
+    private final long second;
+    /**
+     * The formatted date
+     */
+    final String date;
+    /**
+     * The formatted time
+     */
+    final String time;
+
+    /**
+     * Formats the given second.
+     *
+     * @param second the seconds since the epoch
+     */
+    private LogTime(long second) {
+        this.second = second;
+        ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault());
+        this.date = time.format(DATE_FORMAT);
+        this.time = time.format(TIME_FORMAT);
+    }
+
+    /**
+     * Obtains the formatted date and time for the given
+     * instant, reusing the cached strings if it falls in
+     * the most recently formatted second.
+     *
+     * @param millis the millis since the epoch
+     * @return the formatted date and time
+     */
+    static LogTime of(long millis) {
+        long second = millis / 1000;
+        LogTime time = last;
+        if (time.second == second) {
+            return time;
+        }
+
+        time = new LogTime(second);
+        // Never go back to an older second if another
+        // thread raced ahead
+        if (second > last.second) {
+            last = time;
+        }
+        return time;
+    }
+}
@@ -18,6 +18,7 @@ package net.tridentsdk.server.command;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.OutputStream;
+import java.util.Collections;
 
 /**
  * This class is the superclass of every logger in the
@@ -39,6 +40,9 @@ import java.io.OutputStream;
  *                    \  /
  *                     ||
  *                     \/
+ *               ConsoleRenderer
+ *                     ||
+ *                     \/
  *               ColorizerLogger
  *                     ||
  *                     \/
@@ -65,10 +69,13 @@ public abstract class PipelinedLogger {
      * Initialization code
      */
     public static PipelinedLogger init(boolean verbose) throws Exception {
+        InfoLogger.setLevels(verbose ? LogLevel.DEBUG : LogLevel.INFO, Collections.emptyMap());
+
         // tail of pipeline
         PipelinedLogger underlying = new DefaultLogger();
         PipelinedLogger colorizer = new ColorizerLogger(underlying);
-        PipelinedLogger debugger = verbose ? DebugLogger.verbose(colorizer) : DebugLogger.noop(colorizer);
+        PipelinedLogger console = new ConsoleRenderer(colorizer);
+        PipelinedLogger debugger = verbose ? DebugLogger.verbose(console) : DebugLogger.noop(console);
         PipelinedLogger handler = new LoggerHandlers(debugger);
         return FileLogger.init(handler); // head of pipeline
     }
@@ -0,0 +1,331 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.concurrent;
+
+import net.tridentsdk.command.logger.Logger;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts for the memory allocated by the server over
+ * the course of each tick, attributed to the tick phases
+ * run by the tick thread and to each of the server thread
+ * pools, along with the garbage collections that happen
+ * in the same ticks.
+ *
+ * <p>The results are logged as a report every configured
+ * amount of ticks.</p>
+ *
+ * <p>This class is confined to the tick thread.</p>
+ */
+@NotThreadSafe
+public final class AllocationTracker {
+    /**
+     * The amount of ticks between refreshing the set of
+     * server threads that are measured
+     */
+    private static final int REFRESH_TICKS = 20;
+    /**
+     * Units used to format byte counts
+     */
+    private static final String[] UNITS = { "B", "KB", "MB", "GB", "TB" };
+
+    /**
+     * The thread management bean that counts allocations
+     */
+    private final com.sun.management.ThreadMXBean mx;
+    /**
+     * The garbage collectors running in the VM
+     */
+    private final List<GarbageCollectorMXBean> gcs = ManagementFactory.getGarbageCollectorMXBeans();
+    /**
+     * The logger to which reports are written
+     */
+    private final Logger logger;
+    /**
+     * The amount of ticks between each report
+     */
+    private final int reportTicks;
+    /**
+     * The ID of the tick thread
+     */
+    private final long tickId;
+
+    // Tick thread -----------------------------------------
+    /**
+     * The phase currently being measured, or {@code null}
+     */
+    private TickPhase current;
+    /**
+     * The bytes allocated by the tick thread at the start
+     * of the current phase
+     */
+    private long last;
+    /**
+     * The bytes allocated during each phase, indexed by
+     * phase ordinal
+     */
+    private final long[] phaseBytes = new long[TickPhase.values().length];
+
+    // Pools -----------------------------------------------
+    /**
+     * The IDs of the server threads being measured
+     */
+    private long[] ids = new long[0];
+    /**
+     * The pool names of the threads being measured
+     */
+    private String[] pools = new String[0];
+    /**
+     * The bytes allocated by each thread at the last tick
+     */
+    private final Map<Long, Long> lastThreadBytes = new HashMap<>();
+    /**
+     * The bytes allocated by each pool, sorted by name for
+     * the report
+     */
+    private final Map<String, long[]> poolBytes = new TreeMap<>();
+
+    // GC --------------------------------------------------
+    /**
+     * The collection count at the end of the last tick
+     */
+    private long lastGcCount;
+    /**
+     * The collection time at the end of the last tick
+     */
+    private long lastGcMillis;
+    /**
+     * The collections that occurred since the last report
+     */
+    private long gcCount;
+    /**
+     * The collection time since the last report
+     */
+    private long gcMillis;
+    /**
+     * The most collection time during a single tick
+     */
+    private long maxGcMillis;
+    /**
+     * The amount of ticks which had a collection
+     */
+    private int gcTicks;
+    /**
+     * The bytes allocated during ticks which had a
+     * collection
+     */
+    private long gcTickBytes;
+
+    /**
+     * The ticks measured since the last report
+     */
+    private int ticks;
+    /**
+     * The total bytes allocated since the last report
+     */
+    private long totalBytes;
+    /**
+     * The time at which the last report was made
+     */
+    private long lastReport = System.nanoTime();
+
+    /**
+     * Creates a new tracker for the given tick thread.
+     *
+     * @param tick the tick thread
+     * @param logger the logger to write reports to
+     * @param reportTicks the ticks between each report
+     * @throws UnsupportedOperationException if the VM is
+     * unable to count thread allocations
+     */
+    public AllocationTracker(Thread tick, Logger logger, int reportTicks) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new UnsupportedOperationException("VM does not support thread allocation accounting");
+        }
+
+        this.mx = (com.sun.management.ThreadMXBean) bean;
+        if (!this.mx.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("VM does not support thread allocation accounting");
+        }
+        this.mx.setThreadAllocatedMemoryEnabled(true);
+
+        this.tickId = tick.getId();
+        this.logger = logger;
+        this.reportTicks = reportTicks;
+    }
+
+    /**
+     * Called by the tick thread upon entering the given
+     * phase.
+     *
+     * @param phase the phase being entered
+     */
+    public void enter(TickPhase phase) {
+        long now = this.mx.getThreadAllocatedBytes(this.tickId);
+        if (this.current != null) {
+            this.phaseBytes[this.current.ordinal()] += now - this.last;
+        }
+
+        this.current = phase;
+        this.last = now;
+    }
+
+    /**
+     * Called by the tick thread after the last phase of
+     * the tick has finished.
+     */
+    public void endTick() {
+        this.enter(null);
+
+        long tickBytes = 0;
+        if (this.ticks % REFRESH_TICKS == 0) {
+            this.refresh();
+        }
+
+        long[] allocated = this.mx.getThreadAllocatedBytes(this.ids);
+        for (int i = 0; i < this.ids.length; i++) {
+            long bytes = allocated[i];
+            if (bytes < 0) {
+                continue; // thread has died
+            }
+
+            Long last = this.lastThreadBytes.put(this.ids[i], bytes);
+            if (last != null) {
+                long delta = bytes - last;
+                this.poolBytes.computeIfAbsent(this.pools[i], k -> new long[1])[0] += delta;
+                tickBytes += delta;
+            }
+        }
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : this.gcs) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        long tickGcCount = gcCount - this.lastGcCount;
+        long tickGcMillis = gcMillis - this.lastGcMillis;
+        this.lastGcCount = gcCount;
+        this.lastGcMillis = gcMillis;
+        if (tickGcCount > 0 && this.ticks > 0) {
+            this.gcCount += tickGcCount;
+            this.gcMillis += tickGcMillis;
+            this.maxGcMillis = Math.max(this.maxGcMillis, tickGcMillis);
+            this.gcTicks++;
+            this.gcTickBytes += tickBytes;
+        }
+
+        this.totalBytes += tickBytes;
+        if (++this.ticks > this.reportTicks) {
+            this.report();
+        }
+    }
+
+    /**
+     * Refreshes the IDs of the threads that belong to the
+     * server.
+     */
+    private void refresh() {
+        long[] all = this.mx.getAllThreadIds();
+        ThreadInfo[] infos = this.mx.getThreadInfo(all, 0);
+        long[] ids = new long[all.length];
+        String[] pools = new String[all.length];
+        Set<Long> live = new HashSet<>();
+        int len = 0;
+        for (ThreadInfo info : infos) {
+            if (info != null && PoolSpec.isServerThread(info.getThreadName())) {
+                live.add(info.getThreadId());
+                ids[len] = info.getThreadId();
+                // The tick thread allocations are counted
+                // by phase, but it is still counted as a
+                // pool in order to get the totals right
+                pools[len++] = PoolSpec.poolName(info.getThreadName());
+            }
+        }
+
+        this.ids = new long[len];
+        this.pools = new String[len];
+        System.arraycopy(ids, 0, this.ids, 0, len);
+        System.arraycopy(pools, 0, this.pools, 0, len);
+        this.lastThreadBytes.keySet().retainAll(live);
+    }
+
+    /**
+     * Logs the accumulated allocations and resets the
+     * counters for the next report.
+     */
+    private void report() {
+        // The first tick only sets the baselines
+        int ticks = this.ticks - 1;
+        long elapsed = System.nanoTime() - this.lastReport;
+
+        this.logger.log(String.format("Allocation report over %d ticks (%ds): %s total, %s/tick",
+                ticks, TimeUnit.NANOSECONDS.toSeconds(elapsed), bytes(this.totalBytes), bytes(this.totalBytes / ticks)));
+        for (TickPhase phase : TickPhase.values()) {
+            this.logger.log(String.format("    Tick phase %-10s %s/tick", phase, bytes(this.phaseBytes[phase.ordinal()] / ticks)));
+        }
+        for (Map.Entry<String, long[]> entry : this.poolBytes.entrySet()) {
+            this.logger.log(String.format("    Pool %-16s %s/tick", entry.getKey(), bytes(entry.getValue()[0] / ticks)));
+        }
+
+        if (this.gcCount == 0) {
+            this.logger.log("    No garbage collections");
+        } else {
+            this.logger.log(String.format("    %d collections in %d ticks, %dms total pause (max %dms/tick), %s allocated per collection",
+                    this.gcCount, this.gcTicks, this.gcMillis, this.maxGcMillis, bytes(this.totalBytes / this.gcCount)));
+            this.logger.log(String.format("    Ticks with collections allocated %s/tick",
+                    bytes(this.gcTickBytes / this.gcTicks)));
+        }
+
+        Arrays.fill(this.phaseBytes, 0);
+        this.poolBytes.clear();
+        this.gcCount = 0;
+        this.gcMillis = 0;
+        this.maxGcMillis = 0;
+        this.gcTicks = 0;
+        this.gcTickBytes = 0;
+        this.totalBytes = 0;
+        // keep the last tick as the baseline tick
+        this.ticks = 1;
+        this.lastReport = System.nanoTime();
+    }
+
+    /**
+     * Formats the given byte count into a readable string.
+     *
+     * @param bytes the byte count
+     * @return the formatted string
+     */
+    private static String bytes(long bytes) {
+        double value = bytes;
+        int unit = 0;
+        while (value >= 1024 && unit < UNITS.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+
+        return String.format("%.1f %s", value, UNITS[unit]);
+    }
+}
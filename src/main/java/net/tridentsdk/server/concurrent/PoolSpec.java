@@ -30,6 +30,16 @@ import java.util.concurrent.ThreadFactory;
  */
 @ThreadSafe
 public class PoolSpec implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory {
+    /**
+     * The prefix given to the names of all server threads
+     */
+    public static final String THREAD_PREFIX = "TRD - ";
+    /**
+     * The separator between a pool name and the index of
+     * its worker threads
+     */
+    private static final String IDX_SEPARATOR = " - ";
+
     // Actually this is used to execute block related tick
     // methods as well such as sugar cane growing, tree leaf
     // decay, etc...
@@ -44,9 +54,15 @@ public class PoolSpec implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThrea
     public static final PoolSpec SCHEDULER = new PoolSpec("TRD - Scheduler", 3, false);
     public static final PoolSpec PLUGINS = new PoolSpec("TRD - Plugins", 1, false);
 
+    // Blocking I/O such as HTTP requests and disk access,
+    // grows as tasks block and shrinks when idle so that
+    // they never take threads from the pools above
+    public static final PoolSpec IO = new PoolSpec("TRD - IO", 256, false, true);
+
     /**
      * The name of the pool used to identify its threads
      */
+    @Getter
     private final String name;
     /**
      * Maximum number of parallelism that should be limited
@@ -59,6 +75,12 @@ public class PoolSpec implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThrea
      */
     @Getter
     private final boolean doStealing;
+    /**
+     * Whether or not the tasks run by the pool are
+     * expected to block
+     */
+    @Getter
+    private final boolean blocking;
 
     /**
      * Creates a new thread pool spec.
@@ -69,9 +91,26 @@ public class PoolSpec implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThrea
      *                   work steals
      */
     public PoolSpec(String name, int maxThreads, boolean doStealing) {
+        this(name, maxThreads, doStealing, false);
+    }
+
+    /**
+     * Creates a new thread pool spec.
+     *
+     * @param name the name of the pool
+     * @param maxThreads the max thread limit
+     * @param doStealing whether or not the pool performs
+     *                   work steals
+     * @param blocking whether or not the pool runs tasks
+     *                 which block, in which case threads
+     *                 are created up to the limit as
+     *                 needed
+     */
+    public PoolSpec(String name, int maxThreads, boolean doStealing, boolean blocking) {
         this.name = name;
         this.maxThreads = maxThreads;
         this.doStealing = doStealing;
+        this.blocking = blocking;
     }
 
     @Override
@@ -82,7 +121,37 @@ public class PoolSpec implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThrea
     @Override
     public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
         ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
-        worker.setName(this.name + " - " + worker.getPoolIndex());
+        worker.setName(this.name + IDX_SEPARATOR + worker.getPoolIndex());
         return worker;
     }
+
+    /**
+     * Determines whether or not the thread with the given
+     * name belongs to the server.
+     *
+     * @param threadName the name of the thread
+     * @return {@code true} if it is a server thread
+     */
+    public static boolean isServerThread(String threadName) {
+        return threadName.startsWith(THREAD_PREFIX);
+    }
+
+    /**
+     * Obtains the name of the pool that owns the thread
+     * with the given name by removing the worker index, if
+     * it has one.
+     *
+     * @param threadName the name of the thread
+     * @return the pool name
+     */
+    public static String poolName(String threadName) {
+        int idx = threadName.lastIndexOf(IDX_SEPARATOR);
+        int start = idx + IDX_SEPARATOR.length();
+        if (idx >= THREAD_PREFIX.length() && start < threadName.length() &&
+                Character.isDigit(threadName.charAt(start))) {
+            return threadName.substring(0, idx);
+        }
+
+        return threadName;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,416 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.concurrent;
+
+import lombok.Getter;
+import net.tridentsdk.command.logger.Logger;
+import net.tridentsdk.util.Misc;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-demand sampling profiler which periodically samples
+ * the stacks of the server threads (those named by
+ * {@link PoolSpec}) in order to find out where the server
+ * spends its time.
+ *
+ * <p>Samples are aggregated into a call tree which is
+ * written out in the collapsed stack format understood by
+ * flame graph tools, and into a per-subsystem summary that
+ * is attributed by the package of the top-most server
+ * frame (e.g. {@code world}, {@code net}, {@code plugin},
+ * {@code player}).</p>
+ */
+@ThreadSafe
+public final class SamplingProfiler {
+    /**
+     * The default time between samples
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 10;
+    /**
+     * The directory to which profiles are written
+     */
+    private static final Path DIR = Misc.HOME_PATH.resolve("profiles");
+    /**
+     * The package prefix used to attribute samples to a
+     * subsystem
+     */
+    private static final String SERVER_PACKAGE = "net.tridentsdk.server.";
+    /**
+     * The maximum depth of a sampled stack
+     */
+    private static final int MAX_DEPTH = 256;
+    /**
+     * The frame placed at the root of stacks which were
+     * deeper than {@link #MAX_DEPTH}, whose real root frames
+     * are missing
+     */
+    private static final String TRUNCATED = "[truncated]";
+    /**
+     * The amount of samples between refreshing the set of
+     * server threads that are sampled
+     */
+    private static final int REFRESH_SAMPLES = 100;
+
+    /**
+     * The singleton instance of the profiler
+     */
+    @Getter
+    private static final SamplingProfiler instance = new SamplingProfiler();
+
+    /**
+     * The lock guarding the running sampler
+     */
+    private final Object lock = new Object();
+    /**
+     * The sampler thread which is running, or {@code null}
+     * if the profiler is not running
+     */
+    @GuardedBy("lock")
+    private Sampler sampler;
+
+    // Prevent instantiation
+    private SamplingProfiler() {
+    }
+
+    /**
+     * Starts sampling the server threads.
+     *
+     * @param intervalMillis the time between samples
+     * @param wall {@code true} to also sample threads that
+     * are waiting inside of server code (e.g. on a chunk
+     * latch), {@code false} to only sample threads that
+     * are running or blocked on a monitor
+     * @throws IllegalStateException if the profiler is
+     * already running
+     */
+    public void start(long intervalMillis, boolean wall) {
+        synchronized (this.lock) {
+            if (this.sampler != null) {
+                throw new IllegalStateException("Profiler is already running");
+            }
+
+            this.sampler = new Sampler(intervalMillis, wall);
+            this.sampler.start();
+        }
+    }
+
+    /**
+     * Starts or stops the profiler so that it matches the
+     * given state, logging rather than throwing any error
+     * so that it may be called when the config is reloaded.
+     *
+     * @param running {@code true} to start the profiler,
+     * {@code false} to stop it and write the profile
+     */
+    public void setRunning(boolean running) {
+        try {
+            if (running) {
+                this.start(DEFAULT_INTERVAL_MILLIS, false);
+                Logger.get("Profiler").log("Started the sampling profiler");
+            } else {
+                this.stop();
+            }
+        } catch (IllegalStateException ignored) {
+            // already in the requested state
+        } catch (IOException e) {
+            Logger.get("Profiler").error("Failed to write the profile: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Determines whether or not the profiler is currently
+     * sampling.
+     *
+     * @return {@code true} if the profiler is running
+     */
+    public boolean isRunning() {
+        synchronized (this.lock) {
+            return this.sampler != null;
+        }
+    }
+
+    /**
+     * Stops the profiler, writes the collapsed stacks to
+     * the profiles directory and logs the subsystem
+     * summary.
+     *
+     * @return the path to the collapsed stack file
+     * @throws IllegalStateException if the profiler is not
+     * running
+     */
+    public Path stop() throws IOException, InterruptedException {
+        Sampler sampler;
+        synchronized (this.lock) {
+            sampler = this.sampler;
+            if (sampler == null) {
+                throw new IllegalStateException("Profiler is not running");
+            }
+
+            this.sampler = null;
+        }
+
+        sampler.interrupt();
+        sampler.join();
+
+        if (!Files.exists(DIR)) {
+            Files.createDirectory(DIR);
+        }
+
+        Path path = DIR.resolve("profile-" + System.currentTimeMillis() + ".collapsed");
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            sampler.root.write(out, new StringBuilder());
+        }
+
+        Logger logger = Logger.get("Profiler");
+        logger.log(String.format("Profiled %d samples over %dms, written to %s",
+                sampler.samples, TimeUnit.NANOSECONDS.toMillis(sampler.elapsed), path));
+        long total = Math.max(1, sampler.samples);
+        sampler.subsystems.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                .forEach(e -> logger.log(String.format("    %-10s %5.1f%% (%d samples)",
+                        e.getKey(), e.getValue()[0] * 100D / total, e.getValue()[0])));
+
+        return path;
+    }
+
+    /**
+     * Determines the subsystem to which the given stack is
+     * attributed.
+     *
+     * @param stack the sampled stack, leaf first
+     * @return the subsystem name
+     */
+    private static String subsystem(StackTraceElement[] stack) {
+        for (StackTraceElement element : stack) {
+            String cls = element.getClassName();
+            if (cls.startsWith(SERVER_PACKAGE)) {
+                int start = SERVER_PACKAGE.length();
+                int end = cls.indexOf('.', start);
+                // classes directly in the server package
+                // are the server itself
+                return end == -1 ? "server" : cls.substring(start, end);
+            }
+        }
+
+        return "other";
+    }
+
+    /**
+     * A node in the sampled call tree.
+     */
+    @NotThreadSafe
+    private static final class Node {
+        /**
+         * The children frames called by this frame
+         */
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * The samples in which this frame was the leaf
+         */
+        private long self;
+
+        /**
+         * Obtains the child frame, creating it if it has
+         * not been sampled before.
+         *
+         * @param frame the frame name
+         * @return the child node
+         */
+        Node child(String frame) {
+            return this.children.computeIfAbsent(frame, k -> new Node());
+        }
+
+        /**
+         * Writes this node and all of its children in the
+         * collapsed stack format.
+         *
+         * @param out the output
+         * @param path the frames leading up to this node
+         */
+        void write(BufferedWriter out, StringBuilder path) throws IOException {
+            if (this.self > 0) {
+                out.write(path.toString());
+                out.write(' ');
+                out.write(Long.toString(this.self));
+                out.newLine();
+            }
+
+            int len = path.length();
+            for (Map.Entry<String, Node> entry : this.children.entrySet()) {
+                if (len > 0) {
+                    path.append(';');
+                }
+                path.append(entry.getKey());
+                entry.getValue().write(out, path);
+                path.setLength(len);
+            }
+        }
+    }
+
+    /**
+     * The thread which takes the samples, all of the
+     * aggregate state is confined to this thread until it
+     * has been joined.
+     */
+    @NotThreadSafe
+    private static final class Sampler extends Thread {
+        /**
+         * The thread management bean used to sample stacks
+         */
+        private final ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        /**
+         * The time between samples
+         */
+        private final long intervalMillis;
+        /**
+         * Whether waiting threads are sampled
+         */
+        private final boolean wall;
+        /**
+         * The root of the call tree, its children are the
+         * sampled pools
+         */
+        private final Node root = new Node();
+        /**
+         * The subsystem sample counts, boxed in an array to
+         * prevent reboxing on each sample
+         */
+        private final Map<String, long[]> subsystems = new HashMap<>();
+        /**
+         * The total count of thread samples
+         */
+        private long samples;
+        /**
+         * The nanos spent sampling
+         */
+        private long elapsed;
+        /**
+         * The IDs of the server threads being sampled
+         */
+        private long[] ids = new long[0];
+
+        Sampler(long intervalMillis, boolean wall) {
+            super("TRD - Profiler");
+            this.intervalMillis = intervalMillis;
+            this.wall = wall;
+            this.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            int untilRefresh = 0;
+            while (true) {
+                if (untilRefresh-- == 0) {
+                    this.refresh();
+                    untilRefresh = REFRESH_SAMPLES;
+                }
+
+                this.sample();
+
+                try {
+                    Thread.sleep(this.intervalMillis);
+                } catch (InterruptedException e) {
+                    break; // stopped
+                }
+            }
+            this.elapsed = System.nanoTime() - start;
+        }
+
+        /**
+         * Refreshes the IDs of the threads that belong to
+         * the server, without sampling their stacks.
+         */
+        private void refresh() {
+            long[] all = this.mx.getAllThreadIds();
+            ThreadInfo[] infos = this.mx.getThreadInfo(all, 0);
+            long[] ids = new long[all.length];
+            int len = 0;
+            for (ThreadInfo info : infos) {
+                if (info != null && info.getThreadId() != this.getId() &&
+                        PoolSpec.isServerThread(info.getThreadName())) {
+                    ids[len++] = info.getThreadId();
+                }
+            }
+
+            long[] trimmed = new long[len];
+            System.arraycopy(ids, 0, trimmed, 0, len);
+            this.ids = trimmed;
+        }
+
+        /**
+         * Takes a single sample of every server thread.
+         */
+        private void sample() {
+            for (ThreadInfo info : this.mx.getThreadInfo(this.ids, MAX_DEPTH)) {
+                if (info == null) {
+                    continue;
+                }
+
+                StackTraceElement[] stack = info.getStackTrace();
+                switch (info.getThreadState()) {
+                    case RUNNABLE:
+                    case BLOCKED:
+                        break;
+                    case WAITING:
+                    case TIMED_WAITING:
+                        if (this.wall && TickWatchdog.firstServerFrame(info) != null) {
+                            break;
+                        }
+                        continue;
+                    default:
+                        continue;
+                }
+
+                if (stack.length == 0) {
+                    continue;
+                }
+
+                Node node = this.root.child(PoolSpec.poolName(info.getThreadName()));
+                if (stack.length == MAX_DEPTH) {
+                    // The root frames were cut off, so keep the
+                    // stack from being merged with shallow ones
+                    node = node.child(TRUNCATED);
+                }
+                for (int i = stack.length - 1; i >= 0; i--) {
+                    StackTraceElement element = stack[i];
+                    node = node.child(element.getClassName() + '.' + element.getMethodName());
+                }
+                node.self++;
+
+                this.subsystems.computeIfAbsent(subsystem(stack), k -> new long[1])[0]++;
+                this.samples++;
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package net.tridentsdk.server.concurrent;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,7 @@ public class ServerThreadPool implements Executor {
         forSpec(PoolSpec.PLAYERS);
         forSpec(PoolSpec.PLUGINS);
         forSpec(PoolSpec.SCHEDULER);
+        forSpec(PoolSpec.IO);
     }
 
     /**
@@ -72,7 +74,22 @@ public class ServerThreadPool implements Executor {
     public static ServerThreadPool forSpec(PoolSpec spec) {
         return pools.computeIfAbsent(spec, k -> {
             int config = spec.getMaxThreads();
-            if (spec.isDoStealing()) {
+            if (spec.isBlocking()) {
+                ExecutorService virtual = newVirtualExecutor(spec);
+                if (virtual != null) {
+                    return new ServerThreadPool(virtual);
+                }
+
+                // Core threads time out so that the pool
+                // grows up to the limit before queueing
+                // tasks and then shrinks when idle
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(config, config,
+                        60L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        spec);
+                executor.allowCoreThreadTimeOut(true);
+                return new ServerThreadPool(executor);
+            } else if (spec.isDoStealing()) {
                 return new ServerThreadPool(new ForkJoinPool(config, spec, null, true));
             } else {
                 return new ServerThreadPool(new ThreadPoolExecutor(1, config,
@@ -83,6 +100,108 @@ public class ServerThreadPool implements Executor {
         });
     }
 
+    /**
+     * Submits a task which blocks, such as network or disk
+     * I/O, to the {@link PoolSpec#IO} pool in order to
+     * prevent it from occupying a thread in the pools
+     * which are meant to run CPU bound tasks.
+     *
+     * @param task the blocking task
+     * @param <T> the type returned by the task
+     * @return the future result of the task
+     */
+    public static <T> Future<T> submitBlocking(Callable<T> task) {
+        return forSpec(PoolSpec.IO).submit(task);
+    }
+
+    /**
+     * Runs the given blocking operation in the current
+     * thread.
+     *
+     * <p>If the current thread belongs to a work stealing
+     * pool, such as {@link PoolSpec#WORLDS} or
+     * {@link PoolSpec#CHUNKS}, then the pool is allowed to
+     * activate a spare thread for the duration of the
+     * operation so that its parallelism is maintained.</p>
+     *
+     * @param task the blocking operation
+     * @param <T> the type returned by the operation
+     * @return the result of the operation
+     */
+    public static <T> T block(Callable<T> task) {
+        CallableBlocker<T> blocker = new CallableBlocker<>(task);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        if (blocker.exception != null) {
+            if (blocker.exception instanceof RuntimeException) {
+                throw (RuntimeException) blocker.exception;
+            }
+            throw new RuntimeException(blocker.exception);
+        }
+
+        return blocker.result;
+    }
+
+    /**
+     * Waits on the given latch, allowing the pool of the
+     * current thread to compensate for the blocked thread
+     * if it is a work stealing pool.
+     *
+     * @param latch the latch to wait on
+     * @throws InterruptedException if the current thread
+     * is interrupted while waiting
+     */
+    public static void await(CountDownLatch latch) throws InterruptedException {
+        if (latch.getCount() == 0) {
+            return;
+        }
+
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                // Timed await is used because subclasses
+                // such as UncheckedCdl delegate await()
+                // back to this method
+                latch.await(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return latch.getCount() == 0;
+            }
+        });
+    }
+
+    /**
+     * Creates an executor which runs each task in a new
+     * virtual thread, if the running JDK supports them.
+     *
+     * @param spec the spec used to name the threads
+     * @return the executor, or {@code null} if virtual
+     * threads are not available
+     */
+    private static ExecutorService newVirtualExecutor(PoolSpec spec) {
+        try {
+            // Reflection is needed in order to remain
+            // compatible with Java 8
+            Class<?> builderCls = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderCls.getMethod("name", String.class, long.class)
+                    .invoke(builder, spec.getName() + " - ", 0L);
+            ThreadFactory factory = (ThreadFactory) builderCls.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
     /**
      * Attempts to shutdown every thread pool that has been
      * registered through a spec in the server.
@@ -131,4 +250,39 @@ public class ServerThreadPool implements Executor {
     public void execute(@Nonnull Runnable command) {
         this.delegate.execute(command);
     }
+
+    /**
+     * Managed blocker which runs a blocking callable
+     * exactly once.
+     *
+     * @param <T> the type returned by the callable
+     */
+    @NotThreadSafe
+    private static final class CallableBlocker<T> implements ForkJoinPool.ManagedBlocker {
+        private final Callable<T> task;
+        private boolean done;
+        private T result;
+        private Exception exception;
+
+        CallableBlocker(Callable<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                this.result = this.task.call();
+            } catch (Exception e) {
+                this.exception = e;
+            }
+
+            this.done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return this.done;
+        }
+    }
 }
\ No newline at end of file
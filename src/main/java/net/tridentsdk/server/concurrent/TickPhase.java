@@ -0,0 +1,50 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.concurrent;
+
+/**
+ * The phases which make up a single server tick, in the
+ * order that they are run by {@link TridentTick}.
+ */
+public enum TickPhase {
+    /**
+     * Worlds are being submitted for ticking.
+     */
+    WORLDS,
+    /**
+     * Entity physics is being run over the entity store.
+     */
+    ENTITIES,
+    /**
+     * Players are being ticked.
+     */
+    PLAYERS,
+    /**
+     * Tab lists, boss bars and inventories are flushing
+     * their pending changes.
+     */
+    UI,
+    /**
+     * Entities are being spawned for and destroyed from the
+     * players that can see them.
+     */
+    TRACKER,
+    /**
+     * The scheduler is running its pending tasks.
+     */
+    SCHEDULER
+}
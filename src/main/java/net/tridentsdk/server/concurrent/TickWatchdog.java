@@ -0,0 +1,259 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.concurrent;
+
+import net.tridentsdk.command.logger.Logger;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog thread which observes the phases run by the
+ * server {@link TridentTick} and reports on the server
+ * threads whenever a single phase takes longer than the
+ * configured threshold.
+ *
+ * <p>The report is sampled over a short period using the
+ * {@link ThreadMXBean} in order to determine which frames
+ * the server threads are spending their time in at the
+ * time of the stall.</p>
+ */
+@ThreadSafe
+public final class TickWatchdog extends Thread {
+    /**
+     * The root package of server code, used to pick out
+     * threads which are not idle
+     */
+    private static final String SERVER_PACKAGE = "net.tridentsdk";
+    /**
+     * The number of stack samples taken per stall report
+     */
+    private static final int SAMPLES = 10;
+    /**
+     * The time between each stack sample
+     */
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+    /**
+     * The amount of hottest frames to report
+     */
+    private static final int HOT_FRAMES = 5;
+    /**
+     * The amount of frames printed from the tick thread
+     */
+    private static final int TICK_FRAMES = 12;
+
+    /**
+     * The thread management bean used to sample stacks
+     */
+    private final ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+    /**
+     * The tick thread which is watched
+     */
+    private final TridentTick tick;
+    /**
+     * The logger to which stall reports are written
+     */
+    private final Logger logger;
+    /**
+     * The amount of nanos a phase may run before it is
+     * considered stalled
+     */
+    private final long thresholdNanos;
+    /**
+     * The phase start of the last phase which was reported,
+     * prevents reporting the same stall more than once.
+     *
+     * <p>Only accessed by the watchdog thread.</p>
+     */
+    private long lastReported = -1;
+
+    /**
+     * Creates a new watchdog for the given tick thread.
+     *
+     * @param tick the tick thread to watch
+     * @param logger the logger to write reports to
+     * @param thresholdMillis the amount of millis a phase
+     * may run before being reported
+     */
+    public TickWatchdog(TridentTick tick, Logger logger, long thresholdMillis) {
+        super("TRD - Watchdog");
+        this.tick = tick;
+        this.logger = logger;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        long pollMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos) / 4);
+        while (true) {
+            try {
+                Thread.sleep(pollMillis);
+                this.check();
+            } catch (InterruptedException e) {
+                break; // server shutting down
+            }
+        }
+    }
+
+    /**
+     * Checks the phase currently being run by the tick
+     * thread and reports it if it has stalled.
+     */
+    private void check() throws InterruptedException {
+        // read the phase first, TridentTick publishes the
+        // start before the phase
+        TickPhase phase = this.tick.getPhase();
+        long start = this.tick.getPhaseStart();
+        if (phase == null || start == this.lastReported) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < this.thresholdNanos) {
+            return;
+        }
+
+        this.lastReported = start;
+        this.report(phase, elapsed);
+    }
+
+    /**
+     * Samples the server threads and logs the stall report.
+     *
+     * @param phase the phase that has stalled
+     * @param elapsed the nanos the phase has been running
+     */
+    private void report(TickPhase phase, long elapsed) throws InterruptedException {
+        Map<String, Integer> hot = new HashMap<>();
+        ThreadInfo tickInfo = null;
+        List<ThreadInfo> busy = Collections.emptyList();
+        int samples = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            List<ThreadInfo> sampled = new ArrayList<>();
+            for (ThreadInfo info : this.mx.dumpAllThreads(false, false)) {
+                if (info == null || info.getThreadId() == this.getId() ||
+                        !PoolSpec.isServerThread(info.getThreadName())) {
+                    continue;
+                }
+
+                boolean isTick = info.getThreadId() == this.tick.getId();
+                if (isTick) {
+                    tickInfo = info;
+                }
+
+                if (isTick || isBusy(info)) {
+                    sampled.add(info);
+                    StackTraceElement[] stack = info.getStackTrace();
+                    if (stack.length > 0) {
+                        hot.merge(stack[0].toString(), 1, Integer::sum);
+                        samples++;
+                    }
+                }
+            }
+
+            busy = sampled;
+            if (this.tick.getPhaseStart() != this.lastReported) {
+                // Phase finished while sampling
+                break;
+            }
+
+            Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+
+        this.logger.warn(String.format("Tick phase %s has stalled for %dms (threshold %dms)",
+                phase, TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos)));
+
+        if (tickInfo != null) {
+            this.logger.warn(describe(tickInfo));
+            StackTraceElement[] stack = tickInfo.getStackTrace();
+            for (int i = 0; i < Math.min(TICK_FRAMES, stack.length); i++) {
+                this.logger.warn("        at " + stack[i]);
+            }
+        }
+
+        for (ThreadInfo info : busy) {
+            if (info.getThreadId() != this.tick.getId()) {
+                this.logger.warn(describe(info) + " @ " + firstServerFrame(info));
+            }
+        }
+
+        this.logger.warn("Hottest frames over " + samples + " samples:");
+        int total = samples;
+        hot.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .limit(HOT_FRAMES)
+                .forEach(e -> this.logger.warn(String.format("    %3d%% %s", e.getValue() * 100 / total, e.getKey())));
+    }
+
+    /**
+     * Determines whether the given thread is doing work for
+     * the server, rather than idling in its pool.
+     *
+     * @param info the thread to check
+     * @return {@code true} if the thread is running server
+     * code
+     */
+    private static boolean isBusy(ThreadInfo info) {
+        return firstServerFrame(info) != null;
+    }
+
+    /**
+     * Obtains the top-most frame in the given thread's
+     * stack which belongs to the server.
+     *
+     * @param info the thread to search
+     * @return the server frame, or {@code null} if there is
+     * none
+     */
+    static StackTraceElement firstServerFrame(ThreadInfo info) {
+        for (StackTraceElement element : info.getStackTrace()) {
+            if (element.getClassName().startsWith(SERVER_PACKAGE)) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a single line description of the given
+     * thread's name, state and lock if it is waiting.
+     *
+     * @param info the thread to describe
+     * @return the description
+     */
+    private static String describe(ThreadInfo info) {
+        StringBuilder builder = new StringBuilder("    \"")
+                .append(info.getThreadName())
+                .append("\" ")
+                .append(info.getThreadState());
+        if (info.getLockName() != null) {
+            builder.append(" on ").append(info.getLockName());
+            if (info.getLockOwnerName() != null) {
+                builder.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+            }
+        }
+
+        return builder.toString();
+    }
+}
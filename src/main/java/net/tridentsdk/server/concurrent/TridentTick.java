@@ -16,20 +16,27 @@
  */
 package net.tridentsdk.server.concurrent;
 
+import lombok.Getter;
 import net.tridentsdk.command.logger.Logger;
+import net.tridentsdk.server.config.ServerConfig;
+import net.tridentsdk.server.entity.EntityStore;
+import net.tridentsdk.server.entity.EntityTracker;
+import net.tridentsdk.server.inventory.TridentInventory;
 import net.tridentsdk.server.player.TridentPlayer;
+import net.tridentsdk.server.ui.bossbar.AbstractBossBar;
+import net.tridentsdk.server.ui.tablist.TridentTabList;
 import net.tridentsdk.server.util.JiraExceptionCatcher;
 import net.tridentsdk.server.world.TridentWorld;
 import net.tridentsdk.server.world.TridentWorldLoader;
 
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the server heartbeat pulse called
  * "tick" which occurs every 1/20th of a second.
  */
-@Immutable
+@ThreadSafe
 public final class TridentTick extends Thread {
     /**
      * The amount of time taken by a single tick
@@ -39,6 +46,30 @@ public final class TridentTick extends Thread {
      * The logger for this server tick thread
      */
     private final Logger logger;
+    /**
+     * The allocation tracker for the tick, or {@code null}
+     * if allocation accounting is disabled
+     */
+    private volatile AllocationTracker allocs;
+    /**
+     * The controller adapting the view distance to the
+     * tick time, or {@code null} if it is not installed
+     */
+    private volatile ViewDistanceController view;
+
+    /**
+     * The phase of the tick currently being run, or
+     * {@code null} if the tick thread is waiting for the
+     * next tick
+     */
+    @Getter
+    private volatile TickPhase phase;
+    /**
+     * The {@link System#nanoTime()} at which the current
+     * phase was entered
+     */
+    @Getter
+    private volatile long phaseStart;
 
     /**
      * Creates a new server ticker thread.
@@ -55,21 +86,44 @@ public final class TridentTick extends Thread {
                 long start = System.currentTimeMillis();
 
                 // Tick worlds
+                this.enter(TickPhase.WORLDS);
                 for (TridentWorld world : TridentWorldLoader.getInstance().worlds()) {
                     world.tick();
                 }
 
+                // Run entity physics
+                this.enter(TickPhase.ENTITIES);
+                EntityStore.getInstance().tickPhysics(ServerThreadPool.forSpec(PoolSpec.ENTITIES));
+
                 // Tick players
-                for (TridentPlayer player : TridentPlayer.getPlayers().values()) {
+                this.enter(TickPhase.PLAYERS);
+                for (TridentPlayer player : TridentPlayer.getPlayers()) {
                     player.tick();
                 }
 
+                // Flush tab list, boss bar and inventory changes
+                this.enter(TickPhase.UI);
+                TridentTabList.flushAll();
+                AbstractBossBar.flushAll();
+                TridentInventory.flushAll();
+
+                // Spawn and destroy entities for their viewers
+                this.enter(TickPhase.TRACKER);
+                EntityTracker.getInstance().tick();
+
                 // Tick the scheduler
+                this.enter(TickPhase.SCHEDULER);
                 TridentScheduler.getInstance().tick();
+                this.exit();
 
                 // Timing mechanics
                 long end = System.currentTimeMillis();
                 long elapsed = end - start;
+                ViewDistanceController view = this.view;
+                if (view != null) {
+                    view.tick(elapsed);
+                }
+
                 long waitTime = TICK_MILLIS - elapsed;
                 if (waitTime < 0) {
                     this.logger.debug("Server running behind " +
@@ -86,4 +140,57 @@ public final class TridentTick extends Thread {
             }
         }
     }
+
+    /**
+     * Enables allocation accounting for this tick thread,
+     * reporting the results every given amount of ticks.
+     *
+     * @param reportTicks the amount of ticks between
+     * allocation reports
+     */
+    public void trackAllocations(int reportTicks) {
+        this.allocs = new AllocationTracker(this, this.logger, reportTicks);
+    }
+
+    /**
+     * Installs a controller which adapts the view distance
+     * of players to the time taken by each tick.
+     *
+     * @param config the config providing the view distance
+     * bounds
+     */
+    public void adaptViewDistance(ServerConfig config) {
+        this.view = new ViewDistanceController(this.logger, config);
+    }
+
+    /**
+     * Marks the beginning of the given tick phase so that
+     * it may be observed by the {@link TickWatchdog}.
+     *
+     * @param phase the phase being entered
+     */
+    private void enter(TickPhase phase) {
+        // start must be published before the phase so
+        // that a reader never sees a new phase with a
+        // stale start time
+        this.phaseStart = System.nanoTime();
+        this.phase = phase;
+
+        AllocationTracker allocs = this.allocs;
+        if (allocs != null) {
+            allocs.enter(phase);
+        }
+    }
+
+    /**
+     * Marks the end of the last phase of the tick.
+     */
+    private void exit() {
+        this.phase = null;
+
+        AllocationTracker allocs = this.allocs;
+        if (allocs != null) {
+            allocs.endTick();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.concurrent;
+
+import net.tridentsdk.command.logger.Logger;
+import net.tridentsdk.server.config.ServerConfig;
+import net.tridentsdk.server.net.OutEncoder;
+import net.tridentsdk.server.player.TridentPlayer;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the largest chunk radius that players may view
+ * to the load on the server, measured by the average tick
+ * time and the outbound bandwidth.
+ *
+ * <p>The view distance is reduced by one chunk at a time
+ * while the server is overloaded and restored by one chunk
+ * at a time once it has been calm for a while. The load
+ * thresholds for shrinking and growing are set apart, and
+ * growing requires the server to stay calm for longer than
+ * shrinking requires it to stay overloaded, so the view
+ * distance does not flap around a threshold.</p>
+ *
+ * <p>The bounds and thresholds are read from the config
+ * every evaluation so that they follow config reloads.</p>
+ *
+ * <p>This class is confined to the tick thread.</p>
+ */
+@NotThreadSafe
+public final class ViewDistanceController {
+    /**
+     * The amount of ticks between each evaluation
+     */
+    private static final int EVAL_TICKS = 20;
+    /**
+     * The weight of a new tick in the average tick time
+     */
+    private static final double SMOOTHING = 0.05;
+    /**
+     * The amount of overloaded evaluations in a row before
+     * the view distance is reduced
+     */
+    private static final int SHRINK_EVALS = 2;
+    /**
+     * The amount of calm evaluations in a row before the
+     * view distance is restored
+     */
+    private static final int GROW_EVALS = 10;
+    /**
+     * The fraction of the bandwidth limit below which the
+     * bandwidth is considered calm
+     */
+    private static final double GROW_BANDWIDTH = 0.75;
+
+    /**
+     * The logger to which view distance changes are logged
+     */
+    private final Logger logger;
+    /**
+     * The config providing the bounds and thresholds
+     */
+    private final ServerConfig config;
+
+    /**
+     * The average tick time, in milliseconds
+     */
+    private double avgTick;
+    /**
+     * The current view distance cap
+     */
+    private int cap;
+    /**
+     * The amount of ticks since the last evaluation
+     */
+    private int ticks;
+    /**
+     * The bytes sent at the last evaluation
+     */
+    private long lastSent = OutEncoder.getBytesSent();
+    /**
+     * The {@link System#nanoTime()} of the last evaluation
+     */
+    private long lastEval = System.nanoTime();
+    /**
+     * The amount of overloaded evaluations in a row
+     */
+    private int hot;
+    /**
+     * The amount of calm evaluations in a row
+     */
+    private int calm;
+
+    /**
+     * Creates a new view distance controller, starting at
+     * the largest configured view distance.
+     *
+     * @param logger the logger to write changes to
+     * @param config the server config
+     */
+    public ViewDistanceController(Logger logger, ServerConfig config) {
+        this.logger = logger;
+        this.config = config;
+        this.cap = config.viewDistanceMax();
+        TridentPlayer.setViewCap(this.cap);
+    }
+
+    /**
+     * Records the time taken by a tick and evaluates the
+     * view distance if it is due.
+     *
+     * @param elapsedMillis the time taken by the tick
+     */
+    public void tick(long elapsedMillis) {
+        this.avgTick += (elapsedMillis - this.avgTick) * SMOOTHING;
+        if (++this.ticks < EVAL_TICKS) {
+            return;
+        }
+        this.ticks = 0;
+
+        long now = System.nanoTime();
+        long sent = OutEncoder.getBytesSent();
+        long nanos = Math.max(1, now - this.lastEval);
+        long rate = (sent - this.lastSent) * TimeUnit.SECONDS.toNanos(1) / nanos / 1024;
+        this.lastEval = now;
+        this.lastSent = sent;
+
+        this.evaluate(rate);
+    }
+
+    /**
+     * Moves the view distance cap by at most one chunk
+     * depending on the current load.
+     *
+     * @param rate the outbound bandwidth, in KiB per second
+     */
+    private void evaluate(long rate) {
+        ServerConfig config = this.config;
+        int min = config.viewDistanceMin();
+        int max = config.viewDistanceMax();
+        int limit = config.viewBandwidthLimit();
+
+        boolean overloaded = this.avgTick > config.viewShrinkTick() || limit > 0 && rate > limit;
+        boolean calm = this.avgTick < config.viewGrowTick() && (limit <= 0 || rate < limit * GROW_BANDWIDTH);
+        this.hot = overloaded ? this.hot + 1 : 0;
+        this.calm = calm ? this.calm + 1 : 0;
+
+        int cap = Math.max(min, Math.min(this.cap, max));
+        if (this.hot >= SHRINK_EVALS && cap > min) {
+            cap--;
+            this.hot = 0;
+        } else if (this.calm >= GROW_EVALS && cap < max) {
+            cap++;
+            this.calm = 0;
+        }
+
+        if (cap != this.cap) {
+            this.logger.info(String.format("View distance %s to %d (tick %.1fms, %dKiB/s)",
+                    cap < this.cap ? "reduced" : "restored", cap, this.avgTick, rate));
+            this.cap = cap;
+            TridentPlayer.setViewCap(cap);
+        }
+    }
+}
\ No newline at end of file
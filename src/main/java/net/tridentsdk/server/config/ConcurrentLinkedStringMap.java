@@ -127,4 +127,15 @@ public class ConcurrentLinkedStringMap<V> {
             lock.unlock();
         }
     }
+
+    public void replace(Map<String, V> contents) {
+        Lock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            this.map.clear();
+            this.map.putAll(contents);
+        } finally {
+            lock.unlock();
+        }
+    }
 }
\ No newline at end of file
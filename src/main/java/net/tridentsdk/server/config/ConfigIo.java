@@ -17,12 +17,19 @@
 package net.tridentsdk.server.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import javax.annotation.concurrent.Immutable;
-import java.io.*;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
 
 /**
  * This class is a config writer that centralizes logic
@@ -43,6 +50,15 @@ public final class ConfigIo {
      * JsonParser for straight reading the configs
      */
     public static final JsonParser PARSER = new JsonParser();
+    /**
+     * The adapter used to read and write config values
+     */
+    public static final TridentAdapter ADAPTER = new TridentAdapter(GSON);
+    /**
+     * The size of the buffers used to read and write
+     * configs
+     */
+    private static final int BUFFER_SIZE = 8192;
 
     // Prevent instantiation
     private ConfigIo() {
@@ -65,38 +81,71 @@ public final class ConfigIo {
     }
 
     /**
-     * Reads the config file located at the given path into
-     * memory.
+     * Reads the config file located at the given path
+     * directly into the given section, without building an
+     * intermediate json tree.
      *
      * @param path the config file location
-     * @return the in-memory representation of the config
+     * @param section the section into which the config is
+     * read
      */
-    public static JsonObject readConfig(Path path) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (FileInputStream stream = new FileInputStream(path.toFile())) {
-            byte[] buffer = new byte[8192];
-            while (stream.read(buffer, 0, buffer.length) > -1) {
-                out.write(buffer, 0, buffer.length);
-            }
+    public static void readConfig(Path path, TridentConfigSection section) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             JsonReader reader = new JsonReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE))) {
+            // Allow comments in configs
+            reader.setLenient(true);
+            section.read(reader);
         }
-
-        String json = new String(out.toByteArray()).trim();
-        return PARSER.parse(json).getAsJsonObject();
     }
 
     /**
-     * Writes the memory configuration object to the config
-     * located at the given path.
+     * Writes the given section to the config located at the
+     * given path.
+     *
+     * <p>The config is written to a temporary file which
+     * then replaces the config, so that a crash while saving
+     * never leaves a partially written config behind. The
+     * temporary file is given the permissions of the config
+     * it replaces.</p>
      *
      * @param path the config to write
-     * @param object the memory representation of the
-     * config
+     * @param section the section to write
+     * @return the modification time of the written config
      */
-    public static void writeConfig(Path path, JsonObject object) throws IOException {
-        String json = GSON.toJson(object);
+    public static FileTime writeConfig(Path path, TridentConfigSection section) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            if (Files.exists(path)) {
+                try {
+                    Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(path));
+                } catch (UnsupportedOperationException ignored) {
+                    // Not a POSIX file system, so the temporary
+                    // file was not given restricted permissions
+                }
+            }
 
-        try (FileOutputStream stream = new FileOutputStream(path.toFile())) {
-            stream.write(json.getBytes());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                JsonWriter writer = new JsonWriter(new BufferedWriter(
+                        Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE));
+                writer.setIndent("  ");
+                writer.setSerializeNulls(true);
+                writer.setHtmlSafe(false);
+                section.write(writer);
+                writer.flush();
+                channel.force(true);
+            }
+
+            // Moving the file keeps its modification time
+            FileTime written = Files.getLastModifiedTime(temp);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
         }
     }
 
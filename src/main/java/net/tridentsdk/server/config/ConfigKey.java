@@ -0,0 +1,183 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.config;
+
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A precompiled handle to a value in a config file, which
+ * is resolved against a {@link ConfigSnapshot} without
+ * splitting the path or taking any locks.
+ *
+ * <p>Keys should be created once and held in constants;
+ * each distinct path is assigned an index into the value
+ * array of every snapshot built afterwards.</p>
+ *
+ * @param <T> the type of value the key points to
+ */
+@Immutable
+public final class ConfigKey<T> {
+    /**
+     * The index assigned to each path which has a key
+     */
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+    /**
+     * The next index to assign
+     */
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    /**
+     * The full, . separated path to the value
+     */
+    @Getter
+    private final String path;
+    /**
+     * The index of the value in snapshots
+     */
+    private final int index;
+    /**
+     * Converts the raw config value to the key type
+     */
+    private final Function<Object, T> converter;
+
+    /**
+     * Creates a new config key.
+     *
+     * @param path the path to the value
+     * @param converter the raw value converter
+     */
+    private ConfigKey(String path, Function<Object, T> converter) {
+        this.path = path;
+        this.index = INDEXES.computeIfAbsent(path, k -> NEXT_INDEX.getAndIncrement());
+        this.converter = converter;
+    }
+
+    /**
+     * Creates a key which casts the value to the given type.
+     *
+     * @param path the . separated path to the value
+     * @param type the type of value
+     * @param <T> the type of value
+     * @return the new key
+     */
+    public static <T> ConfigKey<T> of(String path, Class<T> type) {
+        return new ConfigKey<>(path, type::cast);
+    }
+
+    /**
+     * Creates a key to an int value.
+     *
+     * @param path the . separated path to the value
+     * @return the new key
+     */
+    public static ConfigKey<Integer> ofInt(String path) {
+        return new ConfigKey<>(path, o -> ((Number) o).intValue());
+    }
+
+    /**
+     * Creates a key to a long value.
+     *
+     * @param path the . separated path to the value
+     * @return the new key
+     */
+    public static ConfigKey<Long> ofLong(String path) {
+        return new ConfigKey<>(path, o -> ((Number) o).longValue());
+    }
+
+    /**
+     * Creates a key to a double value.
+     *
+     * @param path the . separated path to the value
+     * @return the new key
+     */
+    public static ConfigKey<Double> ofDouble(String path) {
+        return new ConfigKey<>(path, o -> ((Number) o).doubleValue());
+    }
+
+    /**
+     * Creates a key to a boolean value.
+     *
+     * @param path the . separated path to the value
+     * @return the new key
+     */
+    public static ConfigKey<Boolean> ofBoolean(String path) {
+        return new ConfigKey<>(path, Boolean.class::cast);
+    }
+
+    /**
+     * Creates a key to a string value.
+     *
+     * @param path the . separated path to the value
+     * @return the new key
+     */
+    public static ConfigKey<String> ofString(String path) {
+        return new ConfigKey<>(path, String.class::cast);
+    }
+
+    /**
+     * Obtains the amount of indexes which have been
+     * assigned to keys.
+     *
+     * @return the amount of key indexes
+     */
+    static int indexes() {
+        return NEXT_INDEX.get();
+    }
+
+    /**
+     * Obtains the index assigned to the given path, if a
+     * key has been created for it.
+     *
+     * @param path the path
+     * @return the index, or {@code -1} if there is none
+     */
+    static int indexOf(String path) {
+        Integer index = INDEXES.get(path);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Obtains the index of this key.
+     *
+     * @return the index
+     */
+    int index() {
+        return this.index;
+    }
+
+    /**
+     * Converts the given raw config value into the type of
+     * this key.
+     *
+     * @param value the raw value
+     * @return the converted value
+     */
+    T convert(Object value) {
+        return this.converter.apply(value);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigKey{" + this.path + "}";
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.config;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, flattened view of the values in a config
+ * file at a point in time.
+ *
+ * <p>Values are mapped by their full . separated path, and
+ * the values of paths with a {@link ConfigKey} are also
+ * stored by the key index, so reading them is a single
+ * array access.</p>
+ */
+@Immutable
+public final class ConfigSnapshot {
+    /**
+     * Snapshot of a config which has not been loaded
+     */
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap());
+
+    /**
+     * The values mapped by full path
+     */
+    private final Map<String, Object> values;
+    /**
+     * The values at the index of their key
+     */
+    private final Object[] indexed;
+
+    /**
+     * Creates a new snapshot from the given values.
+     *
+     * @param values the values mapped by full path, which
+     * must not be modified afterwards
+     */
+    ConfigSnapshot(Map<String, Object> values) {
+        this.values = Collections.unmodifiableMap(values);
+        this.indexed = new Object[ConfigKey.indexes()];
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            int idx = ConfigKey.indexOf(entry.getKey());
+            if (idx >= 0 && idx < this.indexed.length) {
+                this.indexed[idx] = entry.getValue();
+            }
+        }
+    }
+
+    /**
+     * Obtains the raw value of the given key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if it is not
+     * present
+     */
+    private Object raw(ConfigKey<?> key) {
+        int idx = key.index();
+        Object value = idx < this.indexed.length ? this.indexed[idx] : null;
+        // Keys created after this snapshot have no index in
+        // it and must fall back to the map
+        return value == null ? this.values.get(key.getPath()) : value;
+    }
+
+    /**
+     * Obtains the raw value of the given key, throwing an
+     * exception if it is not present.
+     *
+     * @param key the key
+     * @return the value
+     */
+    private Object require(ConfigKey<?> key) {
+        Object value = this.raw(key);
+        if (value == null) {
+            throw new NoSuchElementException(String.format("Key \"%s\" cannot be found", key.getPath()));
+        }
+
+        return value;
+    }
+
+    /**
+     * Determines whether the given key has a value.
+     *
+     * @param key the key
+     * @return {@code true} if the value is present
+     */
+    public boolean has(ConfigKey<?> key) {
+        return this.raw(key) != null;
+    }
+
+    /**
+     * Obtains the value of the given key.
+     *
+     * @param key the key
+     * @param <T> the type of value
+     * @return the value
+     * @throws NoSuchElementException if the value is not
+     * present
+     */
+    public <T> T get(ConfigKey<T> key) {
+        return key.convert(this.require(key));
+    }
+
+    /**
+     * Obtains the value of the given key, or the given
+     * default if it is not present.
+     *
+     * @param key the key
+     * @param def the default value
+     * @param <T> the type of value
+     * @return the value
+     */
+    public <T> T get(ConfigKey<T> key, T def) {
+        Object value = this.raw(key);
+        return value == null ? def : key.convert(value);
+    }
+
+    /**
+     * Obtains the value of the given key as an int without
+     * boxing.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public int getInt(ConfigKey<Integer> key) {
+        return ((Number) this.require(key)).intValue();
+    }
+
+    /**
+     * Obtains the value of the given key as a long without
+     * boxing.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public long getLong(ConfigKey<Long> key) {
+        return ((Number) this.require(key)).longValue();
+    }
+
+    /**
+     * Obtains the value of the given key as a double
+     * without boxing.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public double getDouble(ConfigKey<Double> key) {
+        return ((Number) this.require(key)).doubleValue();
+    }
+
+    /**
+     * Obtains the value of the given key as a boolean.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public boolean getBoolean(ConfigKey<Boolean> key) {
+        return (boolean) this.require(key);
+    }
+
+    /**
+     * Obtains the value at the given full path.
+     *
+     * @param path the . separated path
+     * @return the value, or {@code null} if it is not
+     * present
+     */
+    public Object get(String path) {
+        return this.values.get(path);
+    }
+
+    /**
+     * Obtains all of the values in this snapshot mapped by
+     * their full path.
+     *
+     * @return the values
+     */
+    public Map<String, Object> values() {
+        return this.values;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.config;
+
+import net.tridentsdk.command.logger.Logger;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the server config file and reloads it whenever it
+ * is changed on disk.
+ *
+ * <p>Settings which are read on demand, such as the max
+ * players or log levels, take effect immediately. Settings
+ * which are used to bind the server require a restart,
+ * which is reported when they are changed.</p>
+ */
+@ThreadSafe
+public class ConfigWatcher extends Thread {
+    /**
+     * The logger used to report reloads
+     */
+    private static final Logger LOGGER = Logger.get(ConfigWatcher.class);
+    /**
+     * The time to wait for writes to the file to finish
+     * before reading it
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    /**
+     * The config to reload
+     */
+    private final ServerConfig config;
+    /**
+     * Called after each successful reload
+     */
+    private final Runnable onReload;
+    /**
+     * The service which notifies the watcher of changes
+     */
+    private final WatchService service;
+
+    /**
+     * Creates a new config watcher.
+     *
+     * @param config the config to reload
+     * @param onReload called after the config has been
+     * reloaded in order to apply the new settings
+     * @throws IOException if the config directory cannot
+     * be watched
+     */
+    public ConfigWatcher(ServerConfig config, Runnable onReload) throws IOException {
+        super("TRD - Config Watcher");
+        this.setDaemon(true);
+        this.config = config;
+        this.onReload = onReload;
+        this.service = FileSystems.getDefault().newWatchService();
+        config.getPath().toAbsolutePath().getParent().register(this.service,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    @Override
+    public void run() {
+        Path name = this.config.getPath().getFileName();
+        try {
+            while (!this.isInterrupted()) {
+                WatchKey key = this.service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (name.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+
+                if (changed) {
+                    // Editors often write a file in several
+                    // steps, wait for them to settle
+                    TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+                    WatchKey next;
+                    while ((next = this.service.poll()) != null) {
+                        next.pollEvents();
+                        next.reset();
+                    }
+
+                    this.reload();
+                }
+
+                if (!key.reset()) {
+                    LOGGER.warn("Config directory is no longer accessible, stopped watching server.json");
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        } finally {
+            try {
+                this.service.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Reloads the config, keeping the previous values if
+     * the file cannot be read.
+     */
+    private void reload() {
+        String ip = this.config.ip();
+        int port = this.config.port();
+        boolean useNative = this.config.useNative();
+
+        try {
+            // Saving the config also fires the watcher
+            if (this.config.isUnchangedSinceSave()) {
+                return;
+            }
+
+            this.config.load();
+        } catch (Exception e) {
+            LOGGER.error("Failed to reload server.json, keeping previous settings: " + e.getMessage());
+            return;
+        }
+
+        if (!ip.equals(this.config.ip()) || port != this.config.port() || useNative != this.config.useNative()) {
+            LOGGER.warn("Changes to the address, port or use-native require a restart");
+        }
+
+        this.onReload.run();
+        LOGGER.success("Reloaded server.json");
+    }
+}
@@ -16,17 +16,28 @@
  */
 package net.tridentsdk.server.config;
 
-import lombok.Getter;
+import net.tridentsdk.config.ConfigSection;
+import net.tridentsdk.server.command.FileLogger;
+import net.tridentsdk.server.command.LogLevel;
 import net.tridentsdk.util.Misc;
 
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * This class contains the constant values whenever the
  * server loads the properties file in order to shortcut
  * access to each of the values.
+ *
+ * <p>The values are held in an immutable holder which is
+ * replaced as a whole each time the file is loaded, so a
+ * reload is never observed halfway through.</p>
  */
 @ThreadSafe
 public class ServerConfig extends TridentConfig {
@@ -35,41 +46,162 @@ public class ServerConfig extends TridentConfig {
      */
     public static final Path PATH = Misc.HOME_PATH.resolve("server.json");
 
-    /**
-     * The internal server ip to which the socket
-     * will be bound
-     */
-    private volatile String ip;
-    /**
-     * The server port to use
-     */
-    private volatile int port;
-    /**
-     * Whether or not to use native transport (epoll)
-     */
-    private volatile boolean useNative;
-    /**
-     * The minimum packet size before compression
-     */
-    private volatile int compressionThresh;
+    // config keys
+    private static final ConfigKey<String> ADDRESS = ConfigKey.ofString("address");
+    private static final ConfigKey<Integer> PORT = ConfigKey.ofInt("port");
+    private static final ConfigKey<Boolean> USE_NATIVE = ConfigKey.ofBoolean("use-native");
+    private static final ConfigKey<Integer> COMPRESSION_THRESH = ConfigKey.ofInt("compression-threshold");
+    private static final ConfigKey<Boolean> ONLINE_MODE = ConfigKey.ofBoolean("online-mode");
+    private static final ConfigKey<Integer> MAX_PLAYERS = ConfigKey.ofInt("max-players");
+    private static final ConfigKey<String> MOTD = ConfigKey.ofString("motd");
+    private static final ConfigKey<Boolean> LEAK_DETECTOR = ConfigKey.ofBoolean("netty-leak-detector");
+    private static final ConfigKey<Integer> WATCHDOG_THRESH = ConfigKey.ofInt("watchdog-threshold");
+    private static final ConfigKey<Integer> ALLOC_REPORT_INTERVAL = ConfigKey.ofInt("alloc-report-interval");
+    private static final ConfigKey<Boolean> PROFILER = ConfigKey.ofBoolean("profiler");
+    private static final ConfigKey<String> LOG_OVERFLOW = ConfigKey.ofString("log-overflow");
+    private static final ConfigKey<String> LOG_LEVEL = ConfigKey.ofString("log-level");
+    private static final ConfigKey<Integer> LISTENER_WARN_THRESH = ConfigKey.ofInt("listener-warn-threshold");
+    private static final ConfigKey<Integer> VIEW_DISTANCE_MIN = ConfigKey.ofInt("view-distance-min");
+    private static final ConfigKey<Integer> VIEW_DISTANCE_MAX = ConfigKey.ofInt("view-distance-max");
+    private static final ConfigKey<Integer> VIEW_SHRINK_TICK = ConfigKey.ofInt("view-shrink-tick-millis");
+    private static final ConfigKey<Integer> VIEW_GROW_TICK = ConfigKey.ofInt("view-grow-tick-millis");
+    private static final ConfigKey<Integer> VIEW_BANDWIDTH_LIMIT = ConfigKey.ofInt("view-bandwidth-limit");
 
     /**
-     * Whether or not this server checks auth servers
-     */
-    private volatile boolean useAuth;
-    /**
-     * The maximum players that may be on the server
-     */
-    private volatile int maxPlayers;
-    /**
-     * The Message-Of-The-Day ping response
+     * The values of the most recent load
      */
-    private volatile String motd;
+    private volatile Values values;
+
     /**
-     * Whether to enable netty leak detector
+     * The values of the server config file at the time it
+     * was loaded.
      */
-    @Getter
-    private volatile boolean nettyLeakDetectorEnabled;
+    @Immutable
+    private static final class Values {
+        /**
+         * The internal server ip to which the socket
+         * will be bound
+         */
+        private final String ip;
+        /**
+         * The server port to use
+         */
+        private final int port;
+        /**
+         * Whether or not to use native transport (epoll)
+         */
+        private final boolean useNative;
+        /**
+         * The minimum packet size before compression
+         */
+        private final int compressionThresh;
+        /**
+         * Whether or not this server checks auth servers
+         */
+        private final boolean useAuth;
+        /**
+         * The maximum players that may be on the server
+         */
+        private final int maxPlayers;
+        /**
+         * The Message-Of-The-Day ping response
+         */
+        private final String motd;
+        /**
+         * Whether to enable netty leak detector
+         */
+        private final boolean nettyLeakDetectorEnabled;
+        /**
+         * The time a tick phase may take before the
+         * watchdog reports it, in milliseconds
+         */
+        private final int watchdogThresh;
+        /**
+         * The time between allocation reports, in seconds
+         */
+        private final int allocReportInterval;
+        /**
+         * Whether the sampling profiler should be running
+         */
+        private final boolean profiler;
+        /**
+         * What to do with log messages when the log file
+         * cannot keep up
+         */
+        private final FileLogger.OverflowPolicy logOverflow;
+        /**
+         * The level of loggers which are not configured
+         */
+        private final LogLevel logLevel;
+        /**
+         * The levels of specific loggers
+         */
+        private final Map<String, LogLevel> logLevels;
+        /**
+         * The time an event listener may take before a
+         * warning is logged, in milliseconds
+         */
+        private final int listenerWarnThresh;
+        /**
+         * The smallest chunk radius that the view distance
+         * may be reduced to under load
+         */
+        private final int viewDistanceMin;
+        /**
+         * The largest chunk radius that players may view
+         */
+        private final int viewDistanceMax;
+        /**
+         * The average tick time above which the view
+         * distance is reduced, in milliseconds
+         */
+        private final int viewShrinkTick;
+        /**
+         * The average tick time below which the view
+         * distance is restored, in milliseconds
+         */
+        private final int viewGrowTick;
+        /**
+         * The outbound bandwidth above which the view
+         * distance is reduced, in KiB per second
+         */
+        private final int viewBandwidthLimit;
+
+        /**
+         * Reads the values from the given config.
+         *
+         * @param config the loaded config
+         */
+        private Values(ConfigSnapshot snapshot, ConfigSection config) {
+            this.ip = snapshot.get(ADDRESS);
+            this.port = snapshot.getInt(PORT);
+            this.useNative = snapshot.getBoolean(USE_NATIVE);
+            this.compressionThresh = snapshot.getInt(COMPRESSION_THRESH);
+            this.useAuth = snapshot.getBoolean(ONLINE_MODE);
+            this.maxPlayers = snapshot.getInt(MAX_PLAYERS);
+            this.motd = snapshot.get(MOTD);
+            this.nettyLeakDetectorEnabled = snapshot.getBoolean(LEAK_DETECTOR);
+            this.watchdogThresh = snapshot.get(WATCHDOG_THRESH, 1000);
+            this.allocReportInterval = snapshot.get(ALLOC_REPORT_INTERVAL, 0);
+            this.profiler = snapshot.get(PROFILER, false);
+            this.logOverflow = FileLogger.OverflowPolicy.valueOf(
+                    snapshot.get(LOG_OVERFLOW, "block").toUpperCase(Locale.ENGLISH));
+            this.logLevel = LogLevel.of(snapshot.get(LOG_LEVEL, "info"));
+
+            Map<String, LogLevel> logLevels = new HashMap<>();
+            if (config.hasKey("log-levels")) {
+                ConfigSection section = config.getChild("log-levels");
+                section.getKeys(false).forEach(k -> logLevels.put(k, LogLevel.of(section.getString(k))));
+            }
+            this.logLevels = Collections.unmodifiableMap(logLevels);
+            this.listenerWarnThresh = snapshot.get(LISTENER_WARN_THRESH, 0);
+            this.viewDistanceMax = Math.max(1, snapshot.get(VIEW_DISTANCE_MAX, 8));
+            this.viewDistanceMin = Math.max(1, Math.min(snapshot.get(VIEW_DISTANCE_MIN, 3), this.viewDistanceMax));
+            this.viewShrinkTick = snapshot.get(VIEW_SHRINK_TICK, 45);
+            this.viewGrowTick = Math.min(snapshot.get(VIEW_GROW_TICK, 30), this.viewShrinkTick);
+            this.viewBandwidthLimit = snapshot.get(VIEW_BANDWIDTH_LIMIT, 0);
+        }
+    }
 
     /**
      * Initializes the server file and load all the
@@ -97,7 +229,7 @@ public class ServerConfig extends TridentConfig {
      * @return the internal ip
      */
     public String ip() {
-        return this.ip;
+        return this.values.ip;
     }
 
     /**
@@ -109,7 +241,7 @@ public class ServerConfig extends TridentConfig {
      * @return the port
      */
     public int port() {
-        return this.port;
+        return this.values.port;
     }
 
     /**
@@ -123,7 +255,7 @@ public class ServerConfig extends TridentConfig {
      * possible
      */
     public boolean useNative() {
-        return this.useNative;
+        return this.values.useNative;
     }
 
     /**
@@ -134,7 +266,7 @@ public class ServerConfig extends TridentConfig {
      * @return the minimum packet size
      */
     public int compressionThresh() {
-        return this.compressionThresh;
+        return this.values.compressionThresh;
     }
 
     /**
@@ -144,7 +276,7 @@ public class ServerConfig extends TridentConfig {
      * @return {@code true} if yes
      */
     public boolean doAuth() {
-        return this.useAuth;
+        return this.values.useAuth;
     }
 
     /**
@@ -154,7 +286,7 @@ public class ServerConfig extends TridentConfig {
      * @return the max players
      */
     public int maxPlayers() {
-        return this.maxPlayers;
+        return this.values.maxPlayers;
     }
 
     /**
@@ -163,19 +295,175 @@ public class ServerConfig extends TridentConfig {
      * @return the server MOTD
      */
     public String motd() {
-        return this.motd;
+        return this.values.motd;
+    }
+
+    /**
+     * Obtains whether the netty leak detector is enabled.
+     *
+     * @return {@code true} if the leak detector is enabled
+     */
+    public boolean isNettyLeakDetectorEnabled() {
+        return this.values.nettyLeakDetectorEnabled;
+    }
+
+    /**
+     * Obtains the amount of milliseconds that a single
+     * phase of the server tick may run before the watchdog
+     * reports it as stalled.
+     *
+     * <p>By default, this needs to be {@code 1000}. A value
+     * of {@code 0} or less disables the watchdog.</p>
+     *
+     * @return the watchdog threshold
+     */
+    public int watchdogThresh() {
+        return this.values.watchdogThresh;
+    }
+
+    /**
+     * Obtains the amount of seconds between each report
+     * of the memory allocated per tick and the garbage
+     * collections that occurred.
+     *
+     * <p>By default, this needs to be {@code 0}, which
+     * disables allocation accounting.</p>
+     *
+     * @return the allocation report interval
+     */
+    public int allocReportInterval() {
+        return this.values.allocReportInterval;
+    }
+
+    /**
+     * Obtains whether the sampling profiler should be
+     * running. Changing this while the server is running
+     * starts or stops the profiler.
+     *
+     * <p>By default, this needs to be {@code false}.</p>
+     *
+     * @return {@code true} to run the profiler
+     */
+    public boolean profiler() {
+        return this.values.profiler;
+    }
+
+    /**
+     * Obtains what the file logger does with messages that
+     * are logged faster than they can be written.
+     *
+     * <p>By default, this needs to be {@code block}.</p>
+     *
+     * @return the log overflow policy
+     */
+    public FileLogger.OverflowPolicy logOverflow() {
+        return this.values.logOverflow;
+    }
+
+    /**
+     * Obtains the lowest level of messages which are logged
+     * by loggers that have no specific level.
+     *
+     * <p>By default, this needs to be {@code info}.</p>
+     *
+     * @return the default log level
+     */
+    public LogLevel logLevel() {
+        return this.values.logLevel;
+    }
+
+    /**
+     * Obtains the levels of loggers which have been set
+     * specifically, mapped by logger name.
+     *
+     * @return the logger levels
+     */
+    public Map<String, LogLevel> logLevels() {
+        return this.values.logLevels;
+    }
+
+    /**
+     * Obtains the amount of milliseconds that a single
+     * event listener call may take before a warning is
+     * logged.
+     *
+     * <p>By default, this needs to be {@code 0}, which
+     * disables the warning.</p>
+     *
+     * @return the listener warning threshold
+     */
+    public int listenerWarnThresh() {
+        return this.values.listenerWarnThresh;
+    }
+
+    /**
+     * Obtains the smallest chunk radius that the view
+     * distance of players may be reduced to when the server
+     * is under load.
+     *
+     * <p>By default, this needs to be {@code 3}.</p>
+     *
+     * @return the minimum view distance
+     */
+    public int viewDistanceMin() {
+        return this.values.viewDistanceMin;
+    }
+
+    /**
+     * Obtains the largest chunk radius that players may
+     * view, regardless of their client render distance.
+     *
+     * <p>By default, this needs to be {@code 8}.</p>
+     *
+     * @return the maximum view distance
+     */
+    public int viewDistanceMax() {
+        return this.values.viewDistanceMax;
+    }
+
+    /**
+     * Obtains the average tick time above which the view
+     * distance is reduced.
+     *
+     * <p>By default, this needs to be {@code 45}.</p>
+     *
+     * @return the tick time, in milliseconds
+     */
+    public int viewShrinkTick() {
+        return this.values.viewShrinkTick;
+    }
+
+    /**
+     * Obtains the average tick time below which a reduced
+     * view distance is restored.
+     *
+     * <p>By default, this needs to be {@code 30}. This is
+     * never more than {@link #viewShrinkTick()}.</p>
+     *
+     * @return the tick time, in milliseconds
+     */
+    public int viewGrowTick() {
+        return this.values.viewGrowTick;
+    }
+
+    /**
+     * Obtains the outbound bandwidth, in KiB per second,
+     * above which the view distance is reduced.
+     *
+     * <p>By default, this needs to be {@code 0}, which
+     * disables the bandwidth limit.</p>
+     *
+     * @return the bandwidth limit
+     */
+    public int viewBandwidthLimit() {
+        return this.values.viewBandwidthLimit;
     }
 
     @Override
-    public void load() throws IOException {
-        super.load();
-        this.ip = this.getString("address");
-        this.port = this.getInt("port");
-        this.useNative = this.getBoolean("use-native");
-        this.compressionThresh = this.getInt("compression-threshold");
-        this.useAuth = this.getBoolean("online-mode");
-        this.maxPlayers = this.getInt("max-players");
-        this.motd = this.getString("motd");
-        this.nettyLeakDetectorEnabled = this.getBoolean("netty-leak-detector");
+    protected synchronized void apply(TridentConfigSection loaded, ConfigSnapshot snapshot) {
+        // Built first so that invalid values reject the load
+        Values values = new Values(snapshot, loaded);
+        super.apply(loaded, snapshot);
+        this.values = values;
     }
 }
\ No newline at end of file
@@ -16,15 +16,17 @@
  */
 package net.tridentsdk.server.config;
 
-
-import com.google.gson.JsonObject;
 import net.tridentsdk.config.Config;
 import net.tridentsdk.config.ConfigSection;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -59,6 +61,21 @@ public class TridentConfig extends TridentConfigSection implements Config {
      * The path to the config file
      */
     private final Path path;
+    /**
+     * The most recently built snapshot of the values in
+     * this config
+     */
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+    /**
+     * Whether the config has been modified since the
+     * snapshot was built
+     */
+    private volatile boolean dirty;
+    /**
+     * The modification time of the file when it was last
+     * written by {@link #save()}, or {@code null}
+     */
+    private volatile FileTime savedTime;
 
     /**
      * Creates a new config from the given path
@@ -113,15 +130,105 @@ public class TridentConfig extends TridentConfigSection implements Config {
         return this;
     }
 
+    /**
+     * Obtains an immutable view of the values in this
+     * config, which is replaced whenever the config is
+     * loaded, and rebuilt on the next call after the config
+     * is modified.
+     *
+     * @return the current config snapshot
+     */
+    public ConfigSnapshot snapshot() {
+        return this.dirty ? this.rebuild() : this.snapshot;
+    }
+
+    /**
+     * Marks the snapshot as out of date after a value in
+     * this config has been modified.
+     */
+    void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Builds a new snapshot from the current values if the
+     * config has been modified since the last one was built.
+     *
+     * <p>This is synchronized so that a snapshot built from
+     * older values is never published over a newer one. The
+     * flag is cleared before reading the values, so a write
+     * made while building marks the new snapshot dirty.</p>
+     *
+     * @return the current snapshot
+     */
+    private synchronized ConfigSnapshot rebuild() {
+        if (this.dirty) {
+            this.dirty = false;
+            this.snapshot = snapshotOf(this);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Builds a snapshot of the values in the given section.
+     *
+     * @param section the section
+     * @return the snapshot
+     */
+    static ConfigSnapshot snapshotOf(TridentConfigSection section) {
+        Map<String, Object> values = new HashMap<>();
+        section.getEntries(true).forEach(e -> values.put(e.getKey(), e.getValue()));
+        return new ConfigSnapshot(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The file is read into a separate section first, so
+     * that if it cannot be read or is rejected by
+     * {@link #apply(TridentConfigSection, ConfigSnapshot)},
+     * this config keeps its previous contents.</p>
+     */
     @Override
     public void load() throws IOException {
-        JsonObject object = ConfigIo.readConfig(this.path);
-        this.read(object);
+        TridentConfigSection loaded = new TridentConfigSection("", null, null);
+        ConfigIo.readConfig(this.path, loaded);
+        this.apply(loaded, snapshotOf(loaded));
+    }
+
+    /**
+     * Replaces the contents of this config with those of a
+     * freshly loaded section.
+     *
+     * <p>Subclasses may override this to validate the new
+     * values, throwing before calling this method if they
+     * are rejected.</p>
+     *
+     * @param loaded the section read from the file
+     * @param snapshot the snapshot of the loaded values
+     */
+    protected synchronized void apply(TridentConfigSection loaded, ConfigSnapshot snapshot) {
+        this.dirty = false;
+        this.copyFrom(loaded);
+        this.snapshot = snapshot;
     }
 
     @Override
     public void save() throws IOException {
-        JsonObject object = this.write();
-        ConfigIo.writeConfig(this.path, object);
+        this.savedTime = ConfigIo.writeConfig(this.path, this);
+    }
+
+    /**
+     * Determines whether the file has not been changed
+     * since it was last written by {@link #save()}, in which
+     * case there is nothing new to load from it.
+     *
+     * @return {@code true} if the file was last written by
+     * this config
+     * @throws IOException if the file cannot be accessed
+     */
+    public boolean isUnchangedSinceSave() throws IOException {
+        FileTime saved = this.savedTime;
+        return saved != null && saved.equals(Files.getLastModifiedTime(this.path));
     }
 }
@@ -16,12 +16,15 @@
  */
 package net.tridentsdk.server.config;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import net.tridentsdk.config.ConfigSection;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
@@ -50,45 +53,75 @@ public class TridentConfigSection implements ConfigSection {
 
     /**
      * Writes the config section and all of the associated
-     * children to a new json object.
+     * children to the given json writer.
      *
-     * @return this section and all its children's json
+     * @param out the writer to which the section is written
      */
-    public JsonObject write() {
-        JsonObject object = new JsonObject();
-
-        // funky code because we need to make sure all the
-        // elements remain in insertion order
-        this.elements.forEach((k, v) -> {
-            if (v instanceof ConfigSection) {
-                TridentConfigSection section = (TridentConfigSection) v;
-                object.add(k, section.write());
-            } else {
-                object.add(k, ConfigIo.asJson(v));
-            }
-        });
-        return object;
+    public void write(JsonWriter out) throws IOException {
+        out.beginObject();
+        try {
+            // funky code because we need to make sure all the
+            // elements remain in insertion order
+            this.elements.forEach((k, v) -> {
+                try {
+                    out.name(k);
+                    if (v instanceof ConfigSection) {
+                        ((TridentConfigSection) v).write(out);
+                    } else {
+                        ConfigIo.ADAPTER.write(out, v);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.endObject();
     }
 
     /**
-     * Loads the json from file into memory
+     * Reads the next json object from the given reader
+     * into this section.
      *
-     * @param object the file json
+     * @param in the reader positioned at the object
      */
-    public void read(JsonObject object) {
-        object.entrySet().forEach(e -> {
-            String key = e.getKey();
-            JsonElement value = e.getValue();
+    public void read(JsonReader in) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
 
             // special handling for json objects which are
             // config sections
-            if (value.isJsonObject()) {
-                TridentConfigSection section = this.createChild0(key, object);
-                section.read(value.getAsJsonObject());
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                TridentConfigSection section = this.createChild0(key);
+                section.read(in);
             } else {
-                this.elements.put(key, ConfigIo.asObj(value, TridentAdapter.class));
+                this.elements.put(key, ConfigIo.ADAPTER.read(in));
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * Replaces the contents of this section with a copy of
+     * the given section, such as one that has been freshly
+     * read from the config file.
+     *
+     * @param source the section to copy
+     */
+    void copyFrom(TridentConfigSection source) {
+        Map<String, Object> elements = new LinkedHashMap<>();
+        source.elements.forEach((k, v) -> {
+            if (v instanceof TridentConfigSection) {
+                TridentConfigSection child = new TridentConfigSection(k, this, this.getRoot());
+                child.copyFrom((TridentConfigSection) v);
+                elements.put(k, child);
+            } else {
+                elements.put(k, v);
             }
         });
+        this.elements.replace(elements);
     }
 
     /**
@@ -139,10 +172,11 @@ public class TridentConfigSection implements ConfigSection {
         TridentConfigSection section = this;
         if (split.length > 0) {
             for (String aSplit : split) {
-                section = section.createChild0(aSplit, null);
+                section = section.createChild0(aSplit);
             }
         }
 
+        this.markRootDirty();
         return section;
     }
 
@@ -158,7 +192,9 @@ public class TridentConfigSection implements ConfigSection {
         String finalKey = split.length > 0 ? split[split.length - 1] : key;
 
         TridentConfigSection parent = this.findSection(split, true);
-        return parent.elements.remove(finalKey) != null;
+        boolean removed = parent.elements.remove(finalKey) != null;
+        this.markRootDirty();
+        return removed;
     }
 
     @Override
@@ -177,7 +213,7 @@ public class TridentConfigSection implements ConfigSection {
 
     @Override
     public Stream<Object> getValues(boolean deep) {
-        LinkedList<Object> list = new LinkedList<>();
+        List<Object> list = new ArrayList<>();
         this.iterate("", list, (s, e) -> e.getValue(), deep);
         return Collections.unmodifiableCollection(list).stream();
     }
@@ -213,11 +249,16 @@ public class TridentConfigSection implements ConfigSection {
         if (split.length > 0) {
             finalKey = split[split.length - 1];
             for (int i = 0; i < split.length - 1; i++) {
-                section = (TridentConfigSection) section.createChild(split[i]);
+                // Reuse existing sections instead of
+                // replacing them with empty ones
+                Object o = section.elements.get(split[i]);
+                section = o instanceof TridentConfigSection ?
+                        (TridentConfigSection) o : section.createChild0(split[i]);
             }
         }
 
         section.elements.put(finalKey, value);
+        this.markRootDirty();
     }
 
     @Override
@@ -225,7 +266,9 @@ public class TridentConfigSection implements ConfigSection {
         String[] split = key.split(SECTION_SEPARATOR);
         String finalKey = split.length == 0 ? key : split[split.length - 1];
         TridentConfigSection section = this.findSection(split, true);
-        return section.elements.remove(finalKey) != null;
+        boolean removed = section.elements.remove(finalKey) != null;
+        this.markRootDirty();
+        return removed;
     }
 
     @Override
@@ -393,12 +436,9 @@ public class TridentConfigSection implements ConfigSection {
      * when we know that the name is not . separated.
      *
      * @param name the name of the new child
-     * @param object the json object that makes the
-     * section,
-     * or {@code null} if it is just created
      * @return the created section
      */
-    private TridentConfigSection createChild0(String name, JsonObject object) {
+    private TridentConfigSection createChild0(String name) {
         TridentConfigSection section = new TridentConfigSection(name, this, this.getRoot());
         this.elements.put(name, section);
         return section;
@@ -475,6 +515,17 @@ public class TridentConfigSection implements ConfigSection {
         return element;
     }
 
+    /**
+     * Marks the snapshot of the config which contains this
+     * section as out of date after it has been modified.
+     */
+    private void markRootDirty() {
+        ConfigSection root = this.getRoot();
+        if (root instanceof TridentConfig) {
+            ((TridentConfig) root).markDirty();
+        }
+    }
+
     /**
      * Concats the key to the given string from the given
      * entry.
@@ -0,0 +1,811 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.entity;
+
+import lombok.Getter;
+import net.tridentsdk.base.Position;
+import net.tridentsdk.server.util.UncheckedCdl;
+import net.tridentsdk.world.World;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Float.intBitsToFloat;
+
+/**
+ * Structure-of-arrays storage for the state of every
+ * entity, which {@link TridentEntity} objects refer to by
+ * slot.
+ *
+ * <p>Each column holds one primitive field for a page of
+ * {@link #PAGE_SIZE} entities so that systems such as
+ * physics may run over the entities in tight loops, one
+ * page per task. Pages are never moved once allocated,
+ * so a write is never lost to the store growing.</p>
+ *
+ * <p>The position columns of a slot are guarded by a
+ * sequence lock: writers make the sequence odd while they
+ * write, and readers retry if the sequence was odd or
+ * changed while they read, so a reader always sees a
+ * consistent position without locking or allocation.
+ * Velocity and bounds are written under the same lock so
+ * that they are ordered with the reset of a reused slot.
+ * </p>
+ *
+ * <p>Alongside the position, each slot holds the last
+ * position that clients were told about in protocol
+ * fixed-point units (1/4096 of a block), from which
+ * {@link #move(int, World, double, double, double, float, float)}
+ * computes relative move deltas without rounding drift.</p>
+ *
+ * <p>Slots are reused once freed, so each slot also has a
+ * generation which is advanced when it is freed. Entities
+ * hold their slot together with the generation it was
+ * allocated at, and every write checks the generation so
+ * that a handle to a removed entity can never modify the
+ * entity which has taken over its slot.</p>
+ */
+@ThreadSafe
+public final class EntityStore {
+    /**
+     * The store of entities on the server
+     */
+    @Getter
+    private static final EntityStore instance = new EntityStore();
+
+    /**
+     * The amount of slots in each page, as a power of two
+     */
+    private static final int PAGE_SHIFT = 10;
+    /**
+     * The amount of slots in each page
+     */
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    /**
+     * The mask of a slot's index in its page
+     */
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * Set while the slot holds an entity
+     */
+    public static final int ALIVE = 1;
+    /**
+     * Set while the entity is on the ground
+     */
+    public static final int ON_GROUND = 1 << 1;
+    /**
+     * Set if the entity is moved by the physics system
+     * rather than by a client
+     */
+    public static final int PHYSICS = 1 << 2;
+    /**
+     * The shift of the generation of a slot, which is held
+     * in the flags column above the flag bits
+     */
+    private static final int GENERATION_SHIFT = 8;
+
+    /**
+     * The number of fixed-point units in a block used by
+     * relative move packets
+     */
+    private static final double FIXED_SCALE = 32 * 128;
+    /**
+     * The bits in the result of a move which hold the
+     * deltas
+     */
+    public static final long MOVE_DELTA = (1L << 48) - 1;
+    /**
+     * The bit set in the result of a move if the look has
+     * changed
+     */
+    public static final long MOVE_LOOK = 1L << 48;
+    /**
+     * The bit set in the result of a move if the delta is
+     * too large for a relative move and the entity must be
+     * teleported instead
+     */
+    public static final long MOVE_TELEPORT = 1L << 49;
+
+    /**
+     * The downward acceleration applied each tick
+     */
+    private static final double GRAVITY = 0.08;
+    /**
+     * The factor by which vertical velocity decays each
+     * tick
+     */
+    private static final double DRAG = 0.98;
+    /**
+     * The factor by which horizontal velocity decays each
+     * tick in the air
+     */
+    private static final double AIR_FRICTION = 0.91;
+    /**
+     * The factor by which horizontal velocity decays each
+     * tick on the ground
+     */
+    private static final double GROUND_FRICTION = 0.6 * 0.91;
+
+    /**
+     * The columns for a page of entities.
+     */
+    private static final class Page {
+        private final AtomicIntegerArray seq = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicLongArray x = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray y = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray z = new AtomicLongArray(PAGE_SIZE);
+        // yaw and pitch float bits, high and low
+        private final AtomicLongArray look = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicReferenceArray<World> world = new AtomicReferenceArray<>(PAGE_SIZE);
+        // last position sent to clients, in fixed-point
+        private final AtomicLongArray fx = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray fy = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray fz = new AtomicLongArray(PAGE_SIZE);
+
+        private final AtomicLongArray vx = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray vy = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicLongArray vz = new AtomicLongArray(PAGE_SIZE);
+        // width and height float bits, high and low
+        private final AtomicLongArray box = new AtomicLongArray(PAGE_SIZE);
+        // generation, then flag bits
+        private final AtomicIntegerArray flags = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicIntegerArray id = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicReferenceArray<TridentEntity> handle = new AtomicReferenceArray<>(PAGE_SIZE);
+    }
+
+    /**
+     * The lock guarding slot allocation
+     */
+    private final Object lock = new Object();
+    /**
+     * The pages of entity columns
+     */
+    private volatile Page[] pages = new Page[0];
+    /**
+     * The amount of slots which have ever been allocated
+     */
+    private volatile int size;
+    /**
+     * Whether the {@link #PHYSICS} flag has ever been set,
+     * so that physics is not run over every page before
+     * any entity uses it
+     */
+    private volatile boolean physics;
+    /**
+     * The slots which have been freed, to be reused
+     */
+    @GuardedBy("lock")
+    private int[] free = new int[16];
+    /**
+     * The amount of free slots
+     */
+    @GuardedBy("lock")
+    private int freeCount;
+
+    private EntityStore() {
+    }
+
+    /**
+     * Allocates a slot for the given entity, whose
+     * generation may then be obtained using
+     * {@link #getGeneration(int)}.
+     *
+     * @param entity the entity
+     * @param world the world the entity is in
+     * @return the slot of the entity
+     */
+    public int allocate(TridentEntity entity, World world) {
+        return this.allocate(entity.getId(), entity, world);
+    }
+
+    /**
+     * Allocates a slot holding the given entity ID.
+     *
+     * @param id the entity ID
+     * @param entity the entity, or {@code null} if the slot
+     * has no handle
+     * @param world the world the entity is in
+     * @return the slot of the entity
+     */
+    int allocate(int id, TridentEntity entity, World world) {
+        synchronized (this.lock) {
+            int slot;
+            if (this.freeCount > 0) {
+                slot = this.free[--this.freeCount];
+            } else {
+                slot = this.size;
+                int pageIdx = slot >>> PAGE_SHIFT;
+                if (pageIdx == this.pages.length) {
+                    Page[] pages = Arrays.copyOf(this.pages, pageIdx + 1);
+                    pages[pageIdx] = new Page();
+                    this.pages = pages;
+                }
+                this.size = slot + 1;
+            }
+
+            Page page = this.pages[slot >>> PAGE_SHIFT];
+            int i = slot & PAGE_MASK;
+            // Writes through stale handles that passed their
+            // generation check finish before this lock is
+            // taken, so the reset always lands last
+            int seq = lockSeq(page, i);
+            page.world.lazySet(i, world);
+            page.x.lazySet(i, 0L);
+            page.y.lazySet(i, 0L);
+            page.z.lazySet(i, 0L);
+            page.look.lazySet(i, 0L);
+            page.fx.lazySet(i, 0L);
+            page.fy.lazySet(i, 0L);
+            page.fz.lazySet(i, 0L);
+            page.vx.lazySet(i, 0L);
+            page.vy.lazySet(i, 0L);
+            page.vz.lazySet(i, 0L);
+            page.box.lazySet(i, 0L);
+            page.id.lazySet(i, id);
+            page.handle.lazySet(i, entity);
+            page.flags.set(i, page.flags.get(i) & ~((1 << GENERATION_SHIFT) - 1) | ALIVE);
+            page.seq.lazySet(i, seq + 2);
+            return slot;
+        }
+    }
+
+    /**
+     * Frees the given slot so that it may be reused,
+     * advancing its generation so that every existing
+     * handle to it becomes dead.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @return {@code true} if the slot was freed,
+     * {@code false} if the handle was already dead
+     */
+    public boolean free(int slot, int generation) {
+        synchronized (this.lock) {
+            Page page = this.page(slot);
+            int i = slot & PAGE_MASK;
+            if (!isLive(page, i, generation)) {
+                return false;
+            }
+
+            page.handle.set(i, null);
+            page.flags.set(i, (generation + 1) << GENERATION_SHIFT);
+            page.world.set(i, null);
+            if (this.freeCount == this.free.length) {
+                this.free = Arrays.copyOf(this.free, this.freeCount * 2);
+            }
+            this.free[this.freeCount++] = slot;
+            return true;
+        }
+    }
+
+    /**
+     * Runs the given action for every entity in the store.
+     *
+     * @param action the action to run
+     */
+    public void forEach(Consumer<? super TridentEntity> action) {
+        // pages are published before size
+        int size = this.size;
+        Page[] pages = this.pages;
+        for (int slot = 0; slot < size; slot++) {
+            TridentEntity entity = pages[slot >>> PAGE_SHIFT].handle.get(slot & PAGE_MASK);
+            if (entity != null) {
+                action.accept(entity);
+            }
+        }
+    }
+
+    /**
+     * Obtains the current generation of the given slot.
+     *
+     * @param slot the slot
+     * @return the generation
+     */
+    public int getGeneration(int slot) {
+        return this.page(slot).flags.get(slot & PAGE_MASK) >>> GENERATION_SHIFT;
+    }
+
+    /**
+     * Determines whether a handle to the given slot and
+     * generation still refers to a live entity.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @return {@code true} if the slot has not been freed
+     * since the handle was allocated
+     */
+    public boolean isLive(int slot, int generation) {
+        return isLive(this.page(slot), slot & PAGE_MASK, generation);
+    }
+
+    private Page page(int slot) {
+        return this.pages[slot >>> PAGE_SHIFT];
+    }
+
+    private static boolean isLive(Page page, int i, int generation) {
+        // the generation only matches while the slot is
+        // alive, as freeing the slot advances it
+        return page.flags.get(i) >>> GENERATION_SHIFT == generation;
+    }
+
+    // Position --------------------------------------------
+
+    /**
+     * Obtains a copy of the position of the given slot.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @return the position, or {@code null} if the handle
+     * is dead
+     */
+    @Nullable
+    public Position getPosition(int slot, int generation) {
+        Page page = this.page(slot);
+        int i = slot & PAGE_MASK;
+        while (true) {
+            int seq = page.seq.get(i);
+            if ((seq & 1) == 0) {
+                if (!isLive(page, i, generation)) {
+                    return null;
+                }
+
+                World world = page.world.get(i);
+                long x = page.x.get(i);
+                long y = page.y.get(i);
+                long z = page.z.get(i);
+                long look = page.look.get(i);
+                if (page.seq.get(i) == seq) {
+                    Position position = new Position(world, longBitsToDouble(x), longBitsToDouble(y), longBitsToDouble(z));
+                    position.setYaw(intBitsToFloat((int) (look >>> 32)));
+                    position.setPitch(intBitsToFloat((int) look));
+                    return position;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains the world of the given slot.
+     *
+     * @param slot the slot
+     * @return the world
+     */
+    public World getWorld(int slot) {
+        return this.page(slot).world.get(slot & PAGE_MASK);
+    }
+
+    /**
+     * Obtains the x coordinate of the given slot.
+     *
+     * @param slot the slot
+     * @return the x coordinate
+     */
+    public double getX(int slot) {
+        return longBitsToDouble(this.page(slot).x.get(slot & PAGE_MASK));
+    }
+
+    /**
+     * Obtains the y coordinate of the given slot.
+     *
+     * @param slot the slot
+     * @return the y coordinate
+     */
+    public double getY(int slot) {
+        return longBitsToDouble(this.page(slot).y.get(slot & PAGE_MASK));
+    }
+
+    /**
+     * Obtains the z coordinate of the given slot.
+     *
+     * @param slot the slot
+     * @return the z coordinate
+     */
+    public double getZ(int slot) {
+        return longBitsToDouble(this.page(slot).z.get(slot & PAGE_MASK));
+    }
+
+    /**
+     * Obtains the yaw of the given slot.
+     *
+     * @param slot the slot
+     * @return the yaw
+     */
+    public float getYaw(int slot) {
+        return intBitsToFloat((int) (this.page(slot).look.get(slot & PAGE_MASK) >>> 32));
+    }
+
+    /**
+     * Obtains the pitch of the given slot.
+     *
+     * @param slot the slot
+     * @return the pitch
+     */
+    public float getPitch(int slot) {
+        return intBitsToFloat((int) this.page(slot).look.get(slot & PAGE_MASK));
+    }
+
+    /**
+     * Sets the position of the given slot, doing nothing
+     * if the handle is dead.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @param world the world
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @param yaw the yaw
+     * @param pitch the pitch
+     */
+    public void setPosition(int slot, int generation, World world, double x, double y, double z,
+                            float yaw, float pitch) {
+        Page page = this.page(slot);
+        int i = slot & PAGE_MASK;
+        int seq = lockSeq(page, i);
+        if (!isLive(page, i, generation)) {
+            page.seq.lazySet(i, seq + 2);
+            return;
+        }
+
+        page.world.lazySet(i, world);
+        page.x.lazySet(i, doubleToRawLongBits(x));
+        page.y.lazySet(i, doubleToRawLongBits(y));
+        page.z.lazySet(i, doubleToRawLongBits(z));
+        page.look.lazySet(i, packLook(yaw, pitch));
+        page.fx.lazySet(i, toFixed(x));
+        page.fy.lazySet(i, toFixed(y));
+        page.fz.lazySet(i, toFixed(z));
+        page.seq.lazySet(i, seq + 2);
+    }
+
+    /**
+     * Moves the given slot to a new position and computes
+     * the relative move to send to clients.
+     *
+     * <p>The result packs the x, y and z deltas as shorts
+     * in fixed-point units in bits 0-15, 16-31 and 32-47,
+     * which may be obtained using {@link #deltaX(long)},
+     * {@link #deltaY(long)} and {@link #deltaZ(long)}.
+     * {@link #MOVE_LOOK} is set if the look changed, and
+     * {@link #MOVE_TELEPORT} is set if a delta does not fit
+     * in a short or the world changed, in which case the
+     * deltas are zero. If the handle is dead, nothing is
+     * moved and the result is zero.</p>
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @param world the world
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @param yaw the yaw
+     * @param pitch the pitch
+     * @return the packed move
+     */
+    public long move(int slot, int generation, World world, double x, double y, double z,
+                     float yaw, float pitch) {
+        Page page = this.page(slot);
+        int i = slot & PAGE_MASK;
+        long look = packLook(yaw, pitch);
+        long nfx = toFixed(x);
+        long nfy = toFixed(y);
+        long nfz = toFixed(z);
+
+        int seq = lockSeq(page, i);
+        if (!isLive(page, i, generation)) {
+            page.seq.lazySet(i, seq + 2);
+            return 0L;
+        }
+
+        long dx = nfx - page.fx.get(i);
+        long dy = nfy - page.fy.get(i);
+        long dz = nfz - page.fz.get(i);
+        long result = page.look.get(i) != look ? MOVE_LOOK : 0L;
+        if (page.world.get(i) != world || dx != (short) dx || dy != (short) dy || dz != (short) dz) {
+            result |= MOVE_TELEPORT;
+        } else {
+            result |= dx & 0xFFFFL | (dy & 0xFFFFL) << 16 | (dz & 0xFFFFL) << 32;
+        }
+
+        page.world.lazySet(i, world);
+        page.x.lazySet(i, doubleToRawLongBits(x));
+        page.y.lazySet(i, doubleToRawLongBits(y));
+        page.z.lazySet(i, doubleToRawLongBits(z));
+        page.look.lazySet(i, look);
+        page.fx.lazySet(i, nfx);
+        page.fy.lazySet(i, nfy);
+        page.fz.lazySet(i, nfz);
+        page.seq.lazySet(i, seq + 2);
+        return result;
+    }
+
+    /**
+     * Obtains the x delta of a move.
+     *
+     * @param move the result of a move
+     * @return the x delta, in fixed-point units
+     */
+    public static short deltaX(long move) {
+        return (short) move;
+    }
+
+    /**
+     * Obtains the y delta of a move.
+     *
+     * @param move the result of a move
+     * @return the y delta, in fixed-point units
+     */
+    public static short deltaY(long move) {
+        return (short) (move >>> 16);
+    }
+
+    /**
+     * Obtains the z delta of a move.
+     *
+     * @param move the result of a move
+     * @return the z delta, in fixed-point units
+     */
+    public static short deltaZ(long move) {
+        return (short) (move >>> 32);
+    }
+
+    /**
+     * Converts a coordinate to protocol fixed-point units.
+     */
+    private static long toFixed(double coordinate) {
+        return (long) Math.floor(coordinate * FIXED_SCALE);
+    }
+
+    /**
+     * Packs the yaw and pitch into the look column format.
+     */
+    private static long packLook(float yaw, float pitch) {
+        return (long) floatToRawIntBits(yaw) << 32 | floatToRawIntBits(pitch) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Makes the sequence of the given slot odd so that the
+     * caller may write its position.
+     *
+     * @return the even sequence before locking
+     */
+    private static int lockSeq(Page page, int i) {
+        while (true) {
+            int seq = page.seq.get(i);
+            if ((seq & 1) == 0 && page.seq.compareAndSet(i, seq, seq + 1)) {
+                return seq;
+            }
+        }
+    }
+
+    // Velocity, bounds and flags --------------------------
+
+    /**
+     * Sets the velocity of the given slot, doing nothing
+     * if the handle is dead.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @param vx the x velocity
+     * @param vy the y velocity
+     * @param vz the z velocity
+     */
+    public void setVelocity(int slot, int generation, double vx, double vy, double vz) {
+        Page page = this.page(slot);
+        int i = slot & PAGE_MASK;
+        int seq = lockSeq(page, i);
+        if (isLive(page, i, generation)) {
+            page.vx.lazySet(i, doubleToRawLongBits(vx));
+            page.vy.lazySet(i, doubleToRawLongBits(vy));
+            page.vz.lazySet(i, doubleToRawLongBits(vz));
+        }
+        page.seq.lazySet(i, seq + 2);
+    }
+
+    /**
+     * Sets the bounding box of the given slot, doing
+     * nothing if the handle is dead.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @param width the width of the box
+     * @param height the height of the box
+     */
+    public void setBoundingBox(int slot, int generation, float width, float height) {
+        Page page = this.page(slot);
+        int i = slot & PAGE_MASK;
+        int seq = lockSeq(page, i);
+        if (isLive(page, i, generation)) {
+            page.box.lazySet(i, (long) floatToRawIntBits(width) << 32 | floatToRawIntBits(height) & 0xFFFFFFFFL);
+        }
+        page.seq.lazySet(i, seq + 2);
+    }
+
+    /**
+     * Obtains the width of the given slot's bounding box.
+     *
+     * @param slot the slot
+     * @return the width
+     */
+    public float getWidth(int slot) {
+        return intBitsToFloat((int) (this.page(slot).box.get(slot & PAGE_MASK) >>> 32));
+    }
+
+    /**
+     * Obtains the height of the given slot's bounding box.
+     *
+     * @param slot the slot
+     * @return the height
+     */
+    public float getHeight(int slot) {
+        return intBitsToFloat((int) this.page(slot).box.get(slot & PAGE_MASK));
+    }
+
+    /**
+     * Determines whether the given flag is set on a slot.
+     *
+     * @param slot the slot
+     * @param flag the flag
+     * @return {@code true} if the flag is set
+     */
+    public boolean hasFlag(int slot, int flag) {
+        return (this.page(slot).flags.get(slot & PAGE_MASK) & flag) != 0;
+    }
+
+    /**
+     * Sets or clears the given flag on a slot, doing
+     * nothing if the handle is dead.
+     *
+     * @param slot the slot
+     * @param generation the generation of the handle
+     * @param flag the flag
+     * @param set {@code true} to set the flag
+     */
+    public void setFlag(int slot, int generation, int flag, boolean set) {
+        if (set && (flag & PHYSICS) != 0) {
+            this.physics = true;
+        }
+
+        AtomicIntegerArray flags = this.page(slot).flags;
+        int i = slot & PAGE_MASK;
+        int old;
+        int next;
+        do {
+            old = flags.get(i);
+            // the generation is in the same word, so the CAS
+            // also fails if the slot is freed meanwhile
+            if (old >>> GENERATION_SHIFT != generation) {
+                return;
+            }
+            next = set ? old | flag : old & ~flag;
+        } while (old != next && !flags.compareAndSet(i, old, next));
+    }
+
+    // Physics ---------------------------------------------
+
+    /**
+     * Moves every entity with the {@link #PHYSICS} flag by
+     * its velocity and applies gravity and friction, one
+     * page per task on the given executor.
+     *
+     * <p>Entities are moved using
+     * {@link TridentEntity#move(World, double, double,
+     * double, float, float)}, so their viewers are sent the
+     * same relative moves or teleports as for any other
+     * move.</p>
+     *
+     * <p>The caller waits for every page to finish; the
+     * last page is run on the calling thread.</p>
+     *
+     * @param executor the executor to run pages on
+     */
+    public void tickPhysics(Executor executor) {
+        if (!this.physics) {
+            return;
+        }
+
+        Page[] pages = this.pages;
+        int count = Math.min(pages.length, (this.size + PAGE_MASK) >>> PAGE_SHIFT);
+        if (count == 0) {
+            return;
+        }
+
+        UncheckedCdl latch = new UncheckedCdl(count - 1);
+        for (int n = 0; n < count - 1; n++) {
+            int pageIdx = n;
+            executor.execute(() -> {
+                try {
+                    this.integrate(pageIdx, pages[pageIdx]);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        this.integrate(count - 1, pages[count - 1]);
+        latch.await();
+    }
+
+    /**
+     * Runs physics over a page of entities.
+     *
+     * @param pageIdx the index of the page
+     * @param page the page
+     */
+    private void integrate(int pageIdx, Page page) {
+        int moving = ALIVE | PHYSICS;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            if ((page.flags.get(i) & moving) != moving) {
+                continue;
+            }
+
+            // Recheck under the lock so that a slot freed and
+            // reallocated meanwhile is not moved
+            int seq = lockSeq(page, i);
+            int flags = page.flags.get(i);
+            if ((flags & moving) != moving) {
+                page.seq.lazySet(i, seq + 2);
+                continue;
+            }
+
+            boolean onGround = (flags & ON_GROUND) != 0;
+            double vx = longBitsToDouble(page.vx.get(i));
+            double vy = longBitsToDouble(page.vy.get(i));
+            double vz = longBitsToDouble(page.vz.get(i));
+            double x = longBitsToDouble(page.x.get(i)) + vx;
+            double y = longBitsToDouble(page.y.get(i)) + vy;
+            double z = longBitsToDouble(page.z.get(i)) + vz;
+            boolean moved = vx != 0 || vy != 0 || vz != 0;
+            long look = page.look.get(i);
+            World world = page.world.get(i);
+            // Read under the lock so that the handle matches
+            // the generation that was checked
+            TridentEntity entity = page.handle.get(i);
+
+            double friction = onGround ? GROUND_FRICTION : AIR_FRICTION;
+            page.vx.lazySet(i, doubleToRawLongBits(vx * friction));
+            page.vy.lazySet(i, doubleToRawLongBits(onGround ? Math.max(0, vy) : (vy - GRAVITY) * DRAG));
+            page.vz.lazySet(i, doubleToRawLongBits(vz * friction));
+            page.seq.lazySet(i, seq + 2);
+
+            if (!moved) {
+                continue;
+            }
+
+            // Move outside of the lock, which the move takes
+            // again to compute the deltas sent to viewers
+            float yaw = intBitsToFloat((int) (look >>> 32));
+            float pitch = intBitsToFloat((int) look);
+            if (entity != null) {
+                entity.move(world, x, y, z, yaw, pitch);
+            } else {
+                this.move(pageIdx << PAGE_SHIFT | i, flags >>> GENERATION_SHIFT, world, x, y, z, yaw, pitch);
+            }
+        }
+    }
+}
\ No newline at end of file
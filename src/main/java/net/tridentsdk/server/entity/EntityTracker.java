@@ -0,0 +1,214 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.entity;
+
+import lombok.Getter;
+import net.tridentsdk.server.packet.PacketOut;
+import net.tridentsdk.server.packet.play.PlayOutDestroyEntities;
+import net.tridentsdk.server.player.PlayerRegistry;
+import net.tridentsdk.server.player.TridentPlayer;
+import net.tridentsdk.world.World;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps track of which players can see each entity, sending
+ * spawn packets to players as entities come into their view
+ * and destroy packets as they leave it.
+ *
+ * <p>An entity is in view of a player if the chunk column
+ * that it is located in has been sent to that player, so
+ * the candidate viewers of an entity are the players in
+ * the columns within the view cap of the entity's column.
+ * Destroys are collected over a tick and sent to each
+ * player as a single packet.</p>
+ *
+ * <p>The viewers of an entity are only modified by the tick
+ * thread, and published to {@link TridentEntity#getViewers()}
+ * so that entity updates are only sent to players that can
+ * see the entity.</p>
+ */
+@ThreadSafe
+public final class EntityTracker {
+    /**
+     * The tracker for the entities on the server
+     */
+    @Getter
+    private static final EntityTracker instance = new EntityTracker();
+
+    /**
+     * Entities which have been removed and whose viewers
+     * must be sent a destroy
+     */
+    private final Queue<TridentEntity> removed = new ConcurrentLinkedQueue<>();
+    /**
+     * The destroys to send to each player this tick, only
+     * used by the tick thread
+     */
+    private final Map<TridentPlayer, DestroyBatch> destroys = new IdentityHashMap<>();
+    /**
+     * The spawn packet of the entity being updated, created
+     * for its first new viewer and only used by the tick
+     * thread
+     */
+    private PacketOut spawn;
+
+    private EntityTracker() {
+    }
+
+    /**
+     * The entity IDs to destroy for a single player.
+     */
+    private static final class DestroyBatch {
+        private int[] ids = new int[8];
+        private int count;
+
+        private void add(int id) {
+            if (this.count == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.count * 2);
+            }
+            this.ids[this.count++] = id;
+        }
+    }
+
+    /**
+     * Schedules the given removed entity to be destroyed
+     * for every player that can see it.
+     *
+     * @param entity the removed entity
+     */
+    public void untrack(TridentEntity entity) {
+        this.removed.add(entity);
+    }
+
+    /**
+     * Updates the viewers of every entity and sends the
+     * resulting spawn and destroy packets.
+     *
+     * <p>Must only be called from the tick thread.</p>
+     */
+    public void tick() {
+        TridentEntity entity;
+        while ((entity = this.removed.poll()) != null) {
+            for (TridentPlayer viewer : entity.viewerSet) {
+                this.destroy(viewer, entity);
+            }
+            entity.viewerSet.clear();
+            entity.viewers = TridentEntity.NO_VIEWERS;
+        }
+
+        EntityStore.getInstance().forEach(this::update);
+
+        for (Map.Entry<TridentPlayer, DestroyBatch> entry : this.destroys.entrySet()) {
+            DestroyBatch batch = entry.getValue();
+            entry.getKey().net().sendPacket(new PlayOutDestroyEntities(batch.ids, batch.count));
+        }
+        this.destroys.clear();
+    }
+
+    /**
+     * Updates the viewers of the given entity.
+     *
+     * @param entity the entity
+     */
+    private void update(TridentEntity entity) {
+        if (!entity.isTrackable()) {
+            return;
+        }
+
+        // Entities become visible the tick after they
+        // become trackable so that anything queued with them,
+        // such as tab list entries, is flushed first
+        if (!entity.trackReady) {
+            entity.trackReady = true;
+            return;
+        }
+
+        EntityStore store = EntityStore.getInstance();
+        int slot = entity.slot;
+        World world = store.getWorld(slot);
+        int cx = (int) Math.floor(store.getX(slot)) >> 4;
+        int cz = (int) Math.floor(store.getZ(slot)) >> 4;
+        boolean changed = false;
+
+        for (Iterator<TridentPlayer> it = entity.viewerSet.iterator(); it.hasNext(); ) {
+            TridentPlayer viewer = it.next();
+            if (!viewer.isInView(world, cx, cz)) {
+                it.remove();
+                this.destroy(viewer, entity);
+                changed = true;
+            }
+        }
+
+        // Scan whichever is smaller: the players in the
+        // world, or the columns that could see the entity
+        PlayerRegistry registry = PlayerRegistry.getInstance();
+        TridentPlayer[] inWorld = registry.inWorld(world);
+        int radius = TridentPlayer.getViewCap();
+        int side = 2 * radius + 1;
+        if (inWorld.length <= side * side) {
+            for (TridentPlayer viewer : inWorld) {
+                changed |= this.show(entity, viewer, world, cx, cz);
+            }
+        } else {
+            for (int x = cx - radius; x <= cx + radius; x++) {
+                for (int z = cz - radius; z <= cz + radius; z++) {
+                    for (TridentPlayer viewer : registry.inChunk(world, x, z)) {
+                        changed |= this.show(entity, viewer, world, cx, cz);
+                    }
+                }
+            }
+        }
+        this.spawn = null;
+
+        if (changed) {
+            entity.viewers = entity.viewerSet.toArray(new TridentPlayer[entity.viewerSet.size()]);
+        }
+    }
+
+    /**
+     * Spawns the given entity for the given player if it
+     * has come into the player's view.
+     *
+     * @return {@code true} if the player is a new viewer
+     */
+    private boolean show(TridentEntity entity, TridentPlayer viewer, World world, int cx, int cz) {
+        if (viewer == entity || !viewer.isInView(world, cx, cz) || !entity.viewerSet.add(viewer)) {
+            return false;
+        }
+
+        if (this.spawn == null) {
+            this.spawn = entity.getSpawnPacket();
+        }
+        viewer.net().sendPacket(this.spawn);
+        return true;
+    }
+
+    /**
+     * Adds the given entity to the destroys to send to the
+     * given player this tick.
+     */
+    private void destroy(TridentPlayer viewer, TridentEntity entity) {
+        this.destroys.computeIfAbsent(viewer, k -> new DestroyBatch()).add(entity.getId());
+    }
+}
\ No newline at end of file
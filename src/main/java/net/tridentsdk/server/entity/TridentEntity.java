@@ -17,7 +17,6 @@
 package net.tridentsdk.server.entity;
 
 import lombok.Getter;
-import lombok.Setter;
 import net.tridentsdk.base.Position;
 import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.concurrent.PoolSpec;
@@ -25,14 +24,17 @@ import net.tridentsdk.server.concurrent.ServerThreadPool;
 import net.tridentsdk.server.entity.meta.EntityMetaType;
 import net.tridentsdk.server.entity.meta.TridentEntityMeta;
 import net.tridentsdk.server.net.EntityMetadata;
+import net.tridentsdk.server.packet.PacketOut;
 import net.tridentsdk.server.packet.play.*;
 import net.tridentsdk.server.player.TridentPlayer;
 import net.tridentsdk.server.world.TridentWorld;
 import net.tridentsdk.world.World;
 
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.Collection;
+import java.lang.reflect.Constructor;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -44,6 +46,30 @@ public abstract class TridentEntity implements Entity {
      * The counter which produces the entity ID numbers
      */
     private static final AtomicInteger EID_COUNTER = new AtomicInteger();
+    /**
+     * The viewers of an entity which no player can see
+     */
+    static final TridentPlayer[] NO_VIEWERS = new TridentPlayer[0];
+    /**
+     * Cache of the metadata constructor of each entity
+     * class, to avoid reflecting for every new entity
+     */
+    private static final ClassValue<Constructor<? extends TridentEntityMeta>> META_CTORS =
+            new ClassValue<Constructor<? extends TridentEntityMeta>>() {
+                @Override
+                protected Constructor<? extends TridentEntityMeta> computeValue(Class<?> type) {
+                    EntityMetaType metaType = type.getAnnotation(EntityMetaType.class);
+                    if (metaType == null) {
+                        throw new RuntimeException(type + " doesn't have an EntityMetaType annotation!");
+                    }
+
+                    try {
+                        return metaType.value().getConstructor(EntityMetadata.class);
+                    } catch (NoSuchMethodException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
 
     // THREADING MECHANICS
     /**
@@ -64,16 +90,39 @@ public abstract class TridentEntity implements Entity {
     @Getter
     private final int id;
     /**
-     * The position at which this entity is located
+     * The slot holding this entity's state in the
+     * {@link EntityStore}
      */
-    @Getter
-    protected volatile Position position;
+    protected final int slot;
     /**
-     * Whether or not this entity is on the ground
+     * The generation of {@link #slot} that this entity
+     * was allocated at
      */
-    @Getter
-    @Setter
-    private volatile boolean onGround;
+    protected final int generation;
+    /**
+     * The position of this entity when it was removed, or
+     * {@code null} if it has not been removed
+     */
+    private volatile Position removedAt;
+    /**
+     * The store holding the state of this entity
+     */
+    protected final EntityStore store = EntityStore.getInstance();
+    /**
+     * The players which can see this entity, published by
+     * the {@link EntityTracker}
+     */
+    volatile TridentPlayer[] viewers = NO_VIEWERS;
+    /**
+     * The set of players which can see this entity, only
+     * used by the {@link EntityTracker} on the tick thread
+     */
+    final Set<TridentPlayer> viewerSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Whether the {@link EntityTracker} has seen this entity
+     * become trackable
+     */
+    boolean trackReady;
     /**
      * Entity Metadata
      */
@@ -87,56 +136,198 @@ public abstract class TridentEntity implements Entity {
      */
     public TridentEntity(World world, PoolSpec spec) {
         this.id = EID_COUNTER.incrementAndGet();
-        this.position = new Position(world);
         this.pool = ServerThreadPool.forSpec(spec);
 
-        EntityMetaType metaType = this.getClass().getAnnotation(EntityMetaType.class);
-        if (metaType == null) {
-            throw new RuntimeException(this.getClass() + " doesn't have an EntityMetaType annotation!");
-        }
-
         try {
-            this.metadata = metaType.value().getConstructor(EntityMetadata.class).newInstance(new EntityMetadata());
-        } catch (Exception e) {
+            this.metadata = META_CTORS.get(this.getClass()).newInstance(new EntityMetadata());
+        } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
+
+        this.slot = this.store.allocate(this, world);
+        this.generation = this.store.getGeneration(this.slot);
+    }
+
+    @Override
+    public Position getPosition() {
+        Position position = this.store.getPosition(this.slot, this.generation);
+        if (position == null) {
+            // the slot may now belong to another entity
+            Position last = this.removedAt;
+            position = new Position(last.world(), last.getX(), last.getY(), last.getZ());
+            position.setYaw(last.getYaw());
+            position.setPitch(last.getPitch());
+        }
+        return position;
+    }
+
+    /**
+     * Sets the position of this entity in the store
+     * without notifying other players of the move.
+     *
+     * @param position the new position
+     */
+    public void storePosition(Position position) {
+        this.store.setPosition(this.slot, this.generation, position.world(),
+                position.getX(), position.getY(), position.getZ(), position.getYaw(), position.getPitch());
+    }
+
+    /**
+     * Determines whether this entity is on the ground.
+     *
+     * @return {@code true} if the entity is on the ground
+     */
+    public boolean isOnGround() {
+        return this.store.hasFlag(this.slot, EntityStore.ON_GROUND);
+    }
+
+    /**
+     * Sets whether this entity is on the ground.
+     *
+     * @param onGround {@code true} if the entity is on the
+     * ground
+     */
+    public void setOnGround(boolean onGround) {
+        this.store.setFlag(this.slot, this.generation, EntityStore.ON_GROUND, onGround);
+    }
+
+    /**
+     * Sets the size of this entity's bounding box.
+     *
+     * @param width the width of the box
+     * @param height the height of the box
+     */
+    protected void setBoundingBox(float width, float height) {
+        this.store.setBoundingBox(this.slot, this.generation, width, height);
+    }
+
+    /**
+     * Sets whether this entity is moved by the server's
+     * physics rather than by its own updates.
+     *
+     * @param physics {@code true} to apply physics
+     */
+    protected void setPhysics(boolean physics) {
+        this.store.setFlag(this.slot, this.generation, EntityStore.PHYSICS, physics);
     }
 
     @Override
     public void setPosition(Position position) {
-        Position delta = position.clone().subtract(this.position);
-
-        if(delta.getX() != 0 || delta.getY() != 0 || delta.getZ() != 0) {
-            // TODO consider sending packet in a specified range
-            Collection<TridentPlayer> players = TridentPlayer.getPlayers().values();
-
-            if (Double.compare(this.position.getYaw(), position.getYaw()) == 0 || Double.compare(this.position.getPitch(), position.getPitch()) == 0){
-                PlayOutEntityLookAndRelativeMove lookAndRelativeMove = new PlayOutEntityLookAndRelativeMove(this, delta);
-                PlayOutEntityHeadLook headLook = new PlayOutEntityHeadLook(this);
-                players.stream().filter(p -> !p.equals(this)).forEach(p -> {
-                    p.net().sendPacket(lookAndRelativeMove);
-                    p.net().sendPacket(headLook);
-                });
-            } else {
-                PlayOutEntityRelativeMove packet = new PlayOutEntityRelativeMove(this, delta);
-                players.stream().filter(p -> !p.equals(this)).forEach(p -> p.net().sendPacket(packet));
-            }
+        this.move(position.world(), position.getX(), position.getY(), position.getZ(),
+                position.getYaw(), position.getPitch());
+    }
+
+    /**
+     * Moves this entity within its world without changing
+     * its look.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     */
+    public void move(double x, double y, double z) {
+        this.move(this.store.getWorld(this.slot), x, y, z,
+                this.store.getYaw(this.slot), this.store.getPitch(this.slot));
+    }
+
+    /**
+     * Changes the look of this entity without moving it.
+     *
+     * @param yaw the yaw
+     * @param pitch the pitch
+     */
+    public void look(float yaw, float pitch) {
+        this.move(this.store.getWorld(this.slot), this.store.getX(this.slot),
+                this.store.getY(this.slot), this.store.getZ(this.slot), yaw, pitch);
+    }
+
+    /**
+     * Moves this entity and notifies other players of the
+     * move using the smallest packet that describes it,
+     * falling back to a teleport if the entity moved too far
+     * for a relative move.
+     *
+     * @param world the world to move to
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @param yaw the yaw
+     * @param pitch the pitch
+     */
+    public void move(World world, double x, double y, double z, float yaw, float pitch) {
+        long move = this.store.move(this.slot, this.generation, world, x, y, z, yaw, pitch);
+        boolean look = (move & EntityStore.MOVE_LOOK) != 0;
+        boolean onGround = this.isOnGround();
+
+        PacketOut packet;
+        if ((move & EntityStore.MOVE_TELEPORT) != 0) {
+            packet = new PlayOutEntityTeleport(this.id, x, y, z, yaw, pitch, onGround);
+        } else if ((move & EntityStore.MOVE_DELTA) != 0) {
+            short dx = EntityStore.deltaX(move);
+            short dy = EntityStore.deltaY(move);
+            short dz = EntityStore.deltaZ(move);
+            packet = look ?
+                    new PlayOutEntityLookAndRelativeMove(this.id, dx, dy, dz, yaw, pitch, onGround) :
+                    new PlayOutEntityRelativeMove(this.id, dx, dy, dz, onGround);
+        } else if (look) {
+            packet = new PlayOutEntityLook(this.id, yaw, pitch, onGround);
+        } else {
+            return;
         }
 
-        this.position = position;
+        PlayOutEntityHeadLook headLook = look ? new PlayOutEntityHeadLook(this.id, yaw) : null;
+        for (TridentPlayer p : this.viewers) {
+            p.net().sendPacket(packet);
+            if (headLook != null) {
+                p.net().sendPacket(headLook);
+            }
+        }
     }
 
     @Override
     public TridentWorld getWorld() {
-        return (TridentWorld) this.position.world();
+        World world = this.store.getWorld(this.slot);
+        if (!this.store.isLive(this.slot, this.generation)) {
+            return (TridentWorld) this.removedAt.world();
+        }
+        return (TridentWorld) world;
+    }
+
+    /**
+     * Determines whether this entity has been removed.
+     *
+     * @return {@code true} if the entity has been removed
+     */
+    public boolean isRemoved() {
+        return !this.store.isLive(this.slot, this.generation);
     }
 
     @Override
     public final void remove() {
+        Position position = this.store.getPosition(this.slot, this.generation);
+        if (position == null) {
+            return;
+        }
+
+        this.removedAt = position;
+        if (!this.store.free(this.slot, this.generation)) {
+            return;
+        }
+
         this.doRemove();
+        EntityTracker.getInstance().untrack(this);
+    }
 
-        PlayOutDestroyEntities destroyEntities = new PlayOutDestroyEntities(Collections.singletonList(this));
-        TridentPlayer.getPlayers().values().stream().filter(player -> !player.equals(this)).forEach(p -> p.net().sendPacket(destroyEntities));
+    /**
+     * Obtains the players which can currently see this
+     * entity.
+     *
+     * <p>The returned array must not be modified.</p>
+     *
+     * @return the viewers
+     */
+    public TridentPlayer[] getViewers() {
+        return this.viewers;
     }
 
     /**
@@ -149,10 +340,39 @@ public abstract class TridentEntity implements Entity {
 
     @Override
     public void updateMetadata() {
-        PlayOutEntityMetadata packet = new PlayOutEntityMetadata(this);
-        TridentPlayer.getPlayers().values().forEach(p -> p.net().sendPacket(packet));
+        long changed = this.metadata.getMetadata().takeDirty();
+        if (changed == 0) {
+            return;
+        }
+
+        PlayOutEntityMetadata packet = new PlayOutEntityMetadata(this, changed);
+        if (this instanceof TridentPlayer) {
+            ((TridentPlayer) this).net().sendPacket(packet);
+        }
+        for (TridentPlayer p : this.viewers) {
+            p.net().sendPacket(packet);
+        }
+    }
+
+    /**
+     * Determines whether this entity may be shown to
+     * players.
+     *
+     * @return {@code true} if the entity may be spawned for
+     * players that can see it
+     */
+    protected boolean isTrackable() {
+        return true;
     }
 
+    /**
+     * Creates the packet which spawns this entity for a
+     * player.
+     *
+     * @return the spawn packet
+     */
+    public abstract PacketOut getSpawnPacket();
+
     /**
      * Removal hook.
      */
@@ -118,7 +118,7 @@ public class TridentEntityMeta implements EntityMeta {
 
     @Override
     public void setAir(int air) {
-        this.metadata.get(1).set(air);
+        this.metadata.get(1).setInt(air);
     }
 
     @Override
@@ -138,7 +138,7 @@ public class TridentEntityMeta implements EntityMeta {
 
     @Override
     public void setCustomNameVisible(boolean visible) {
-        this.metadata.get(3).set(visible);
+        this.metadata.get(3).setBoolean(visible);
     }
 
     @Override
@@ -148,7 +148,7 @@ public class TridentEntityMeta implements EntityMeta {
 
     @Override
     public void setSilent(boolean silent) {
-        this.metadata.get(4).set(silent);
+        this.metadata.get(4).setBoolean(silent);
     }
 
     @Override
@@ -158,6 +158,6 @@ public class TridentEntityMeta implements EntityMeta {
 
     @Override
     public void setNoGravity(boolean noGravity) {
-        this.metadata.get(5).set(noGravity);
+        this.metadata.get(5).setBoolean(noGravity);
     }
 }
\ No newline at end of file
@@ -64,7 +64,7 @@ public class TridentLivingEntityMeta extends TridentEntityMeta implements Living
 
     @Override
     public void setHealth(float health) {
-        this.getMetadata().get(7).set(health);
+        this.getMetadata().get(7).setFloat(health);
     }
 
     @Override
@@ -74,7 +74,7 @@ public class TridentLivingEntityMeta extends TridentEntityMeta implements Living
 
     @Override
     public void setPotionEffectColor(int potionEffectColor) {
-        this.getMetadata().get(8).set(potionEffectColor);
+        this.getMetadata().get(8).setInt(potionEffectColor);
     }
 
     @Override
@@ -84,7 +84,7 @@ public class TridentLivingEntityMeta extends TridentEntityMeta implements Living
 
     @Override
     public void setPotionEffectAmbient(boolean ambient) {
-        this.getMetadata().get(9).set(ambient);
+        this.getMetadata().get(9).setBoolean(ambient);
     }
 
     @Override
@@ -94,7 +94,7 @@ public class TridentLivingEntityMeta extends TridentEntityMeta implements Living
 
     @Override
     public void setNumberOfArrowsInEntity(int arrows) {
-        this.getMetadata().get(10).set(arrows);
+        this.getMetadata().get(10).setInt(arrows);
     }
 
 }
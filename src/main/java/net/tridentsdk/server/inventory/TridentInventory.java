@@ -17,21 +17,69 @@
 package net.tridentsdk.server.inventory;
 
 import lombok.Getter;
+import net.tridentsdk.base.Substance;
 import net.tridentsdk.chat.ChatComponent;
 import net.tridentsdk.inventory.Inventory;
 import net.tridentsdk.inventory.InventoryType;
 import net.tridentsdk.inventory.Item;
+import net.tridentsdk.meta.ItemMeta;
+import net.tridentsdk.meta.nbt.TagCompound;
+import net.tridentsdk.server.packet.play.PlayOutSetSlot;
+import net.tridentsdk.server.packet.play.PlayOutWindowItems;
+import net.tridentsdk.server.player.TridentPlayer;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implementation of an arbitrary inventory.
+ *
+ * <p>The stack in each slot is packed into a single long
+ * holding the substance ID, count and damage, with item
+ * meta held in a side table, so that no item objects are
+ * kept for the stacks in an inventory. Slots are read
+ * without locking and written under one of several locks
+ * striped by slot index.</p>
+ *
+ * <p>Changed slots are marked in a bitset and sent to the
+ * viewers of the inventory once per tick by
+ * {@link #flushAll()}, as a packet per slot if only a few
+ * slots have changed, or as a single packet containing
+ * every slot otherwise. Each viewer is sent the changes
+ * under the window ID that it assigned to this inventory
+ * when opening it.</p>
  */
-@ThreadSafe // TODO
+@ThreadSafe
 public class TridentInventory implements Inventory {
     /**
-     * Inventory type
+     * The inventories which have changed slots to send
+     */
+    private static final Queue<TridentInventory> DIRTY = new ConcurrentLinkedQueue<>();
+    /**
+     * The amount of slots in a player's own inventory,
+     * including the crafting grid, armor and offhand
+     */
+    public static final int PLAYER_SLOTS = 46;
+    /**
+     * The number of locks which slot writes are striped
+     * over, as a power of two
+     */
+    private static final int STRIPES = 16;
+    /**
+     * The maximum amount of items in a stack
+     */
+    public static final int MAX_STACK = 64;
+
+    /**
+     * Inventory type, or {@code null} for a player's own
+     * inventory
      */
     @Getter
     private final InventoryType type;
@@ -40,6 +88,36 @@ public class TridentInventory implements Inventory {
      */
     @Getter
     private final int size;
+    /**
+     * The inventory title
+     */
+    private volatile ChatComponent title;
+
+    /**
+     * The packed stack in each slot, or 0 if empty
+     */
+    private final AtomicLongArray stacks;
+    /**
+     * The meta of the stack in each slot, if any
+     */
+    private final AtomicReferenceArray<ItemMeta> meta;
+    /**
+     * The locks guarding writes to the slots
+     */
+    private final Object[] locks = new Object[STRIPES];
+    /**
+     * The bitset of slots which changed since the last
+     * flush
+     */
+    private final AtomicLongArray changed;
+    /**
+     * Whether this inventory is queued to be flushed
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    /**
+     * The players which are viewing this inventory
+     */
+    private final Set<TridentPlayer> viewers = new CopyOnWriteArraySet<>();
 
     /**
      * Constructs a new inventory with the given type and
@@ -52,36 +130,334 @@ public class TridentInventory implements Inventory {
     public TridentInventory(InventoryType type, int size) {
         this.type = type;
         this.size = size;
+        this.stacks = new AtomicLongArray(size);
+        this.meta = new AtomicReferenceArray<>(size);
+        this.changed = new AtomicLongArray((size + 63) >>> 6);
+        for (int i = 0; i < STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Creates the inventory held by a player, which is
+     * always shown in window 0 and has no window type.
+     *
+     * @return the new inventory
+     */
+    public static TridentInventory forPlayer() {
+        return new TridentInventory(null, PLAYER_SLOTS);
+    }
+
+    // Packing ---------------------------------------------
+
+    /**
+     * Packs a stack into the format held by each slot.
+     *
+     * @param id the substance ID
+     * @param count the amount of items
+     * @param damage the item damage
+     * @return the packed stack, or 0 if the stack is empty
+     */
+    public static long pack(int id, int count, int damage) {
+        if (id == 0 || count <= 0) {
+            return 0L;
+        }
+        return (long) (id & 0xFFFF) << 32 | (count & 0xFF) << 16 | damage & 0xFFFF;
+    }
+
+    /**
+     * Obtains the substance ID of a packed stack.
+     *
+     * @param stack the packed stack
+     * @return the substance ID, or -1 if the stack is empty
+     */
+    public static int idOf(long stack) {
+        return stack == 0 ? -1 : (int) (stack >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Obtains the amount of items in a packed stack.
+     *
+     * @param stack the packed stack
+     * @return the amount of items
+     */
+    public static int countOf(long stack) {
+        return (int) (stack >>> 16) & 0xFF;
+    }
+
+    /**
+     * Obtains the damage of a packed stack.
+     *
+     * @param stack the packed stack
+     * @return the damage
+     */
+    public static int damageOf(long stack) {
+        return (short) stack;
     }
 
+    private static Item toItem(long stack, int count, ItemMeta meta) {
+        return new TridentItem(Substance.fromNumericId(idOf(stack)), count, (byte) damageOf(stack), meta);
+    }
+
+    // Slots -----------------------------------------------
+
+    private Object lock(int slot) {
+        return this.locks[slot & STRIPES - 1];
+    }
+
+    /**
+     * Sets the stack in a slot, the lock for which must be
+     * held by the caller.
+     */
+    private void set(int slot, long stack, ItemMeta meta) {
+        this.meta.set(slot, stack == 0 ? null : meta);
+        this.stacks.set(slot, stack);
+
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        long bits;
+        do {
+            bits = this.changed.get(word);
+            if ((bits & bit) != 0) {
+                break;
+            }
+        } while (!this.changed.compareAndSet(word, bits, bits | bit));
+
+        if (this.dirty.compareAndSet(false, true)) {
+            DIRTY.add(this);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Items are first added to existing stacks of the same
+     * item and then to empty slots. Stacks with meta are
+     * never merged. As many items as fit are added even if
+     * not all of them do.</p>
+     */
     @Override
     public boolean add(Item item, int quantity) {
-        return false;
+        int id = item.getSubstance().getId();
+        int damage = item.getDamage();
+        ItemMeta meta = item.getMeta();
+        int remaining = quantity;
+
+        if (meta == null) {
+            for (int slot = 0; slot < this.size && remaining > 0; slot++) {
+                long stack = this.stacks.get(slot);
+                if (idOf(stack) != id || damageOf(stack) != damage || countOf(stack) >= MAX_STACK) {
+                    continue;
+                }
+
+                synchronized (this.lock(slot)) {
+                    stack = this.stacks.get(slot);
+                    int count = countOf(stack);
+                    if (idOf(stack) == id && damageOf(stack) == damage && count < MAX_STACK
+                            && this.meta.get(slot) == null) {
+                        int added = Math.min(remaining, MAX_STACK - count);
+                        this.set(slot, pack(id, count + added, damage), null);
+                        remaining -= added;
+                    }
+                }
+            }
+        }
+
+        for (int slot = 0; slot < this.size && remaining > 0; slot++) {
+            if (this.stacks.get(slot) != 0) {
+                continue;
+            }
+
+            synchronized (this.lock(slot)) {
+                if (this.stacks.get(slot) == 0) {
+                    int added = Math.min(remaining, MAX_STACK);
+                    this.set(slot, pack(id, added, damage), meta);
+                    remaining -= added;
+                }
+            }
+        }
+
+        return remaining <= 0;
     }
 
+    @Nullable
     @Override
     public Item add(int slot, Item item, int quantity) {
-        return null;
+        long stack = pack(item.getSubstance().getId(), Math.min(quantity, MAX_STACK), item.getDamage());
+        synchronized (this.lock(slot)) {
+            long old = this.stacks.get(slot);
+            ItemMeta oldMeta = this.meta.get(slot);
+            this.set(slot, stack, item.getMeta());
+            return old == 0 ? null : toItem(old, countOf(old), oldMeta);
+        }
     }
 
     @Nullable
     @Override
     public Item remove(int slot, int quantity) {
-        return null;
+        synchronized (this.lock(slot)) {
+            long stack = this.stacks.get(slot);
+            if (stack == 0 || quantity <= 0) {
+                return null;
+            }
+
+            int count = countOf(stack);
+            int removed = Math.min(quantity, count);
+            ItemMeta meta = this.meta.get(slot);
+            this.set(slot, pack(idOf(stack), count - removed, damageOf(stack)), meta);
+            return toItem(stack, removed, meta);
+        }
     }
 
     @Nullable
     @Override
     public Item get(int slot) {
-        return null;
+        long stack;
+        ItemMeta meta;
+        // Read both under the lock so that the stack and
+        // meta are from the same set
+        synchronized (this.lock(slot)) {
+            stack = this.stacks.get(slot);
+            meta = this.meta.get(slot);
+        }
+
+        return stack == 0 ? null : toItem(stack, countOf(stack), meta);
     }
 
     @Override
     public ChatComponent getTitle() {
-        return null;
+        return this.title;
     }
 
     @Override
     public void setTitle(ChatComponent title) {
+        this.title = title;
+    }
+
+    // Viewers ---------------------------------------------
+
+    /**
+     * Adds the given player as a viewer of this inventory
+     * and sends it every slot, after the player has
+     * assigned this inventory a window.
+     *
+     * <p>This is called by {@link TridentPlayer} when it
+     * opens a window; use
+     * {@link TridentPlayer#openWindow(TridentInventory)}
+     * to show an inventory to a player.</p>
+     *
+     * @param player the player
+     */
+    public void addViewer(TridentPlayer player) {
+        int windowId = player.getWindowId(this);
+        if (windowId >= 0 && this.viewers.add(player)) {
+            long[] stacks = new long[this.size];
+            TagCompound[] nbt = new TagCompound[this.size];
+            this.snapshot(stacks, nbt);
+            player.net().sendPacket(new PlayOutWindowItems(windowId, stacks, nbt));
+        }
+    }
+
+    /**
+     * Removes the given player from the viewers of this
+     * inventory after its window is closed.
+     *
+     * @param player the player
+     */
+    public void removeViewer(TridentPlayer player) {
+        this.viewers.remove(player);
+    }
+
+    /**
+     * Copies every slot of this inventory into the given
+     * arrays.
+     */
+    private void snapshot(long[] stacks, TagCompound[] nbt) {
+        for (int slot = 0; slot < this.size; slot++) {
+            synchronized (this.lock(slot)) {
+                stacks[slot] = this.stacks.get(slot);
+                ItemMeta meta = this.meta.get(slot);
+                nbt[slot] = meta == null ? null : meta.toNbt();
+            }
+        }
+    }
+
+    /**
+     * Sends the changed slots of every inventory to their
+     * viewers.
+     */
+    public static void flushAll() {
+        TridentInventory inventory;
+        while ((inventory = DIRTY.poll()) != null) {
+            inventory.dirty.set(false);
+            inventory.flush();
+        }
+    }
+
+    /**
+     * Sends the slots changed since the last flush to the
+     * viewers of this inventory.
+     */
+    private void flush() {
+        long[] changed = new long[this.changed.length()];
+        int count = 0;
+        for (int i = 0; i < changed.length; i++) {
+            if (this.changed.get(i) != 0) {
+                changed[i] = this.changed.getAndSet(i, 0);
+                count += Long.bitCount(changed[i]);
+            }
+        }
+
+        if (count == 0 || this.viewers.isEmpty()) {
+            return;
+        }
+
+        // Past half of the slots, a single packet is smaller
+        if (count * 2 > this.size) {
+            long[] stacks = new long[this.size];
+            TagCompound[] nbt = new TagCompound[this.size];
+            this.snapshot(stacks, nbt);
+
+            // Viewers usually share a window ID, so reuse the
+            // packet until the ID changes
+            PlayOutWindowItems packet = null;
+            int packetWindow = -1;
+            for (TridentPlayer player : this.viewers) {
+                int windowId = player.getWindowId(this);
+                if (windowId < 0) {
+                    continue;
+                }
+                if (windowId != packetWindow) {
+                    packet = new PlayOutWindowItems(windowId, stacks, nbt);
+                    packetWindow = windowId;
+                }
+                player.net().sendPacket(packet);
+            }
+            return;
+        }
+
+        for (int i = 0; i < changed.length; i++) {
+            long bits = changed[i];
+            while (bits != 0) {
+                int slot = i << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                long stack;
+                ItemMeta meta;
+                synchronized (this.lock(slot)) {
+                    stack = this.stacks.get(slot);
+                    meta = this.meta.get(slot);
+                }
+
+                TagCompound nbt = meta == null ? null : meta.toNbt();
+                for (TridentPlayer player : this.viewers) {
+                    int windowId = player.getWindowId(this);
+                    if (windowId >= 0) {
+                        player.net().sendPacket(new PlayOutSetSlot(windowId, slot, idOf(stack), countOf(stack),
+                                damageOf(stack), nbt));
+                    }
+                }
+            }
+        }
     }
 }
\ No newline at end of file
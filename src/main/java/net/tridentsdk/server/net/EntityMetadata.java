@@ -19,44 +19,87 @@ package net.tridentsdk.server.net;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import io.netty.buffer.ByteBuf;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.tridentsdk.base.BlockDirection;
 import net.tridentsdk.base.Vector;
 import net.tridentsdk.chat.ChatComponent;
 
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * The metadata of an entity, held as a fixed array of typed
+ * slots indexed by the metadata index.
+ *
+ * <p>Each change to an item marks its index in a dirty
+ * bitmask so that update packets only need to contain the
+ * items which changed since the last update, while spawn
+ * packets write every item.</p>
+ *
  * @author TridentSDK
  * @since 0.5-alpha
  */
 @ThreadSafe
 public class EntityMetadata {
-    private final List<EntityMetadataItem> items = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The maximum number of metadata indexes, limited by the
+     * width of the dirty mask
+     */
+    public static final int MAX_ITEMS = Long.SIZE;
+
+    /**
+     * The metadata items, indexed by metadata index
+     */
+    private final AtomicReferenceArray<EntityMetadataItem> items = new AtomicReferenceArray<>(MAX_ITEMS);
+    /**
+     * The bitmask of indexes which changed since the last
+     * call to {@link #takeDirty()}
+     */
+    private final AtomicLong dirty = new AtomicLong();
 
     public EntityMetadataItem get(int x) {
         return this.items.get(x);
     }
 
-    public void add(EntityMetadataItem item) {
-        this.items.add(item);
+    public void add(int index, EntityMetadataType type, Object value) {
+        EntityMetadataItem item = new EntityMetadataItem(this, index, type);
+        item.store(value);
+        this.items.set(index, item);
+    }
+
+    /**
+     * Marks the given index as changed.
+     *
+     * @param index the metadata index
+     */
+    private void markDirty(int index) {
+        long bit = 1L << index;
+        long mask;
+        do {
+            mask = this.dirty.get();
+            if ((mask & bit) != 0) {
+                return;
+            }
+        } while (!this.dirty.compareAndSet(mask, mask | bit));
     }
 
-    public void add(int index, EntityMetadataType type, Object value) {
-        this.items.add(new EntityMetadataItem(index, type, new AtomicReference<>(type.cast(value))));
+    /**
+     * Obtains and clears the mask of indexes which changed
+     * since the last time this method was called.
+     *
+     * @return the dirty mask
+     */
+    public long takeDirty() {
+        return this.dirty.get() == 0 ? 0 : this.dirty.getAndSet(0);
     }
 
     public void read(ByteBuf buf) {
-        List<EntityMetadataItem> items = new ArrayList<>();
         short id;
         while ((id = buf.readUnsignedByte()) != 0xFF) {
-            EntityMetadataType type = EntityMetadataType.values()[id];
+            EntityMetadataType type = EntityMetadataType.values()[buf.readUnsignedByte()];
             Object value = null;
             switch (type) {
                 case BYTE:
@@ -119,91 +162,146 @@ public class EntityMetadata {
                     break;
             }
             if (value != null) {
-                items.add(new EntityMetadataItem(id, type, new AtomicReference<>(value)));
+                this.add(id, type, value);
             }
         }
-        this.items.clear();
-        this.items.addAll(items);
     }
 
+    /**
+     * Writes every metadata item, such as when spawning the
+     * entity.
+     *
+     * @param buf the buffer to write to
+     */
     public void write(ByteBuf buf) {
-        List<EntityMetadataItem> items = this.items;
+        this.write(buf, -1L);
+    }
 
-        for (EntityMetadataItem item : items) {
-            buf.writeByte(item.index);
-            buf.writeByte(item.type.id);
+    /**
+     * Writes the metadata items whose indexes are set in the
+     * given mask.
+     *
+     * @param buf the buffer to write to
+     * @param mask the indexes to write
+     */
+    public void write(ByteBuf buf, long mask) {
+        while (mask != 0) {
+            int index = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
 
-            switch (item.type) {
-                case BYTE:
-                    buf.writeByte((byte) item.value.get());
-                    break;
-                case VARINT:
-                    NetData.wvint(buf, (int) item.value.get());
-                    break;
-                case FLOAT:
-                    buf.writeFloat((float) item.value.get());
-                    break;
-                case STRING:
-                    NetData.wstr(buf, item.value.toString());
-                    break;
-                case SLOT:
-                    ((Slot) item.value.get()).write(buf);
-                    break;
-                case BOOLEAN:
-                    buf.writeBoolean((Boolean) item.value.get());
-                    break;
-                case ROTATION:
-                    Vector rv = (Vector) item.value.get();
-                    buf.writeFloat((float) rv.getX());
-                    buf.writeFloat((float) rv.getY());
-                    buf.writeFloat((float) rv.getZ());
-                    break;
-                case POSITION:
-                    Vector pv = (Vector) item.value.get();
-                    NetData.wvec(buf, pv);
-                    break;
-                case OPTPOSITION:
-                    Vector opv = (Vector) item.value.get();
-                    if (opv != null) {
-                        NetData.wvec(buf, opv);
-                    }
-                    break;
-                case DIRECTION:
-                    NetData.wvint(buf, ((BlockDirection) item.value.get()).getMinecraftDirection());
-                    break;
-                case OPTUUID:
-                    UUID uuid = (UUID) item.value.get();
-                    if (uuid != null) {
-                        buf.writeLong(uuid.getMostSignificantBits());
-                        buf.writeLong(uuid.getLeastSignificantBits());
-                    }
-                    break;
-                case BLOCKID:
-                    int[] blockIdData = (int[]) item.value.get();
-                    NetData.wvint(buf, blockIdData[0] << 4 | blockIdData[1]);
-                    break;
+            EntityMetadataItem item = this.items.get(index);
+            if (item != null) {
+                item.write(buf);
             }
         }
         buf.writeByte(0xFF);
     }
 
-    @Getter
-    @AllArgsConstructor
+    /**
+     * A typed slot holding the value of a metadata index.
+     *
+     * <p>Bytes, ints, floats and booleans are held as bits in
+     * a primitive field so that they may be updated without
+     * boxing; other types are held by reference.</p>
+     */
+    @ThreadSafe
     public static final class EntityMetadataItem {
+        private static final AtomicLongFieldUpdater<EntityMetadataItem> BITS =
+                AtomicLongFieldUpdater.newUpdater(EntityMetadataItem.class, "bits");
+
+        private final EntityMetadata owner;
+        @Getter
         private final int index;
+        @Getter
         private final EntityMetadataType type;
-        private final AtomicReference<Object> value;
+        private volatile long bits;
+        private volatile Object ref;
+
+        private EntityMetadataItem(EntityMetadata owner, int index, EntityMetadataType type) {
+            this.owner = owner;
+            this.index = index;
+            this.type = type;
+        }
+
+        /**
+         * Determines whether this item holds its value as
+         * primitive bits rather than by reference.
+         */
+        private boolean isPrimitive() {
+            switch (this.type) {
+                case BYTE:
+                case VARINT:
+                case FLOAT:
+                case BOOLEAN:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Converts a value of a primitive type to its bits.
+         */
+        private long toBits(Object value) {
+            switch (this.type) {
+                case FLOAT:
+                    return Float.floatToRawIntBits(((Number) value).floatValue());
+                case BOOLEAN:
+                    return (boolean) this.type.cast(value) ? 1 : 0;
+                default:
+                    return ((Number) value).intValue();
+            }
+        }
+
+        /**
+         * Stores the given value without marking the item as
+         * changed.
+         */
+        private void store(Object value) {
+            if (this.isPrimitive()) {
+                this.bits = this.toBits(value);
+            } else {
+                this.ref = this.type.cast(value);
+            }
+        }
+
+        private void setBits(long bits) {
+            if (BITS.getAndSet(this, bits) != bits) {
+                this.owner.markDirty(this.index);
+            }
+        }
 
         public void set(Object value) {
-            this.value.set(this.type.cast(value));
+            if (this.isPrimitive()) {
+                this.setBits(this.toBits(value));
+            } else {
+                this.ref = this.type.cast(value);
+                this.owner.markDirty(this.index);
+            }
+        }
+
+        public void setByte(byte value) {
+            this.setBits(value);
+        }
+
+        public void setInt(int value) {
+            this.setBits(value);
+        }
+
+        public void setFloat(float value) {
+            this.setBits(Float.floatToRawIntBits(value));
+        }
+
+        public void setBoolean(boolean value) {
+            this.setBits(value ? 1 : 0);
         }
 
         public byte asByte() {
-            return (byte) this.value.get();
+            return (byte) this.bits;
         }
 
         public int asInt() {
-            return (int) this.value.get();
+            return (int) this.bits;
         }
 
         public boolean asBit(int x) {
@@ -211,10 +309,10 @@ public class EntityMetadata {
         }
 
         public void setBit(int x, boolean value) {
-            byte val;
-            byte newVal;
+            long val;
+            long newVal;
             do {
-                val = newVal = (byte) this.value.get();
+                val = newVal = this.bits;
                 if ((val & (1 << x)) != 0 == value)
                     return;
 
@@ -223,43 +321,104 @@ public class EntityMetadata {
                 } else {
                     newVal &= ~(1 << x);
                 }
-            } while (!this.value.compareAndSet(val, newVal));
+            } while (!BITS.compareAndSet(this, val, newVal));
+            this.owner.markDirty(this.index);
         }
 
         public float asFloat() {
-            return (float) this.value.get();
+            return Float.intBitsToFloat((int) this.bits);
         }
 
         public String asString() {
-            return (String) this.value.get();
+            return (String) this.ref;
         }
 
         public ChatComponent asChatComponent() {
-            return (ChatComponent) this.value.get();
+            Object value = this.ref;
+            return value instanceof ChatComponent ? (ChatComponent) value :
+                    ChatComponent.fromJson(new Gson().fromJson(value.toString(), JsonObject.class));
         }
 
         public boolean asBoolean() {
-            return (boolean) this.value.get();
+            return this.bits != 0;
         }
 
         public Vector asRotation() {
-            return (Vector) this.value.get();
+            return (Vector) this.ref;
         }
 
         public Vector asPosition() {
-            return (Vector) this.value.get();
+            return (Vector) this.ref;
         }
 
         public BlockDirection asDirection() {
-            return (BlockDirection) this.value.get();
+            return (BlockDirection) this.ref;
         }
 
         public UUID asUUID() {
-            return (UUID) this.value.get();
+            return (UUID) this.ref;
         }
 
         public int[] asBlockId() {
-            return (int[]) this.value.get();
+            return (int[]) this.ref;
+        }
+
+        private void write(ByteBuf buf) {
+            buf.writeByte(this.index);
+            buf.writeByte(this.type.id);
+
+            switch (this.type) {
+                case BYTE:
+                    buf.writeByte(this.asByte());
+                    break;
+                case VARINT:
+                    NetData.wvint(buf, this.asInt());
+                    break;
+                case FLOAT:
+                    buf.writeFloat(this.asFloat());
+                    break;
+                case STRING:
+                case CHAT:
+                    NetData.wstr(buf, this.ref.toString());
+                    break;
+                case SLOT:
+                    ((Slot) this.ref).write(buf);
+                    break;
+                case BOOLEAN:
+                    buf.writeBoolean(this.asBoolean());
+                    break;
+                case ROTATION:
+                    Vector rv = (Vector) this.ref;
+                    buf.writeFloat((float) rv.getX());
+                    buf.writeFloat((float) rv.getY());
+                    buf.writeFloat((float) rv.getZ());
+                    break;
+                case POSITION:
+                    NetData.wvec(buf, (Vector) this.ref);
+                    break;
+                case OPTPOSITION:
+                    Vector opv = (Vector) this.ref;
+                    buf.writeBoolean(opv != null);
+                    if (opv != null) {
+                        NetData.wvec(buf, opv);
+                    }
+                    break;
+                case DIRECTION:
+                    NetData.wvint(buf, ((BlockDirection) this.ref).getMinecraftDirection());
+                    break;
+                case OPTUUID:
+                    UUID uuid = (UUID) this.ref;
+                    buf.writeBoolean(uuid != null);
+                    if (uuid != null) {
+                        buf.writeLong(uuid.getMostSignificantBits());
+                        buf.writeLong(uuid.getLeastSignificantBits());
+                    }
+                    break;
+                case BLOCKID:
+                    int[] blockIdData = (int[]) this.ref;
+                    NetData.wvint(buf, blockIdData[0] << 4 | blockIdData[1]);
+                    break;
+            }
         }
     }
 
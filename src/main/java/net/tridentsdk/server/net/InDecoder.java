@@ -20,7 +20,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import net.tridentsdk.command.logger.Logger;
-import net.tridentsdk.server.TridentServer;
+import net.tridentsdk.server.command.InfoLogger;
 import net.tridentsdk.server.packet.Packet;
 import net.tridentsdk.server.packet.PacketIn;
 import net.tridentsdk.server.packet.PacketRegistry;
@@ -46,10 +46,6 @@ public class InDecoder extends ByteToMessageDecoder {
      * The packet inflater used for uncompressing packets
      */
     private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
-    /**
-     * Obtains the configured compression threshold.
-     */
-    public static final int COMPRESSION_THRESH = TridentServer.cfg().compressionThresh();
 
     /**
      * The net client which holds this channel handler
@@ -84,7 +80,7 @@ public class InDecoder extends ByteToMessageDecoder {
         if (this.client.doCompression()) {
             rvint(decrypt); // toss full packet length
             int compressedLen = rvint(decrypt);
-            if (compressedLen > COMPRESSION_THRESH) {
+            if (compressedLen > this.client.getCompressionThresh()) {
                 decompressed = ctx.alloc().buffer();
                 byte[] in = arr(decrypt);
 
@@ -109,7 +105,7 @@ public class InDecoder extends ByteToMessageDecoder {
         Class<? extends Packet> cls = PacketRegistry.byId(this.client.getState(), Packet.Bound.SERVER, id);
         PacketIn packet = PacketRegistry.make(cls);
 
-        LOGGER.debug("RECV: " + packet.getClass().getSimpleName());
+        InfoLogger.debug(LOGGER, "RECV: {}", packet);
         packet.read(decompressed, this.client);
 
         // If we created a new buffer, release it here
@@ -122,6 +122,13 @@ public class NetClient {
      * Whether or not the client performs compression
      */
     private volatile boolean doCompression;
+    /**
+     * The compression threshold sent to the client, which
+     * stays the same for the whole connection even if the
+     * config is reloaded
+     */
+    @Getter
+    private volatile int compressionThresh;
     /**
      * The player object
      */
@@ -221,8 +228,10 @@ public class NetClient {
      * Enables compression when the client is ready.
      */
     public void enableCompression() {
-        if (TridentServer.cfg().compressionThresh() != -1) {
-            this.sendPacket(new LoginOutCompression())
+        int thresh = TridentServer.cfg().compressionThresh();
+        if (thresh != -1) {
+            this.compressionThresh = thresh;
+            this.sendPacket(new LoginOutCompression(thresh))
                     .addListener(future -> this.doCompression = true);
         }
     }
@@ -20,11 +20,12 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import net.tridentsdk.command.logger.Logger;
-import net.tridentsdk.server.TridentServer;
+import net.tridentsdk.server.command.InfoLogger;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.math.BigInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.zip.Deflater;
 
 import static net.tridentsdk.server.net.NetData.arr;
@@ -50,9 +51,9 @@ public class OutEncoder extends MessageToByteEncoder<PacketOut> {
      */
     private static final int VINT_LEN = BigInteger.ZERO.toByteArray().length;
     /**
-     * Obtains the configured compression threshold.
+     * The total amount of bytes written to all clients
      */
-    public static final int COMPRESSION_THRESH = TridentServer.cfg().compressionThresh();
+    private static final LongAdder BYTES_SENT = new LongAdder();
 
     /**
      * The net client which holds this channel handler
@@ -76,7 +77,7 @@ public class OutEncoder extends MessageToByteEncoder<PacketOut> {
         ByteBuf buf = ctx.alloc().buffer();
         if (this.client.doCompression()) {
             int len = payload.readableBytes();
-            if (len > COMPRESSION_THRESH) {
+            if (len > this.client.getCompressionThresh()) {
                 this.writeDeflated(payload, buf, len);
             } else {
                 this.writeCompressed(payload, buf);
@@ -94,9 +95,20 @@ public class OutEncoder extends MessageToByteEncoder<PacketOut> {
             out.writeBytes(buf);
         }
 
+        BYTES_SENT.add(out.readableBytes());
         payload.release();
         buf.release();
-        LOGGER.debug("SEND: " + msg.getClass().getSimpleName());
+        InfoLogger.debug(LOGGER, "SEND: {}", msg);
+    }
+
+    /**
+     * Obtains the total amount of bytes that have been
+     * written to all clients since the server started.
+     *
+     * @return the bytes sent
+     */
+    public static long getBytesSent() {
+        return BYTES_SENT.sum();
     }
 
     /**
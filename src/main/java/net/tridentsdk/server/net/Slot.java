@@ -89,14 +89,29 @@ public class Slot {
      * @param buf the buffer which to write
      */
     public void write(ByteBuf buf) {
-        buf.writeShort(this.id);
+        write(buf, this.id, this.count, this.damage, this.nbt);
+    }
+
+    /**
+     * Writes slot data to the given byte buffer without
+     * creating a slot object.
+     *
+     * @param buf the buffer which to write
+     * @param id the item ID, or {@code -1} if the slot is
+     * empty
+     * @param count the amount of items in the stack
+     * @param damage the item damage
+     * @param nbt the item NBT, or {@code null} if none
+     */
+    public static void write(ByteBuf buf, int id, int count, int damage, TagCompound nbt) {
+        buf.writeShort(id);
 
-        if (this.id != -1) {
-            buf.writeByte(this.count);
-            buf.writeShort(this.damage);
+        if (id != -1) {
+            buf.writeByte(count);
+            buf.writeShort(damage);
 
-            if (this.nbt != null) {
-                this.nbt.write(buf);
+            if (nbt != null) {
+                nbt.write(buf);
             } else {
                 buf.writeByte(0);
             }
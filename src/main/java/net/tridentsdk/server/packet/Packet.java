@@ -26,6 +26,17 @@ import javax.annotation.concurrent.Immutable;
  */
 @Immutable
 public class Packet {
+    /**
+     * The simple class name of each packet, computed once
+     * so that logging a packet does not allocate
+     */
+    private static final ClassValue<String> NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName();
+        }
+    };
+
     /**
      * The direction which a packet is sent towards.
      */
@@ -81,4 +92,15 @@ public class Packet {
     public int id() {
         return this.id;
     }
+
+    /**
+     * Obtains the simple class name of this packet, which
+     * is cached per class.
+     *
+     * @return the name of the packet
+     */
+    @Override
+    public String toString() {
+        return NAMES.get(this.getClass());
+    }
 }
\ No newline at end of file
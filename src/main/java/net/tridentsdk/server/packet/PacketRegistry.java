@@ -99,6 +99,7 @@ public final class PacketRegistry {
         put(PlayInPlayer.class, NetState.PLAY, Bound.SERVER, 0x0F);
         put(PlayInLook.class, NetState.PLAY, Bound.SERVER, 0x0E);
         put(PlayOutChunk.class, NetState.PLAY, Bound.CLIENT, 0x20);
+        put(PlayOutUnloadChunk.class, NetState.PLAY, Bound.CLIENT, 0x1D);
         put(PlayOutDisconnect.class, NetState.PLAY, Bound.CLIENT, 0x1A);
         put(PlayOutTabListItem.class, NetState.PLAY, Bound.CLIENT, 0x2D);
         put(PlayOutSpawnPlayer.class, NetState.PLAY, Bound.CLIENT, 0x05);
@@ -106,10 +107,16 @@ public final class PacketRegistry {
         put(PlayOutEntityLookAndRelativeMove.class, NetState.PLAY, Bound.CLIENT, 0x26);
         put(PlayOutEntityLook.class, NetState.PLAY, Bound.CLIENT, 0x27);
         put(PlayOutEntityHeadLook.class, NetState.PLAY, Bound.CLIENT, 0x34);
+        put(PlayOutEntityTeleport.class, NetState.PLAY, Bound.CLIENT, 0x49);
         put(PlayOutPlayerListHeaderAndFooter.class, NetState.PLAY, Bound.CLIENT, 0x47);
         put(PlayOutDestroyEntities.class, NetState.PLAY, Bound.CLIENT, 0x30);
 
         put(PlayOutEntityMetadata.class, NetState.PLAY, Bound.CLIENT, 0x39);
+        put(PlayOutWindowItems.class, NetState.PLAY, Bound.CLIENT, 0x14);
+        put(PlayOutSetSlot.class, NetState.PLAY, Bound.CLIENT, 0x16);
+        put(PlayOutOpenWindow.class, NetState.PLAY, Bound.CLIENT, 0x13);
+        put(PlayOutCloseWindow.class, NetState.PLAY, Bound.CLIENT, 0x12);
+        put(PlayInCloseWindow.class, NetState.PLAY, Bound.SERVER, 0x08);
         put(PlayInEntityAction.class, NetState.PLAY, Bound.SERVER, 0x14);
         put(PlayInClientSettings.class, NetState.PLAY, Bound.SERVER, 0x04);
         put(PlayOutAnimation.class, NetState.PLAY, Bound.CLIENT, 0x06);
@@ -0,0 +1,77 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import static net.tridentsdk.server.net.NetData.arr;
+
+/**
+ * A client-bound packet which is sent to many clients and
+ * is therefore encoded only once, the first time that it
+ * is written, after which the same bytes are written for
+ * every client.
+ *
+ * <p>The packet must not be changed once it has been
+ * sent.</p>
+ */
+@ThreadSafe
+public abstract class SharedPacketOut extends PacketOut {
+    /**
+     * The encoded packet, or {@code null} if it has not
+     * been written yet
+     */
+    private volatile byte[] encoded;
+
+    /**
+     * The constructor which polls the packet registry in
+     * order to setup the initializing fields.
+     *
+     * @param cls the class of the packet to be registered
+     */
+    public SharedPacketOut(Class<? extends Packet> cls) {
+        super(cls);
+    }
+
+    @Override
+    public final void write(ByteBuf buf) {
+        byte[] encoded = this.encoded;
+        if (encoded == null) {
+            synchronized (this) {
+                encoded = this.encoded;
+                if (encoded == null) {
+                    ByteBuf tmp = Unpooled.buffer();
+                    this.encode(tmp);
+                    this.encoded = encoded = arr(tmp);
+                    tmp.release();
+                }
+            }
+        }
+
+        buf.writeBytes(encoded);
+    }
+
+    /**
+     * Encodes the buf of this packet, called at most once.
+     *
+     * @param buf the buf to be written
+     */
+    protected abstract void encode(ByteBuf buf);
+}
\ No newline at end of file
@@ -18,7 +18,7 @@ package net.tridentsdk.server.packet.login;
 
 import net.tridentsdk.server.TridentServer;
 import net.tridentsdk.server.net.NetClient;
-import net.tridentsdk.server.player.TridentPlayer;
+import net.tridentsdk.server.player.PlayerRegistry;
 import net.tridentsdk.util.Cache;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -57,7 +57,7 @@ public final class Login {
      * @return {@code true} if the client may login
      */
     public static boolean canLogin(NetClient client) {
-        if (LOGGING_IN.get() + TridentPlayer.getPlayers().size() >=
+        if (LOGGING_IN.get() + PlayerRegistry.getInstance().size() >=
                 TridentServer.cfg().maxPlayers()) {
             client.disconnect("Server is full");
             return false;
@@ -17,7 +17,6 @@
 package net.tridentsdk.server.packet.login;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.server.TridentServer;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
@@ -30,12 +29,18 @@ import static net.tridentsdk.server.net.NetData.wvint;
  */
 @Immutable
 public final class LoginOutCompression extends PacketOut {
-    public LoginOutCompression() {
+    /**
+     * The minimum size of compressed packets
+     */
+    private final int thresh;
+
+    public LoginOutCompression(int thresh) {
         super(LoginOutCompression.class);
+        this.thresh = thresh;
     }
 
     @Override
     public void write(ByteBuf buf) {
-        wvint(buf, TridentServer.cfg().compressionThresh());
+        wvint(buf, this.thresh);
     }
 }
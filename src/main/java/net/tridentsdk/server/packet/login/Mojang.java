@@ -17,7 +17,6 @@
 package net.tridentsdk.server.packet.login;
 
 import com.google.gson.JsonElement;
-import net.tridentsdk.server.concurrent.PoolSpec;
 import net.tridentsdk.server.concurrent.ServerThreadPool;
 import net.tridentsdk.server.config.ConfigIo;
 import net.tridentsdk.server.net.NetData;
@@ -40,10 +39,6 @@ import java.util.function.Function;
  */
 @ThreadSafe
 public final class Mojang<T> {
-    /**
-     * A cached instance of the scheduler thread pool
-     */
-    private static final ServerThreadPool SCHEDULER = ServerThreadPool.forSpec(PoolSpec.SCHEDULER);
     /**
      * The connection to the Mojang server
      */
@@ -104,7 +99,7 @@ public final class Mojang<T> {
                 return this.exception.apply(e.getMessage());
             }
         };
-        return SCHEDULER.submit(get);
+        return ServerThreadPool.submitBlocking(get);
     }
 
     /**
@@ -137,7 +132,7 @@ public final class Mojang<T> {
                 return this.exception.apply(e.getMessage());
             }
         };
-        return SCHEDULER.submit(post);
+        return ServerThreadPool.submitBlocking(post);
     }
 
     /**
@@ -37,11 +37,11 @@ public class PlayInAnimation extends PacketIn {
         int animation = NetData.rvint(buf);
 
         PlayOutAnimation packet = new PlayOutAnimation(client.getPlayer(), animation == 0 ? PlayOutAnimation.AnimationType.SWING_MAIN_ARM : PlayOutAnimation.AnimationType.SWING_OFFHAND);
-        TridentPlayer.getPlayers().values().forEach(p -> {
+        for (TridentPlayer p : TridentPlayer.getPlayers()) {
             if (p != client.getPlayer()) {
                 p.net().sendPacket(packet);
             }
-        });
+        }
     }
 
 }
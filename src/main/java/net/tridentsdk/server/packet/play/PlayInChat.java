@@ -54,7 +54,9 @@ public final class PlayInChat extends PacketIn {
                         .setText(player.getName())
                         .setClickEvent(ClickEvent.of(ClickAction.SUGGEST_COMMAND, "/tell " + player.getName() + " ")))
                 .addWith(msg);
-        TridentPlayer.getPlayers().values().forEach(p -> p.sendMessage(chat, ChatType.CHAT));
+        for (TridentPlayer p : TridentPlayer.getPlayers()) {
+            p.sendMessage(chat, ChatType.CHAT);
+        }
 
         if (msg.toLowerCase().equals("chunks")) {
             Position playerPosition = player.getPosition();
@@ -17,7 +17,6 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.base.Position;
 import net.tridentsdk.server.net.NetClient;
 import net.tridentsdk.server.packet.PacketIn;
 import net.tridentsdk.server.player.TridentPlayer;
@@ -41,17 +40,7 @@ public final class PlayInLook extends PacketIn {
         boolean onGround = buf.readBoolean();
 
         TridentPlayer player = client.getPlayer();
-        Position position = player.getPosition();
-        position.setYaw(yaw);
-        position.setPitch(pitch);
         player.setOnGround(onGround);
-
-        PlayOutEntityLook playOutEntityLook = new PlayOutEntityLook(player);
-        PlayOutEntityHeadLook playOutEntityHeadLook = new PlayOutEntityHeadLook(player);
-
-        TridentPlayer.getPlayers().values().stream().filter(p -> !p.equals(player)).forEach(p -> {
-            p.net().sendPacket(playOutEntityLook);
-            p.net().sendPacket(playOutEntityHeadLook);
-        });
+        player.look(yaw, pitch);
     }
 }
@@ -18,14 +18,14 @@ package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
 import net.tridentsdk.server.net.NetData;
-import net.tridentsdk.server.packet.PacketOut;
+import net.tridentsdk.server.packet.SharedPacketOut;
 import net.tridentsdk.ui.bossbar.BossBar;
 
 /**
  * @author TridentSDK
  * @since 0.5-alpha
  */
-public abstract class PlayOutBossBar extends PacketOut {
+public abstract class PlayOutBossBar extends SharedPacketOut {
 
     protected final BossBar bossBar;
     private final int action;
@@ -37,7 +37,7 @@ public abstract class PlayOutBossBar extends PacketOut {
     }
 
     @Override
-    public void write(ByteBuf buf) {
+    protected void encode(ByteBuf buf) {
         buf.writeLong(this.bossBar.getUuid().getMostSignificantBits());
         buf.writeLong(this.bossBar.getUuid().getLeastSignificantBits());
         NetData.wvint(buf, this.action);
@@ -50,8 +50,8 @@ public abstract class PlayOutBossBar extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
+        protected void encode(ByteBuf buf) {
+            super.encode(buf);
 
             NetData.wstr(buf, this.bossBar.getTitle().toString());
             buf.writeFloat(this.bossBar.getHealth());
@@ -83,8 +83,8 @@ public abstract class PlayOutBossBar extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
+        protected void encode(ByteBuf buf) {
+            super.encode(buf);
 
             buf.writeFloat(this.bossBar.getHealth());
         }
@@ -98,8 +98,8 @@ public abstract class PlayOutBossBar extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
+        protected void encode(ByteBuf buf) {
+            super.encode(buf);
 
             NetData.wstr(buf, this.bossBar.getTitle().toString());
         }
@@ -113,8 +113,8 @@ public abstract class PlayOutBossBar extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
+        protected void encode(ByteBuf buf) {
+            super.encode(buf);
 
             NetData.wvint(buf, this.bossBar.getColor().getId());
             NetData.wvint(buf, this.bossBar.getDivision().getId());
@@ -129,8 +129,8 @@ public abstract class PlayOutBossBar extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
+        protected void encode(ByteBuf buf) {
+            super.encode(buf);
 
             int flags = 0;
             if (this.bossBar.isDarkenSky())
@@ -17,28 +17,30 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
-import java.util.List;
 
 import static net.tridentsdk.server.net.NetData.wvint;
 
 @Immutable
 public final class PlayOutDestroyEntities extends PacketOut {
 
-    private final List<Entity> entities;
+    private final int[] ids;
+    private final int count;
 
-    public PlayOutDestroyEntities(List<Entity> entities) {
+    public PlayOutDestroyEntities(int[] ids, int count) {
         super(PlayOutDestroyEntities.class);
-        this.entities = entities;
+        this.ids = ids;
+        this.count = count;
     }
 
     @Override
     public void write(ByteBuf buf) {
-        wvint(buf, this.entities.size());
-        this.entities.forEach(entity -> wvint(buf, entity.getId()));
+        wvint(buf, this.count);
+        for (int i = 0; i < this.count; i++) {
+            wvint(buf, this.ids[i]);
+        }
     }
 
 }
\ No newline at end of file
@@ -17,30 +17,29 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
 
 import static net.tridentsdk.server.net.NetData.wvint;
 
+/**
+ * Sent to change the direction an entity's head faces.
+ */
 @Immutable
 public final class PlayOutEntityHeadLook extends PacketOut {
-
     private final int id;
-    private final double yaw;
+    private final float yaw;
 
-    public PlayOutEntityHeadLook(Entity entity) {
+    public PlayOutEntityHeadLook(int id, float yaw) {
         super(PlayOutEntityHeadLook.class);
-        this.id = entity.getId();
-        this.yaw = entity.getPosition().getYaw();
+        this.id = id;
+        this.yaw = yaw;
     }
 
     @Override
     public void write(ByteBuf buf) {
         wvint(buf, this.id);
-
         buf.writeByte((int) (this.yaw * 256 / 360));
     }
-
-}
+}
\ No newline at end of file
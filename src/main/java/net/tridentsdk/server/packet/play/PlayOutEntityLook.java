@@ -17,37 +17,35 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
 
 import static net.tridentsdk.server.net.NetData.wvint;
 
+/**
+ * Sent to change the look of an entity.
+ */
 @Immutable
 public final class PlayOutEntityLook extends PacketOut {
-
     private final int id;
-    private final double yaw;
-    private final double pitch;
+    private final float yaw;
+    private final float pitch;
     private final boolean onGround;
 
-    public PlayOutEntityLook(Entity entity) {
+    public PlayOutEntityLook(int id, float yaw, float pitch, boolean onGround) {
         super(PlayOutEntityLook.class);
-        this.id = entity.getId();
-        this.yaw = entity.getPosition().getYaw();
-        this.pitch = entity.getPosition().getPitch();
-        this.onGround = entity.isOnGround();
+        this.id = id;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.onGround = onGround;
     }
 
     @Override
     public void write(ByteBuf buf) {
         wvint(buf, this.id);
-
         buf.writeByte((int) (this.yaw * 256 / 360));
         buf.writeByte((int) (this.pitch / 1.4));
-
         buf.writeBoolean(this.onGround);
     }
-
-}
+}
\ No newline at end of file
@@ -17,44 +17,46 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.base.Position;
-import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
 
 import static net.tridentsdk.server.net.NetData.wvint;
 
+/**
+ * Sent to move an entity by a delta in fixed-point units of
+ * 1/4096 of a block and to change its look.
+ */
 @Immutable
 public final class PlayOutEntityLookAndRelativeMove extends PacketOut {
-
     private final int id;
-    private final double yaw;
-    private final double pitch;
+    private final short dx;
+    private final short dy;
+    private final short dz;
+    private final float yaw;
+    private final float pitch;
     private final boolean onGround;
-    private final Position delta;
 
-    public PlayOutEntityLookAndRelativeMove(Entity entity, Position delta) {
+    public PlayOutEntityLookAndRelativeMove(int id, short dx, short dy, short dz,
+                                            float yaw, float pitch, boolean onGround) {
         super(PlayOutEntityLookAndRelativeMove.class);
-        this.id = entity.getId();
-        this.yaw = entity.getPosition().getYaw();
-        this.pitch = entity.getPosition().getPitch();
-        this.onGround = entity.isOnGround();
-        this.delta = delta.clone().multiply(32, 32, 32).multiply(128, 128, 128);
+        this.id = id;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.onGround = onGround;
     }
 
     @Override
     public void write(ByteBuf buf) {
         wvint(buf, this.id);
-
-        buf.writeShort((int) this.delta.getX());
-        buf.writeShort((int) this.delta.getY());
-        buf.writeShort((int) this.delta.getZ());
-
+        buf.writeShort(this.dx);
+        buf.writeShort(this.dy);
+        buf.writeShort(this.dz);
         buf.writeByte((int) (this.yaw * 256 / 360));
         buf.writeByte((int) (this.pitch / 1.4));
-
         buf.writeBoolean(this.onGround);
     }
-
-}
+}
\ No newline at end of file
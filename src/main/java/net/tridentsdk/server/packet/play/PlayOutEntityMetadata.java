@@ -28,16 +28,25 @@ import net.tridentsdk.server.packet.PacketOut;
 public class PlayOutEntityMetadata extends PacketOut {
 
     private final TridentEntity entity;
+    private final long mask;
 
-    public PlayOutEntityMetadata(TridentEntity entity) {
+    /**
+     * Creates a packet containing the metadata items of the
+     * given entity whose indexes are set in the mask.
+     *
+     * @param entity the entity
+     * @param mask the metadata indexes to send
+     */
+    public PlayOutEntityMetadata(TridentEntity entity, long mask) {
         super(PlayOutEntityMetadata.class);
         this.entity = entity;
+        this.mask = mask;
     }
 
     @Override
     public void write(ByteBuf buf) {
         NetData.wvint(buf, this.entity.getId());
-        this.entity.getMetadata().getMetadata().write(buf);
+        this.entity.getMetadata().getMetadata().write(buf, this.mask);
     }
 
 }
@@ -17,35 +17,39 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.base.Position;
-import net.tridentsdk.entity.Entity;
 import net.tridentsdk.server.packet.PacketOut;
 
 import javax.annotation.concurrent.Immutable;
 
 import static net.tridentsdk.server.net.NetData.wvint;
 
+/**
+ * Sent to move an entity by a delta in fixed-point units of
+ * 1/4096 of a block.
+ */
 @Immutable
 public final class PlayOutEntityRelativeMove extends PacketOut {
+    private final int id;
+    private final short dx;
+    private final short dy;
+    private final short dz;
+    private final boolean onGround;
 
-    private final Entity entity;
-    private final Position delta;
-
-    public PlayOutEntityRelativeMove(Entity entity, Position delta) {
+    public PlayOutEntityRelativeMove(int id, short dx, short dy, short dz, boolean onGround) {
         super(PlayOutEntityRelativeMove.class);
-        this.entity = entity;
-        this.delta = delta.clone().multiply(32, 32, 32).multiply(128, 128, 128);
+        this.id = id;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.onGround = onGround;
     }
 
     @Override
     public void write(ByteBuf buf) {
-        wvint(buf, this.entity.getId());
-
-        buf.writeShort((short) this.delta.getX());
-        buf.writeShort((short) this.delta.getY());
-        buf.writeShort((short) this.delta.getZ());
-
-        buf.writeBoolean(this.entity.isOnGround());
+        wvint(buf, this.id);
+        buf.writeShort(this.dx);
+        buf.writeShort(this.dy);
+        buf.writeShort(this.dz);
+        buf.writeBoolean(this.onGround);
     }
-
-}
+}
\ No newline at end of file
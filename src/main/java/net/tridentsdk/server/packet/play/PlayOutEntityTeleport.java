@@ -0,0 +1,61 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.packet.play;
+
+import io.netty.buffer.ByteBuf;
+import net.tridentsdk.server.packet.PacketOut;
+
+import javax.annotation.concurrent.Immutable;
+
+import static net.tridentsdk.server.net.NetData.wvint;
+
+/**
+ * Sent to move an entity to an absolute position, used when
+ * the entity moved too far for a relative move.
+ */
+@Immutable
+public final class PlayOutEntityTeleport extends PacketOut {
+    private final int id;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final boolean onGround;
+
+    public PlayOutEntityTeleport(int id, double x, double y, double z, float yaw, float pitch, boolean onGround) {
+        super(PlayOutEntityTeleport.class);
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.onGround = onGround;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        wvint(buf, this.id);
+        buf.writeDouble(this.x);
+        buf.writeDouble(this.y);
+        buf.writeDouble(this.z);
+        buf.writeByte((int) (this.yaw * 256 / 360));
+        buf.writeByte((int) (this.pitch / 1.4));
+        buf.writeBoolean(this.onGround);
+    }
+}
\ No newline at end of file
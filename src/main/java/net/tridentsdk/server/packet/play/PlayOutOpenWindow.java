@@ -0,0 +1,64 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.packet.play;
+
+import io.netty.buffer.ByteBuf;
+import net.tridentsdk.chat.ChatComponent;
+import net.tridentsdk.server.packet.PacketOut;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Locale;
+
+import static net.tridentsdk.server.net.NetData.wstr;
+
+/**
+ * Sent to open a window other than the player's own
+ * inventory.
+ */
+@Immutable
+public final class PlayOutOpenWindow extends PacketOut {
+    private final int windowId;
+    private final String type;
+    private final ChatComponent title;
+    private final int slots;
+
+    /**
+     * Creates a packet which opens the given window.
+     *
+     * @param windowId the window ID assigned by the player
+     * @param type the name of the inventory type, which
+     * matches the protocol window type once lowercased
+     * @param title the window title, or {@code null} for
+     * none
+     * @param slots the amount of slots in the window
+     */
+    public PlayOutOpenWindow(int windowId, String type, ChatComponent title, int slots) {
+        super(PlayOutOpenWindow.class);
+        this.windowId = windowId;
+        this.type = "minecraft:" + type.toLowerCase(Locale.ENGLISH);
+        this.title = title == null ? ChatComponent.text("") : title;
+        this.slots = slots;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeByte(this.windowId);
+        wstr(buf, this.type);
+        wstr(buf, this.title.toString());
+        buf.writeByte(this.slots);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.packet.play;
+
+import io.netty.buffer.ByteBuf;
+import net.tridentsdk.meta.nbt.TagCompound;
+import net.tridentsdk.server.net.Slot;
+import net.tridentsdk.server.packet.PacketOut;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Sent to change the contents of a single slot of a window.
+ */
+@Immutable
+public final class PlayOutSetSlot extends PacketOut {
+    private final int windowId;
+    private final int slot;
+    private final int id;
+    private final int count;
+    private final int damage;
+    private final TagCompound nbt;
+
+    /**
+     * Creates a packet which sets the given slot.
+     *
+     * @param windowId the window containing the slot
+     * @param slot the slot index
+     * @param id the item ID, or {@code -1} to empty the slot
+     * @param count the amount of items in the stack
+     * @param damage the item damage
+     * @param nbt the item NBT, or {@code null} if none
+     */
+    public PlayOutSetSlot(int windowId, int slot, int id, int count, int damage, TagCompound nbt) {
+        super(PlayOutSetSlot.class);
+        this.windowId = windowId;
+        this.slot = slot;
+        this.id = id;
+        this.count = count;
+        this.damage = damage;
+        this.nbt = nbt;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeByte(this.windowId);
+        buf.writeShort(this.slot);
+        Slot.write(buf, this.id, this.count, this.damage, this.nbt);
+    }
+}
\ No newline at end of file
@@ -17,8 +17,9 @@
 package net.tridentsdk.server.packet.play;
 
 import io.netty.buffer.ByteBuf;
-import net.tridentsdk.entity.living.Player;
+import net.tridentsdk.base.Position;
 import net.tridentsdk.server.packet.PacketOut;
+import net.tridentsdk.server.player.TridentPlayer;
 
 import javax.annotation.concurrent.Immutable;
 
@@ -27,11 +28,13 @@ import static net.tridentsdk.server.net.NetData.wvint;
 @Immutable
 public final class PlayOutSpawnPlayer extends PacketOut {
 
-    private final Player player;
+    private final TridentPlayer player;
+    private final Position position;
 
-    public PlayOutSpawnPlayer(Player player) {
+    public PlayOutSpawnPlayer(TridentPlayer player) {
         super(PlayOutSpawnPlayer.class);
         this.player = player;
+        this.position = player.getPosition();
     }
 
     @Override
@@ -41,17 +44,14 @@ public final class PlayOutSpawnPlayer extends PacketOut {
         buf.writeLong(this.player.getUuid().getMostSignificantBits());
         buf.writeLong(this.player.getUuid().getLeastSignificantBits());
 
-        buf.writeDouble(this.player.getPosition().getX());
-        buf.writeDouble(this.player.getPosition().getY());
-        buf.writeDouble(this.player.getPosition().getZ());
+        buf.writeDouble(this.position.getX());
+        buf.writeDouble(this.position.getY());
+        buf.writeDouble(this.position.getZ());
 
-        buf.writeByte((byte) ((this.player.getPosition().getYaw()) % 360 * (256d / 360d)));
-        buf.writeByte((int) (byte) this.player.getPosition().getPitch());
+        buf.writeByte((byte) ((this.position.getYaw()) % 360 * (256d / 360d)));
+        buf.writeByte((int) (byte) this.position.getPitch());
 
-        buf.writeByte(7);
-        buf.writeByte(2);
-        buf.writeFloat(20f);
-        buf.writeByte(0xFF);
+        this.player.getMetadata().getMetadata().write(buf);
     }
 
 }
@@ -19,7 +19,7 @@ package net.tridentsdk.server.packet.play;
 import io.netty.buffer.ByteBuf;
 import lombok.RequiredArgsConstructor;
 import net.tridentsdk.chat.ChatComponent;
-import net.tridentsdk.server.packet.PacketOut;
+import net.tridentsdk.server.packet.SharedPacketOut;
 import net.tridentsdk.server.ui.tablist.TabListElement;
 import net.tridentsdk.world.opt.GameMode;
 
@@ -36,9 +36,12 @@ import static net.tridentsdk.server.net.NetData.wvint;
  * A tab list item update packet, which can perform any of
  * the operations that are listed in
  * {@link net.tridentsdk.server.packet.play.PlayOutTabListItem.PlayOutTabListItemActionType}.
+ *
+ * <p>No actions may be added after the packet has been
+ * sent.</p>
  */
 @Immutable
-public abstract class PlayOutTabListItem extends PacketOut {
+public abstract class PlayOutTabListItem extends SharedPacketOut {
     /**
      * The action type that is occuring
      */
@@ -50,11 +53,19 @@ public abstract class PlayOutTabListItem extends PacketOut {
     }
 
     @Override
-    public void write(ByteBuf buf) {
+    protected final void encode(ByteBuf buf) {
         wvint(buf, this.action.ordinal());
         wvint(buf, this.getActionCount());
+        this.writeActions(buf);
     }
 
+    /**
+     * Writes the data of each action in this packet.
+     *
+     * @param buf the buf to be written
+     */
+    protected abstract void writeActions(ByteBuf buf);
+
     public abstract int getActionCount();
 
     public static PlayOutTabListItemAddPlayer addPlayerPacket() {
@@ -96,9 +107,7 @@ public abstract class PlayOutTabListItem extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
-
+        protected void writeActions(ByteBuf buf) {
             this.additions.forEach(data -> {
                 buf.writeLong(data.uuid.getMostSignificantBits());
                 buf.writeLong(data.uuid.getLeastSignificantBits());
@@ -151,9 +160,7 @@ public abstract class PlayOutTabListItem extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
-
+        protected void writeActions(ByteBuf buf) {
             this.removals.forEach(uuid -> {
                 buf.writeLong(uuid.getMostSignificantBits());
                 buf.writeLong(uuid.getLeastSignificantBits());
@@ -179,9 +186,7 @@ public abstract class PlayOutTabListItem extends PacketOut {
         }
 
         @Override
-        public void write(ByteBuf buf) {
-            super.write(buf);
-
+        protected void writeActions(ByteBuf buf) {
             this.updates.forEach(data -> {
                 buf.writeLong(data.uuid.getMostSignificantBits());
                 buf.writeLong(data.uuid.getLeastSignificantBits());
@@ -0,0 +1,63 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.packet.play;
+
+import io.netty.buffer.ByteBuf;
+import net.tridentsdk.meta.nbt.TagCompound;
+import net.tridentsdk.server.inventory.TridentInventory;
+import net.tridentsdk.server.net.Slot;
+import net.tridentsdk.server.packet.SharedPacketOut;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Sent to replace the contents of every slot of a window.
+ */
+@ThreadSafe
+public final class PlayOutWindowItems extends SharedPacketOut {
+    private final int windowId;
+    private final long[] stacks;
+    private final TagCompound[] nbt;
+
+    /**
+     * Creates a packet containing the given snapshot of a
+     * window's slots.
+     *
+     * @param windowId the window
+     * @param stacks the packed stack in each slot, see
+     * {@link TridentInventory}
+     * @param nbt the NBT of each slot, or {@code null} for
+     * slots without NBT
+     */
+    public PlayOutWindowItems(int windowId, long[] stacks, TagCompound[] nbt) {
+        super(PlayOutWindowItems.class);
+        this.windowId = windowId;
+        this.stacks = stacks;
+        this.nbt = nbt;
+    }
+
+    @Override
+    protected void encode(ByteBuf buf) {
+        buf.writeByte(this.windowId);
+        buf.writeShort(this.stacks.length);
+        for (int i = 0; i < this.stacks.length; i++) {
+            long stack = this.stacks[i];
+            Slot.write(buf, TridentInventory.idOf(stack), TridentInventory.countOf(stack),
+                    TridentInventory.damageOf(stack), this.nbt[i]);
+        }
+    }
+}
\ No newline at end of file
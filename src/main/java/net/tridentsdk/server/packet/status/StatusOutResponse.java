@@ -57,6 +57,11 @@ public final class StatusOutResponse extends PacketOut {
      * version
      */
     private static final int PROTOCOL_VERSION = 316;
+    /**
+     * The most players listed in the sample of a status
+     * response, the same as the vanilla server
+     */
+    private static final int MAX_SAMPLE = 12;
 
     private static final Logger logger;
     private static final Path iconPath;
@@ -155,14 +160,16 @@ public final class StatusOutResponse extends PacketOut {
 
         JsonObject players = new JsonObject();
         players.addProperty("max", cfg.maxPlayers());
-        players.addProperty("online", TridentPlayer.getPlayers().size());
+        TridentPlayer[] online = TridentPlayer.getPlayers();
+        players.addProperty("online", online.length);
         JsonArray sample = new JsonArray();
-        TridentPlayer.getPlayers().forEach((u, p) -> {
+        for (int i = 0; i < Math.min(online.length, MAX_SAMPLE); i++) {
+            TridentPlayer p = online[i];
             JsonObject o = new JsonObject();
             o.addProperty("name", p.getName());
             o.addProperty("id", p.getUuid().toString());
             sample.add(o);
-        });
+        }
         players.add("sample", sample);
         resp.add("players", players);
 
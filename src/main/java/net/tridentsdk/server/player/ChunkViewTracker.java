@@ -0,0 +1,228 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.player;
+
+import net.tridentsdk.world.World;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+
+/**
+ * Tracks the square of chunks that a player has been sent
+ * and computes the exact set of chunks that enter and
+ * leave that square when the player moves.
+ *
+ * <p>Because a player is always sent every chunk within
+ * its view radius, the loaded set is fully described by
+ * its world, center and radius, so no per-chunk state is
+ * kept.</p>
+ */
+@ThreadSafe
+final class ChunkViewTracker {
+    /**
+     * The largest view radius that can be tracked
+     */
+    static final int MAX_RADIUS = 32;
+
+    /**
+     * The X offsets of every chunk within the max radius,
+     * sorted in spiral order from the center outward
+     */
+    private static final byte[] SPIRAL_X;
+    /**
+     * The Z offsets matching {@link #SPIRAL_X}
+     */
+    private static final byte[] SPIRAL_Z;
+    /**
+     * The index into the spiral arrays after the last
+     * offset of each ring
+     */
+    private static final int[] RING_END = new int[MAX_RADIUS + 1];
+
+    static {
+        int side = 2 * MAX_RADIUS + 1;
+        long[] offsets = new long[side * side];
+        int idx = 0;
+        for (int x = -MAX_RADIUS; x <= MAX_RADIUS; x++) {
+            for (int z = -MAX_RADIUS; z <= MAX_RADIUS; z++) {
+                long ring = Math.max(Math.abs(x), Math.abs(z));
+                long dist = x * x + z * z;
+                // Order by ring, then by distance, then
+                // keep the offset in the low bits
+                offsets[idx++] = ring << 40 | dist << 16 | (x + MAX_RADIUS) << 8 | z + MAX_RADIUS;
+            }
+        }
+        Arrays.sort(offsets);
+
+        SPIRAL_X = new byte[offsets.length];
+        SPIRAL_Z = new byte[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            long packed = offsets[i];
+            SPIRAL_X[i] = (byte) ((packed >>> 8 & 0xFF) - MAX_RADIUS);
+            SPIRAL_Z[i] = (byte) ((packed & 0xFF) - MAX_RADIUS);
+            RING_END[(int) (packed >>> 40)] = i + 1;
+        }
+    }
+
+    /**
+     * Receives the coordinates of a chunk that has entered
+     * or left the view.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept(int x, int z);
+    }
+
+    /**
+     * The world that the view is in, or {@code null} if
+     * nothing has been loaded
+     */
+    private volatile World world;
+    /**
+     * The chunk X that the view is centered on
+     */
+    @GuardedBy("this")
+    private int centerX;
+    /**
+     * The chunk Z that the view is centered on
+     */
+    @GuardedBy("this")
+    private int centerZ;
+    /**
+     * The view radius, or -1 if nothing has been loaded
+     */
+    @GuardedBy("this")
+    private int radius = -1;
+    /**
+     * The center and radius packed by {@link #pack(int, int,
+     * int)}, published so that {@link #contains(int, int)}
+     * does not need to lock, written after {@link #world}
+     */
+    private volatile long bounds = pack(0, 0, -1);
+
+    /**
+     * Moves the view to the given center and radius,
+     * passing each chunk that leaves the view to the
+     * unload consumer and then each chunk that enters the
+     * view to the load consumer, nearest first.
+     *
+     * <p>If the world changes, every chunk of the old view
+     * is unloaded and every chunk of the new view is
+     * loaded, even where the two overlap.</p>
+     *
+     * @param world the world of the new view
+     * @param cx the new center chunk X
+     * @param cz the new center chunk Z
+     * @param radius the new view radius
+     * @param load the consumer of entering chunks
+     * @param unload the consumer of leaving chunks
+     */
+    public synchronized void update(World world, int cx, int cz, int radius,
+                                    ChunkConsumer load, ChunkConsumer unload) {
+        radius = Math.max(0, Math.min(radius, MAX_RADIUS));
+
+        boolean sameWorld = this.world == world;
+        int ox = this.centerX;
+        int oz = this.centerZ;
+        int or = this.radius;
+        if (sameWorld && ox == cx && oz == cz && or == radius) {
+            return;
+        }
+
+        if (!sameWorld) {
+            // Hide the view while the world and bounds do
+            // not match, see contains
+            this.bounds = pack(0, 0, -1);
+            this.world = world;
+        }
+        this.centerX = cx;
+        this.centerZ = cz;
+        this.radius = radius;
+        this.bounds = pack(cx, cz, radius);
+
+        if (or >= 0) {
+            for (int x = ox - or; x <= ox + or; x++) {
+                for (int z = oz - or; z <= oz + or; z++) {
+                    if (!sameWorld || !inside(x, z, cx, cz, radius)) {
+                        unload.accept(x, z);
+                    }
+                }
+            }
+        }
+
+        if (!sameWorld) {
+            // None of the old chunks are in the new world
+            or = -1;
+        }
+
+        for (int i = 0, end = RING_END[radius]; i < end; i++) {
+            int x = cx + SPIRAL_X[i];
+            int z = cz + SPIRAL_Z[i];
+            if (or < 0 || !inside(x, z, ox, oz, or)) {
+                load.accept(x, z);
+            }
+        }
+    }
+
+    /**
+     * Determines whether the given chunk is currently in
+     * the view.
+     *
+     * @param world the world of the chunk
+     * @param x the chunk X
+     * @param z the chunk Z
+     * @return {@code true} if the chunk is in view
+     */
+    public boolean contains(World world, int x, int z) {
+        long bounds;
+        World current;
+        do {
+            // If the bounds are unchanged after reading the
+            // world, the world belongs to them
+            bounds = this.bounds;
+            current = this.world;
+        } while (bounds != this.bounds);
+
+        int radius = (byte) bounds;
+        return radius >= 0 && current == world
+                && inside(x, z, (int) (bounds >> 36), (int) (bounds << 28 >> 36), radius);
+    }
+
+    /**
+     * Empties the view without unloading its chunks, such
+     * as when the client disconnects.
+     */
+    public synchronized void clear() {
+        this.radius = -1;
+        this.bounds = pack(0, 0, -1);
+        this.world = null;
+    }
+
+    /**
+     * Packs a view into 28 bits of center X, 28 bits of
+     * center Z and 8 bits of radius, which covers every
+     * chunk within the world border.
+     */
+    private static long pack(int cx, int cz, int radius) {
+        return (long) cx << 36 | (cz & 0xFFFFFFFL) << 8 | radius & 0xFF;
+    }
+
+    private static boolean inside(int x, int z, int cx, int cz, int radius) {
+        return Math.abs(x - cx) <= radius && Math.abs(z - cz) <= radius;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,321 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.player;
+
+import lombok.Getter;
+import net.tridentsdk.base.Position;
+import net.tridentsdk.server.util.Long2ReferenceOpenHashMap;
+import net.tridentsdk.world.World;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of players on the server, indexed by UUID,
+ * name, world and chunk column.
+ *
+ * <p>Every lookup returns an array which is never
+ * modified once published; joins, leaves and moves replace
+ * the arrays instead, so readers iterate without copying
+ * or locking. Callers must not modify the returned
+ * arrays.</p>
+ */
+@ThreadSafe
+public final class PlayerRegistry {
+    /**
+     * The registry of players on the server
+     */
+    @Getter
+    private static final PlayerRegistry instance = new PlayerRegistry();
+    /**
+     * Shared array returned when there are no players
+     */
+    private static final TridentPlayer[] NONE = new TridentPlayer[0];
+
+    /**
+     * The lock guarding changes to the indexes
+     */
+    private final Object lock = new Object();
+    /**
+     * The players mapped by UUID
+     */
+    private final ConcurrentMap<UUID, TridentPlayer> byUuid = new ConcurrentHashMap<>();
+    /**
+     * The players mapped by name
+     */
+    private final ConcurrentMap<String, TridentPlayer> byName = new ConcurrentHashMap<>();
+    /**
+     * The players mapped by lowercase name
+     */
+    private final ConcurrentMap<String, TridentPlayer> byLowerName = new ConcurrentHashMap<>();
+    /**
+     * The players in each world
+     */
+    private final ConcurrentMap<World, TridentPlayer[]> byWorld = new ConcurrentHashMap<>();
+    /**
+     * The players in each chunk column of each world
+     */
+    @GuardedBy("lock")
+    private final Map<World, Long2ReferenceOpenHashMap<TridentPlayer[]>> byColumn = new HashMap<>();
+    /**
+     * The world and chunk column each player is indexed at
+     */
+    @GuardedBy("lock")
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    /**
+     * Every player on the server
+     */
+    private volatile TridentPlayer[] players = NONE;
+
+    /**
+     * The location at which a player is indexed.
+     */
+    private static final class Slot {
+        private final World world;
+        private final long column;
+
+        private Slot(World world, long column) {
+            this.world = world;
+            this.column = column;
+        }
+    }
+
+    private PlayerRegistry() {
+    }
+
+    /**
+     * Adds a player to the registry at its current
+     * position.
+     *
+     * @param player the player to add
+     * @return {@code true} if the player was added,
+     * {@code false} if it was already registered
+     */
+    public boolean add(TridentPlayer player) {
+        synchronized (this.lock) {
+            if (this.byUuid.putIfAbsent(player.getUuid(), player) != null) {
+                return false;
+            }
+
+            this.byName.put(player.getName(), player);
+            this.byLowerName.put(lower(player.getName()), player);
+            this.players = append(this.players, player);
+            this.index(player, slotOf(player.getPosition()));
+            return true;
+        }
+    }
+
+    /**
+     * Removes a player from the registry.
+     *
+     * @param player the player to remove
+     * @return {@code true} if the player was registered
+     */
+    public boolean remove(TridentPlayer player) {
+        synchronized (this.lock) {
+            if (!this.byUuid.remove(player.getUuid(), player)) {
+                return false;
+            }
+
+            this.byName.remove(player.getName(), player);
+            this.byLowerName.remove(lower(player.getName()), player);
+            this.players = without(this.players, player);
+            this.unindex(player, this.slots.remove(player.getUuid()));
+            return true;
+        }
+    }
+
+    /**
+     * Moves a player to the world and chunk column of its
+     * current position.
+     *
+     * @param player the player which has moved
+     */
+    public void move(TridentPlayer player) {
+        Slot to = slotOf(player.getPosition());
+        synchronized (this.lock) {
+            Slot from = this.slots.get(player.getUuid());
+            if (from == null || from.world == to.world && from.column == to.column) {
+                return;
+            }
+
+            this.unindex(player, from);
+            this.index(player, to);
+        }
+    }
+
+    /**
+     * Obtains every player on the server.
+     *
+     * @return the players
+     */
+    public TridentPlayer[] getPlayers() {
+        return this.players;
+    }
+
+    /**
+     * Obtains the amount of players on the server.
+     *
+     * @return the player count
+     */
+    public int size() {
+        return this.players.length;
+    }
+
+    /**
+     * Obtains the player with the given UUID.
+     *
+     * @param uuid the UUID
+     * @return the player, or {@code null}
+     */
+    @Nullable
+    public TridentPlayer get(UUID uuid) {
+        return this.byUuid.get(uuid);
+    }
+
+    /**
+     * Obtains the player with exactly the given name.
+     *
+     * @param name the name
+     * @return the player, or {@code null}
+     */
+    @Nullable
+    public TridentPlayer getByName(String name) {
+        return this.byName.get(name);
+    }
+
+    /**
+     * Obtains the player with the given name, ignoring
+     * case.
+     *
+     * @param name the name
+     * @return the player, or {@code null}
+     */
+    @Nullable
+    public TridentPlayer getByNameIgnoreCase(String name) {
+        return this.byLowerName.get(lower(name));
+    }
+
+    /**
+     * Obtains the players in the given world.
+     *
+     * @param world the world
+     * @return the players in the world
+     */
+    public TridentPlayer[] inWorld(World world) {
+        return this.byWorld.getOrDefault(world, NONE);
+    }
+
+    /**
+     * Obtains the players in the given chunk column.
+     *
+     * @param world the world of the chunk
+     * @param x the chunk X
+     * @param z the chunk Z
+     * @return the players in the chunk
+     */
+    public TridentPlayer[] inChunk(World world, int x, int z) {
+        synchronized (this.lock) {
+            Long2ReferenceOpenHashMap<TridentPlayer[]> columns = this.byColumn.get(world);
+            if (columns == null) {
+                return NONE;
+            }
+
+            TridentPlayer[] players = columns.get(column(x, z));
+            return players == null ? NONE : players;
+        }
+    }
+
+    @GuardedBy("lock")
+    private void index(TridentPlayer player, Slot slot) {
+        this.slots.put(player.getUuid(), slot);
+        this.byWorld.put(slot.world, append(this.byWorld.getOrDefault(slot.world, NONE), player));
+
+        Long2ReferenceOpenHashMap<TridentPlayer[]> columns =
+                this.byColumn.computeIfAbsent(slot.world, k -> new Long2ReferenceOpenHashMap<>());
+        TridentPlayer[] players = columns.get(slot.column);
+        columns.put(slot.column, append(players == null ? NONE : players, player));
+    }
+
+    @GuardedBy("lock")
+    private void unindex(TridentPlayer player, Slot slot) {
+        if (slot == null) {
+            return;
+        }
+
+        TridentPlayer[] inWorld = without(this.byWorld.getOrDefault(slot.world, NONE), player);
+        if (inWorld.length == 0) {
+            this.byWorld.remove(slot.world);
+        } else {
+            this.byWorld.put(slot.world, inWorld);
+        }
+
+        Long2ReferenceOpenHashMap<TridentPlayer[]> columns = this.byColumn.get(slot.world);
+        if (columns == null) {
+            return;
+        }
+
+        TridentPlayer[] players = columns.get(slot.column);
+        if (players != null) {
+            TridentPlayer[] inColumn = without(players, player);
+            if (inColumn.length == 0) {
+                columns.remove(slot.column);
+            } else {
+                columns.put(slot.column, inColumn);
+            }
+        }
+    }
+
+    private static Slot slotOf(Position position) {
+        return new Slot(position.world(), column(position.getChunkX(), position.getChunkZ()));
+    }
+
+    private static long column(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    private static String lower(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static TridentPlayer[] append(TridentPlayer[] players, TridentPlayer player) {
+        TridentPlayer[] copy = Arrays.copyOf(players, players.length + 1);
+        copy[players.length] = player;
+        return copy;
+    }
+
+    private static TridentPlayer[] without(TridentPlayer[] players, TridentPlayer player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                if (players.length == 1) {
+                    return NONE;
+                }
+
+                TridentPlayer[] copy = new TridentPlayer[players.length - 1];
+                System.arraycopy(players, 0, copy, 0, i);
+                System.arraycopy(players, i + 1, copy, i, copy.length - i);
+                return copy;
+            }
+        }
+
+        return players;
+    }
+}
\ No newline at end of file
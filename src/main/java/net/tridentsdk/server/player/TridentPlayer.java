@@ -18,7 +18,6 @@ package net.tridentsdk.server.player;
 
 import lombok.Getter;
 import lombok.Setter;
-import net.tridentsdk.base.BlockDirection;
 import net.tridentsdk.base.Position;
 import net.tridentsdk.chat.ChatColor;
 import net.tridentsdk.chat.ChatComponent;
@@ -30,9 +29,12 @@ import net.tridentsdk.server.TridentServer;
 import net.tridentsdk.server.concurrent.PoolSpec;
 import net.tridentsdk.server.entity.TridentEntity;
 import net.tridentsdk.server.entity.meta.EntityMetaType;
+import net.tridentsdk.server.inventory.TridentInventory;
 import net.tridentsdk.server.net.NetClient;
+import net.tridentsdk.server.packet.PacketOut;
 import net.tridentsdk.server.packet.login.Login;
 import net.tridentsdk.server.packet.play.*;
+import net.tridentsdk.server.plugin.TridentEventController;
 import net.tridentsdk.server.ui.bossbar.AbstractBossBar;
 import net.tridentsdk.server.ui.tablist.TabListElement;
 import net.tridentsdk.server.ui.tablist.TridentGlobalTabList;
@@ -41,17 +43,15 @@ import net.tridentsdk.server.world.TridentWorld;
 import net.tridentsdk.ui.bossbar.BossBar;
 import net.tridentsdk.ui.tablist.TabList;
 import net.tridentsdk.ui.title.Title;
-import net.tridentsdk.world.IntPair;
 import net.tridentsdk.world.World;
 import net.tridentsdk.world.opt.GameMode;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -63,20 +63,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @EntityMetaType(TridentPlayerMeta.class)
 public class TridentPlayer extends TridentEntity implements Player {
     /**
-     * The players on the server
+     * The largest chunk radius that the server currently
+     * allows players to view
      */
-    @Getter
-    private static final Map<UUID, TridentPlayer> players = new ConcurrentHashMap<>();
-    /**
-     * The cache time of a chunk
-     */
-    private static final int CHUNK_CACHE_MILLIS = 1000 * 30; // 30 Seconds
+    private static volatile int viewCap = ChunkViewTracker.MAX_RADIUS;
 
     /**
-     * A map of chunk -> time, storing the last time
-     * the chunk was sent to the client
+     * The chunks that are in view of this player
      */
-    private final Map<IntPair, Long> chunkSentTime = new ConcurrentHashMap<>();
+    private final ChunkViewTracker chunkView = new ChunkViewTracker();
 
     /**
      * The net connection that this player has to the
@@ -112,7 +107,6 @@ public class TridentPlayer extends TridentEntity implements Player {
      * The player's render distance
      */
     @Getter
-    @Setter
     private volatile int renderDistance = 7;
 
     @Getter
@@ -143,7 +137,35 @@ public class TridentPlayer extends TridentEntity implements Player {
      * The boss bars that are being displayed to this
      * player.
      */
-    private final List<BossBar> bossBars = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<BossBar> bossBars = new CopyOnWriteArrayList<>();
+    /**
+     * The largest window ID assigned before they are
+     * reused
+     */
+    private static final int MAX_WINDOW_ID = 100;
+
+    /**
+     * The player's own inventory, which is always open as
+     * window 0
+     */
+    @Getter
+    private final TridentInventory inventory = TridentInventory.forPlayer();
+    /**
+     * The lock guarding the open window
+     */
+    private final Object windowLock = new Object();
+    /**
+     * The window this player has open besides its own
+     * inventory, or {@code null} if none
+     */
+    @GuardedBy("windowLock")
+    private TridentInventory openWindow;
+    /**
+     * The ID of the open window, or the last assigned ID if
+     * no window is open
+     */
+    @GuardedBy("windowLock")
+    private int windowId;
 
     /**
      * Whether the player is in god mode
@@ -188,6 +210,7 @@ public class TridentPlayer extends TridentEntity implements Player {
         this.gameMode = world.getWorldOptions().getGameMode();
         this.canFly = this.gameMode == GameMode.CREATIVE || this.gameMode == GameMode.SPECTATOR;
         this.skinTextures = skinTextures;
+        this.setBoundingBox(0.6F, 1.8F);
     }
 
     /**
@@ -197,18 +220,40 @@ public class TridentPlayer extends TridentEntity implements Player {
      * @param name the player name
      * @param uuid the player UUID
      * @param skinTextures the player textures
+     * @return the player, or {@code null} if the player
+     * could not be registered and was disconnected
      */
     public static TridentPlayer spawn(NetClient client, String name, UUID uuid, TabListElement.PlayerProperty skinTextures) {
         TridentWorld world = TridentServer.getInstance().getWorldLoader().getDefaultWorld();
         TridentPlayer player = new TridentPlayer(client, world, name, uuid, skinTextures);
-        TridentPlayer.players.put(uuid, player);
         client.setPlayer(player);
+
+        PlayerRegistry registry = PlayerRegistry.getInstance();
+        if (!registry.add(player)) {
+            // The same account is already online, so take its
+            // place as the vanilla server does
+            TridentPlayer old = registry.get(uuid);
+            if (old != null) {
+                old.kick(ChatComponent.text("You logged in from another location"));
+            }
+
+            if (!registry.add(player)) {
+                // Removing the unregistered player finishes the
+                // login
+                client.disconnect("You are already logged in");
+                return null;
+            }
+        }
         Login.finish();
 
-        TridentServer.getInstance().getEventController().dispatch(new PlayerJoinEvent(player));
+        TridentEventController events = TridentEventController.getInstance();
+        if (events.hasListeners(PlayerJoinEvent.class)) {
+            events.dispatch(new PlayerJoinEvent(player));
+        }
 
         Position playerPosition = player.getPosition();
         playerPosition.setY(4);
+        player.storePosition(playerPosition);
 
         client.sendPacket(new PlayOutJoinGame(player, world));
         client.sendPacket(PlayOutPluginMsg.BRAND);
@@ -216,6 +261,7 @@ public class TridentPlayer extends TridentEntity implements Player {
         client.sendPacket(new PlayOutSpawnPos());
         client.sendPacket(new PlayOutPosLook(player));
         client.sendPacket(new PlayOutPlayerAbilities(player));
+        player.inventory.addViewer(player);
 
         return player;
     }
@@ -229,39 +275,35 @@ public class TridentPlayer extends TridentEntity implements Player {
             return;
         }
 
+        TridentGlobalTabList.getInstance().add(this);
         this.setTabList(TridentGlobalTabList.getInstance());
-        TridentGlobalTabList.getInstance().update();
 
-        PlayOutSpawnPlayer newPlayerPacket = new PlayOutSpawnPlayer(this);
         ChatComponent chat = ChatComponent.create()
                 .setColor(ChatColor.YELLOW)
                 .setTranslate("multiplayer.player.joined")
                 .addWith(this.name);
         this.sendMessage(chat, ChatType.CHAT);
 
-        TridentPlayer.players.values()
-                .stream()
-                .filter(p -> !p.equals(this))
-                .forEach(p -> {
-                    p.sendMessage(chat, ChatType.CHAT);
+        for (TridentPlayer p : TridentPlayer.getPlayers()) {
+            if (p == this) {
+                continue;
+            }
 
-                    p.net().sendPacket(newPlayerPacket);
+            p.sendMessage(chat, ChatType.CHAT);
+        }
 
-                    PlayOutSpawnPlayer oldPlayerPacket = new PlayOutSpawnPlayer(p);
-                    this.client.sendPacket(oldPlayerPacket);
-                });
+        this.updateChunks();
+    }
 
-        Position pos = this.getPosition();
-        int initialChunkRadius = 3;
-        for (int x = pos.getChunkX() - initialChunkRadius; x <= pos.getChunkX() + initialChunkRadius; x++) {
-            for (int z = pos.getChunkZ() - initialChunkRadius; z <= pos.getChunkZ() + initialChunkRadius; z++) {
-                int finalX = x;
-                int finalZ = z;
-                CompletableFuture
-                        .supplyAsync(() -> this.getWorld().getChunkAt(finalX, finalZ), this.pool)
-                        .thenAcceptAsync(chunk -> this.client.sendPacket(new PlayOutChunk(chunk)), this.pool);
-            }
-        }
+    /**
+     * Obtains every player on the server.
+     *
+     * <p>The returned array must not be modified.</p>
+     *
+     * @return the players
+     */
+    public static TridentPlayer[] getPlayers() {
+        return PlayerRegistry.getInstance().getPlayers();
     }
 
     /**
@@ -273,6 +315,16 @@ public class TridentPlayer extends TridentEntity implements Player {
         return this.client;
     }
 
+    @Override
+    protected boolean isTrackable() {
+        return this.finishedLogin.get();
+    }
+
+    @Override
+    public PacketOut getSpawnPacket() {
+        return new PlayOutSpawnPlayer(this);
+    }
+
     @Override
     public void doTick() {
         this.client.tick();
@@ -282,24 +334,37 @@ public class TridentPlayer extends TridentEntity implements Player {
     public void doRemove() {
         // If the player isn't in the list, they haven't
         // finished logging in yet; cleanup
-        if (TridentPlayer.players.remove(this.uuid) == null) {
+        if (!PlayerRegistry.getInstance().remove(this)) {
             Login.finish();
         }
 
+        this.chunkView.clear();
         this.setTabList(null);
-        TridentGlobalTabList.getInstance().update();
+        TridentGlobalTabList.getInstance().remove(this);
+        for (BossBar bar : this.bossBars) {
+            ((AbstractBossBar) bar).removeViewer(this, false);
+        }
+        this.inventory.removeViewer(this);
+        synchronized (this.windowLock) {
+            if (this.openWindow != null) {
+                this.openWindow.removeViewer(this);
+                this.openWindow = null;
+            }
+        }
 
         ChatComponent chat = ChatComponent.create()
                 .setColor(ChatColor.YELLOW)
                 .setTranslate("multiplayer.player.left")
                 .addWith(this.name);
-        TridentPlayer.players.values().forEach(e -> e.sendMessage(chat, ChatType.CHAT));
+        for (TridentPlayer player : TridentPlayer.getPlayers()) {
+            player.sendMessage(chat, ChatType.CHAT);
+        }
     }
 
     @Override
     public void setDisplayName(ChatComponent displayName) {
         this.displayName = displayName != null ? displayName : ChatComponent.text(this.name);
-        // TODO update
+        TridentGlobalTabList.getInstance().updateDisplayName(this);
     }
 
     @Override
@@ -341,8 +406,8 @@ public class TridentPlayer extends TridentEntity implements Player {
             throw new NullPointerException();
         }
         
-        if (this.bossBars.add(bossBar)) {
-            this.net().sendPacket(new PlayOutBossBar.Add(bossBar));
+        if (this.bossBars.addIfAbsent(bossBar)) {
+            ((AbstractBossBar) bossBar).addViewer(this);
         }
     }
 
@@ -353,49 +418,14 @@ public class TridentPlayer extends TridentEntity implements Player {
         }
         
         if (this.bossBars.remove(bossBar)) {
-            this.net().sendPacket(new PlayOutBossBar.Remove(bossBar));
+            ((AbstractBossBar) bossBar).removeViewer(this, true);
         }
     }
 
     @Override
     public void updateBossBars() {
-        this.updateBossBars(false);
-    }
-
-    private void updateBossBars(boolean force) {
         for (BossBar bar : this.bossBars) {
-            AbstractBossBar bossBar = (AbstractBossBar) bar;
-            if (force) {
-                this.net().sendPacket(new PlayOutBossBar.Add(bossBar));
-                continue;
-            }
-
-            int changed = AbstractBossBar.STATE.get(bossBar);
-            do {
-                boolean health, title, style, flags, sky;
-                sky = (changed >>> 4 & 1) == 1;
-                title = (changed >>> 3 & 1) == 1;
-                health = (changed >>> 2 & 1) == 1;
-                style = (changed >>> 1 & 1) == 1;
-                flags = (changed & 1) == 1;
-
-                if (sky) {
-                    this.net().sendPacket(new PlayOutBossBar.Add(bossBar));
-                } else {
-                    if (health) {
-                        this.net().sendPacket(new PlayOutBossBar.UpdateHealth(bossBar));
-                    }
-                    if (title) {
-                        this.net().sendPacket(new PlayOutBossBar.UpdateTitle(bossBar));
-                    }
-                    if (style) {
-                        this.net().sendPacket(new PlayOutBossBar.UpdateStyle(bossBar));
-                    }
-                    if (flags) {
-                        this.net().sendPacket(new PlayOutBossBar.UpdateFlags(bossBar));
-                    }
-                }
-            } while (!bossBar.unsetChanged(changed));
+            ((AbstractBossBar) bar).flush();
         }
     }
 
@@ -420,15 +450,68 @@ public class TridentPlayer extends TridentEntity implements Player {
     }
 
     @Override
-    public void setPosition(Position position) {
-        Position pos = this.getPosition();
-        // TODO this is dumb
-        if (position.getChunkX() != pos.getChunkX()) {
-            this.updateChunks(position.getChunkX() > pos.getChunkX() ? BlockDirection.EAST : BlockDirection.WEST);
-        } else if (position.getChunkZ() != pos.getChunkZ()) {
-            this.updateChunks(position.getChunkZ() > pos.getChunkZ() ? BlockDirection.SOUTH : BlockDirection.NORTH);
+    public void move(World world, double x, double y, double z, float yaw, float pitch) {
+        World oldWorld = this.store.getWorld(this.slot);
+        int oldChunkX = (int) Math.floor(this.store.getX(this.slot)) >> 4;
+        int oldChunkZ = (int) Math.floor(this.store.getZ(this.slot)) >> 4;
+        super.move(world, x, y, z, yaw, pitch);
+        if (((int) Math.floor(x) >> 4) != oldChunkX || ((int) Math.floor(z) >> 4) != oldChunkZ
+                || world != oldWorld) {
+            PlayerRegistry.getInstance().move(this);
+            this.updateChunks();
+        }
+    }
+
+    /**
+     * Obtains the radius of chunks around this player that
+     * are sent to it, which is the render distance of the
+     * client limited by the server's current view distance.
+     *
+     * @return the view radius, in chunks
+     */
+    public int getViewRadius() {
+        return Math.min(this.renderDistance, TridentPlayer.viewCap);
+    }
+
+    /**
+     * Obtains the largest chunk radius that players may
+     * currently view.
+     *
+     * @return the view distance cap
+     */
+    public static int getViewCap() {
+        return TridentPlayer.viewCap;
+    }
+
+    /**
+     * Sets the largest chunk radius that players may view
+     * and resizes the view of every player to match.
+     *
+     * @param cap the view distance cap
+     */
+    public static void setViewCap(int cap) {
+        if (TridentPlayer.viewCap == cap) {
+            return;
+        }
+
+        TridentPlayer.viewCap = cap;
+        for (TridentPlayer player : TridentPlayer.getPlayers()) {
+            player.updateChunks();
+        }
+    }
+
+    /**
+     * Sets the render distance requested by the client and
+     * resizes the player's view to match.
+     *
+     * @param renderDistance the new render distance
+     */
+    public void setRenderDistance(int renderDistance) {
+        int old = this.getViewRadius();
+        this.renderDistance = renderDistance;
+        if (old != this.getViewRadius()) {
+            this.updateChunks();
         }
-        super.setPosition(position);
     }
 
     /**
@@ -515,51 +598,137 @@ public class TridentPlayer extends TridentEntity implements Player {
     }
 
     /**
-     * Send an update to the client with the chunks
-     * If direction is null, chunks around the player will be sent
+     * Sends the client the chunks that have come into view
+     * since the last update, nearest first, and unloads the
+     * chunks that have left the view.
+     */
+    public void updateChunks() {
+        if (!this.finishedLogin.get()) {
+            return;
+        }
+
+        Position pos = this.getPosition();
+        TridentWorld world = (TridentWorld) pos.world();
+        this.chunkView.update(world, pos.getChunkX(), pos.getChunkZ(), this.getViewRadius(),
+                (x, z) -> this.loadChunk(world, x, z), this::unloadChunk);
+    }
+
+    /**
+     * Loads the given chunk and sends it to the client if
+     * it is still in view once it has loaded.
+     *
+     * @param world the world that the chunk was requested
+     * from
+     * @param x the chunk X
+     * @param z the chunk Z
+     */
+    private void loadChunk(TridentWorld world, int x, int z) {
+        CompletableFuture
+                .supplyAsync(() -> world.getChunkAt(x, z), this.pool)
+                .thenAcceptAsync(chunk -> {
+                    // Hold the view lock so that an unload for
+                    // this chunk cannot be sent before it
+                    synchronized (this.chunkView) {
+                        if (!this.chunkView.contains(world, x, z)) {
+                            return;
+                        }
+                        this.client.sendPacket(new PlayOutChunk(chunk));
+                    }
+                }, this.pool);
+    }
+
+    /**
+     * Determines whether the given chunk column in the given
+     * world is in this player's view, and so whether the
+     * entities in it are visible to it.
      *
-     * @param direction the direction the player moved or null
+     * @param world the world of the chunk
+     * @param x the chunk X
+     * @param z the chunk Z
+     * @return {@code true} if the chunk is in view
      */
-    public void updateChunks(BlockDirection direction) {
-        // TODO Improve this algorithm
-        // For example, send chunks closer to the player first
-        int centerX = this.getPosition().getChunkX();
-        int centerZ = this.getPosition().getChunkZ();
+    public boolean isInView(World world, int x, int z) {
+        return this.chunkView.contains(world, x, z);
+    }
+
+    /**
+     * Opens a window showing the given inventory, closing
+     * the window that this player had open before.
+     *
+     * @param inventory the inventory to show
+     * @throws IllegalArgumentException if the inventory is
+     * the inventory of a player
+     */
+    public void openWindow(TridentInventory inventory) {
+        if (inventory.getType() == null) {
+            throw new IllegalArgumentException("Player inventories cannot be opened as a window");
+        }
 
-        int renderDistance = this.renderDistance;
-        int radius = renderDistance / 2;
+        synchronized (this.windowLock) {
+            if (this.openWindow != null) {
+                this.openWindow.removeViewer(this);
+            }
 
-        if (direction != null) {
-            centerX += direction.getXDiff() * radius;
-            centerZ += direction.getZDiff() * radius;
+            this.windowId = this.windowId % MAX_WINDOW_ID + 1;
+            this.openWindow = inventory;
+            this.client.sendPacket(new PlayOutOpenWindow(this.windowId, inventory.getType().name(),
+                    inventory.getTitle(), inventory.getSize()));
+            inventory.addViewer(this);
         }
+    }
 
-        /* Should be 16, but renderDistance has to be divided by 2 */
-        this.pool.execute(() ->
-                this.chunkSentTime.keySet().iterator().forEachRemaining(chunk -> {
-                    if(Math.abs(chunk.getX() - this.position.getChunkX()) > radius
-                            || Math.abs(chunk.getZ()) - this.position.getChunkZ() > radius){
-                        this.chunkSentTime.remove(chunk);
-                    }
-                }));
-
-        for (int x = centerX - radius; x <= centerX + radius; x++) {
-            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
-                IntPair position = IntPair.make(x, z);
-                if (System.currentTimeMillis() - this.chunkSentTime.getOrDefault(position, 0L) > TridentPlayer.CHUNK_CACHE_MILLIS) {
-                    CompletableFuture
-                            .supplyAsync(() -> this.getWorld().chunkAt(position), this.pool)
-                            .thenAcceptAsync(chunk -> {
-                                this.client.sendPacket(new PlayOutChunk(chunk));
-                                this.chunkSentTime.put(position, System.currentTimeMillis());
-    
-                                TridentPlayer.players.values().stream()
-                                        .filter(player -> !player.equals(this))
-                                        .filter(player -> player.getPosition().getChunkX() == position.getX() && player.getPosition().getChunkZ() == position.getZ())
-                                        .forEach(player -> this.client.sendPacket(new PlayOutSpawnPlayer(player)));
-                            }, this.pool);
-                }
+    /**
+     * Closes the window that this player has open, if any.
+     */
+    public void closeWindow() {
+        synchronized (this.windowLock) {
+            if (this.openWindow != null) {
+                this.client.sendPacket(new PlayOutCloseWindow(this.windowId));
+                this.windowClosed(this.windowId);
             }
         }
     }
+
+    /**
+     * Called when the window with the given ID has been
+     * closed by the client.
+     *
+     * @param windowId the ID of the closed window
+     */
+    public void windowClosed(int windowId) {
+        synchronized (this.windowLock) {
+            if (this.openWindow != null && windowId == this.windowId) {
+                this.openWindow.removeViewer(this);
+                this.openWindow = null;
+            }
+        }
+    }
+
+    /**
+     * Obtains the ID of the window in which this player is
+     * shown the given inventory.
+     *
+     * @param inventory the inventory
+     * @return the window ID, or -1 if the player does not
+     * have the inventory open
+     */
+    public int getWindowId(TridentInventory inventory) {
+        if (inventory == this.inventory) {
+            return 0;
+        }
+
+        synchronized (this.windowLock) {
+            return inventory == this.openWindow ? this.windowId : -1;
+        }
+    }
+
+    /**
+     * Tells the client to discard the given chunk.
+     *
+     * @param x the chunk X
+     * @param z the chunk Z
+     */
+    private void unloadChunk(int x, int z) {
+        this.client.sendPacket(new PlayOutUnloadChunk(x, z));
+    }
 }
\ No newline at end of file
@@ -44,7 +44,7 @@ public class TridentPlayerMeta extends TridentLivingEntityMeta implements Player
 
     @Override
     public void setAdditionalHearts(float hearts) {
-        this.getMetadata().get(11).set(hearts);
+        this.getMetadata().get(11).setFloat(hearts);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class TridentPlayerMeta extends TridentLivingEntityMeta implements Player
 
     @Override
     public void setScore(int score) {
-        this.getMetadata().get(12).set(score);
+        this.getMetadata().get(12).setInt(score);
     }
 
     @Override
@@ -64,7 +64,7 @@ public class TridentPlayerMeta extends TridentLivingEntityMeta implements Player
 
     @Override
     public void setSkinFlags(byte skinFlags) {
-        this.getMetadata().get(13).set(skinFlags);
+        this.getMetadata().get(13).setByte(skinFlags);
     }
 
     @Override
@@ -144,7 +144,7 @@ public class TridentPlayerMeta extends TridentLivingEntityMeta implements Player
 
     @Override
     public void setLeftHandMain(boolean main) {
-        this.getMetadata().get(14).set(main ? 0 : 1);
+        this.getMetadata().get(14).setByte((byte) (main ? 0 : 1));
     }
 
 }
@@ -18,38 +18,161 @@ package net.tridentsdk.server.plugin;
 
 import com.esotericsoftware.reflectasm.MethodAccess;
 import lombok.Getter;
+import net.tridentsdk.command.logger.Logger;
 import net.tridentsdk.event.DispatchOrder;
 import net.tridentsdk.event.Event;
 
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.invoke.*;
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A container class that links the controller to the event
  * listener in order to dispatch events to it.
+ *
+ * <p>Each dispatcher also accounts the time spent in its
+ * listener, so that slow plugins can be found.</p>
  */
-@Immutable
+@ThreadSafe
 public final class EventDispatcher implements Comparable<EventDispatcher> {
-    private final MethodAccess access;
+    /**
+     * The minimum time between warnings about the same
+     * listener
+     */
+    private static final long WARN_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    /**
+     * The time a listener may take before a warning is
+     * logged, in nanos, or {@code 0} to disable warnings
+     */
+    private static volatile long warnThreshold;
+
+    /**
+     * The erased signature of {@link EventInvoker#invoke}
+     */
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(void.class, Object.class, Event.class);
+    /**
+     * The signature of the factory which creates the
+     * {@link EventInvoker}
+     */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(EventInvoker.class);
+
+    private final EventInvoker invoker;
     @Getter
     private final Object container;
-    private final int idx;
     private final DispatchOrder order;
+    /**
+     * The name of the listener, in the form of
+     * {@code Class#method(Event)}
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * The amount of times the listener was called
+     */
+    private final LongAdder invocations = new LongAdder();
+    /**
+     * The total time spent in the listener, in nanos
+     */
+    private final LongAdder nanos = new LongAdder();
+    /**
+     * The last time a warning was logged for this listener
+     */
+    private volatile long lastWarn;
 
     /**
      * Creates a new event dispatcher.
-     *  @param access the accessor to the class methods
+     *
      * @param inst the instance of the listener
      * @param method the method to invoke
      * @param order the order which to invoke the listener
      */
-    public EventDispatcher(MethodAccess access, Object inst, Method method, DispatchOrder order) {
-        this.access = access;
+    public EventDispatcher(Object inst, Method method, DispatchOrder order) {
         this.container = inst;
         this.order = order;
+        this.invoker = compile(method);
+        this.name = method.getDeclaringClass().getSimpleName() + "#" + method.getName() +
+                "(" + method.getParameterTypes()[0].getSimpleName() + ")";
+    }
 
-        System.out.println("REG M " + method.getName());
-        this.idx = access.getIndex(method.getName(), method.getParameterTypes());
+    /**
+     * Sets the time which a single listener invocation may
+     * take before a warning is logged.
+     *
+     * @param millis the threshold in millis, or {@code 0}
+     * to disable warnings
+     */
+    public static void setWarnThreshold(long millis) {
+        warnThreshold = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Creates an invoker for the given listener method.
+     *
+     * <p>The invoker is spun using the
+     * {@link LambdaMetafactory} so that it calls the
+     * listener directly. Listeners which cannot be linked
+     * that way, such as those loaded by a plugin class
+     * loader on Java 8, fall back to ReflectASM.</p>
+     *
+     * @param method the listener method
+     * @return the invoker
+     */
+    private static EventInvoker compile(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method);
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "invoke", FACTORY_TYPE, INVOKE_TYPE, handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+            return (EventInvoker) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            MethodAccess access = MethodAccess.get(method.getDeclaringClass());
+            int idx = access.getIndex(method.getName(), method.getParameterTypes());
+            return (container, event) -> access.invoke(container, idx, event);
+        }
+    }
+
+    /**
+     * Obtains a lookup from which the lambda can be spun
+     * for the given method.
+     *
+     * <p>The generated class is defined by the lookup class
+     * loader, so it must be able to see the listener
+     * class and its event type.</p>
+     *
+     * @param method the listener method
+     * @return the lookup to use
+     */
+    private static MethodHandles.Lookup lookupFor(Method method) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Class<?> cls = method.getDeclaringClass();
+        if (isVisible(cls) && isVisible(method.getParameterTypes()[0])) {
+            return lookup;
+        }
+
+        // Java 9+ only, reflection is needed in order to
+        // remain compatible with Java 8
+        Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn",
+                Class.class, MethodHandles.Lookup.class);
+        return (MethodHandles.Lookup) privateLookupIn.invoke(null, cls, lookup);
+    }
+
+    /**
+     * Determines whether the given class is visible from
+     * the server class loader.
+     *
+     * @param cls the class to check
+     * @return {@code true} if the class can be linked from
+     * server classes
+     */
+    private static boolean isVisible(Class<?> cls) {
+        try {
+            return Class.forName(cls.getName(), false, EventDispatcher.class.getClassLoader()) == cls;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 
     /**
@@ -60,11 +183,61 @@ public final class EventDispatcher implements Comparable<EventDispatcher> {
      * class to ensure type safety.</p>
      *
      * @param event the event to pass to the handler
-     * @return the event that was passed to this handler
      */
-    public Event fire(Event event) {
-        this.access.invoke(this.container, this.idx, event);
-        return event;
+    public void fire(Event event) {
+        long start = System.nanoTime();
+        try {
+            this.invoker.invoke(this.container, event);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            this.invocations.increment();
+            this.nanos.add(elapsed);
+
+            long threshold = warnThreshold;
+            if (threshold > 0 && elapsed > threshold) {
+                this.warn(elapsed, threshold);
+            }
+        }
+    }
+
+    /**
+     * Warns that the listener took longer than allowed,
+     * unless a warning was logged recently.
+     *
+     * @param elapsed the time the listener took
+     * @param threshold the allowed time
+     */
+    private void warn(long elapsed, long threshold) {
+        long now = System.nanoTime();
+        long last = this.lastWarn;
+        if (last != 0 && now - last < WARN_INTERVAL) {
+            return;
+        }
+
+        this.lastWarn = now;
+        // Not held statically, as the threshold may be set
+        // before loggers are available
+        Logger.get("Events").warn(String.format("Listener %s took %.2f ms, exceeding the %.2f ms budget",
+                this.name, elapsed / 1e6, threshold / 1e6));
+    }
+
+    /**
+     * Obtains the amount of times the listener has been
+     * called.
+     *
+     * @return the invocation count
+     */
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * Obtains the total time spent in the listener.
+     *
+     * @return the time in nanos
+     */
+    public long getTotalNanos() {
+        return this.nanos.sum();
     }
 
     /**
@@ -92,12 +265,6 @@ public final class EventDispatcher implements Comparable<EventDispatcher> {
 
     @Override
     public int compareTo(EventDispatcher o) {
-        // Since we're dealing with an ordered set, we need
-        // to return 1 if equal to retain the last listener
-        if (this.order == o.order) {
-            return 1;
-        }
-
         return this.order.compareTo(o.order);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.plugin;
+
+import net.tridentsdk.event.Event;
+
+/**
+ * Functional interface which is implemented at runtime
+ * for each event listener method in order to invoke the
+ * listener without reflection.
+ *
+ * <p>This must remain public so that invokers may be
+ * defined in the class loaders of plugins.</p>
+ */
+@FunctionalInterface
+public interface EventInvoker {
+    /**
+     * Invokes the listener method on the given container.
+     *
+     * @param container the instance of the listener
+     * @param event the event to pass to the listener
+     */
+    void invoke(Object container, Event event);
+}
@@ -16,7 +16,6 @@
  */
 package net.tridentsdk.server.plugin;
 
-import com.esotericsoftware.reflectasm.MethodAccess;
 import lombok.Getter;
 import net.tridentsdk.command.logger.Logger;
 import net.tridentsdk.doc.Policy;
@@ -28,10 +27,10 @@ import net.tridentsdk.server.concurrent.ServerThreadPool;
 import javax.annotation.concurrent.ThreadSafe;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.concurrent.CompletableFuture;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -50,12 +49,31 @@ public final class TridentEventController implements EventController {
      */
     @Getter
     private static final TridentEventController instance = new TridentEventController();
+    /**
+     * Shared array used for events which have no listeners
+     */
+    private static final EventDispatcher[] NONE = new EventDispatcher[0];
 
     /**
      * The mapping of all the event listeners to their
      * respective listener events.
+     *
+     * <p>Each array is sorted in dispatch order and is
+     * never modified once published; registration replaces
+     * the array instead.</p>
+     */
+    private final ConcurrentMap<Class<? extends Event>, EventDispatcher[]> listeners = new ConcurrentHashMap<>();
+    /**
+     * Cache of the listeners of each fired event class,
+     * including the listeners of its supertypes, merged in
+     * dispatch order.
+     */
+    private final ConcurrentMap<Class<?>, EventDispatcher[]> resolved = new ConcurrentHashMap<>();
+    /**
+     * Incremented whenever the listeners change so that
+     * stale resolutions are not cached
      */
-    private final ConcurrentMap<Class<? extends Event>, ConcurrentSkipListSet<EventDispatcher>> listeners = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
 
     /**
      * Check if the class allows its members to be
@@ -68,6 +86,33 @@ public final class TridentEventController implements EventController {
         return cls.getAnnotation(SelfRegistered.class) == null;
     }
 
+    /**
+     * Inserts the given dispatcher into a copy of the given
+     * array after all dispatchers which are ordered before
+     * or with it.
+     *
+     * @param dispatchers the current dispatchers, or
+     * {@code null} if there are none
+     * @param dispatcher the dispatcher to insert
+     * @return the new array of dispatchers
+     */
+    private static EventDispatcher[] insert(EventDispatcher[] dispatchers, EventDispatcher dispatcher) {
+        if (dispatchers == null) {
+            return new EventDispatcher[] { dispatcher };
+        }
+
+        int idx = dispatchers.length;
+        while (idx > 0 && dispatchers[idx - 1].compareTo(dispatcher) > 0) {
+            idx--;
+        }
+
+        EventDispatcher[] copy = new EventDispatcher[dispatchers.length + 1];
+        System.arraycopy(dispatchers, 0, copy, 0, idx);
+        copy[idx] = dispatcher;
+        System.arraycopy(dispatchers, idx, copy, idx + 1, dispatchers.length - idx);
+        return copy;
+    }
+
     @Override
     public void register(Object listener) {
         Class<?> cls = listener.getClass();
@@ -75,7 +120,6 @@ public final class TridentEventController implements EventController {
             return;
         }
 
-        MethodAccess access = MethodAccess.get(cls);
         Method[] methods = cls.getMethods();
         for (Method m : methods) {
             Parameter[] params = m.getParameters();
@@ -95,70 +139,256 @@ public final class TridentEventController implements EventController {
                 // an event
                 if (Event.class.isAssignableFrom(pType)) {
                     Class<? extends Event> clazz = (Class<? extends Event>) pType;
-                    ConcurrentSkipListSet<EventDispatcher> dispatchers = this.listeners.computeIfAbsent(
-                            clazz, k -> new ConcurrentSkipListSet<>());
                     ListenerOpts opts = m.getAnnotation(ListenerOpts.class);
                     DispatchOrder order = DispatchOrder.MIDDLE;
                     if (opts != null) {
                         order = opts.order();
                     }
 
-                    // Log to console if 2+ LAST listeners
-                    // are registered
-                    EventDispatcher last;
-                    if (order == DispatchOrder.LAST &&
-                            !dispatchers.isEmpty() &&
-                            (last = dispatchers.last()).isLast()) {
-                        Logger.get("Registrar").warn("Event listener \"" +
-                                m.getName() + "\" will override the last event listener in " +
-                                last.getContainer().getClass().getSimpleName() + ".java");
-                    }
+                    EventDispatcher dispatcher = new EventDispatcher(listener, m, order);
+                    this.listeners.compute(clazz, (k, dispatchers) -> {
+                        // Log to console if 2+ LAST listeners
+                        // are registered
+                        EventDispatcher last;
+                        if (dispatcher.isLast() && dispatchers != null &&
+                                (last = dispatchers[dispatchers.length - 1]).isLast()) {
+                            Logger.get("Registrar").warn("Event listener \"" +
+                                    m.getName() + "\" will override the last event listener in " +
+                                    last.getContainer().getClass().getSimpleName() + ".java");
+                        }
 
-                    // Add to the dispatch queue
-                    dispatchers.add(new EventDispatcher(access, listener, m, order));
+                        // Add to the dispatch queue
+                        return insert(dispatchers, dispatcher);
+                    });
                 }
             }
         }
+
+        this.invalidate();
     }
 
     @Override
     public void unregister(Class<?> listener) {
-        for (ConcurrentSkipListSet<EventDispatcher> queue : this.listeners.values()) {
-            for (EventDispatcher dispatcher : queue) {
-                if (dispatcher.isContainedBy(listener)) {
-                    queue.remove(dispatcher);
-                }
+        for (Class<? extends Event> cls : this.listeners.keySet()) {
+            this.listeners.computeIfPresent(cls, (k, dispatchers) -> {
+                EventDispatcher[] remaining = Arrays.stream(dispatchers).
+                        filter(d -> !d.isContainedBy(listener)).
+                        toArray(EventDispatcher[]::new);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+
+        this.invalidate();
+    }
+
+    /**
+     * Drops all cached listener resolutions after the
+     * listeners have been modified.
+     */
+    private void invalidate() {
+        this.generation.incrementAndGet();
+        this.resolved.clear();
+    }
+
+    /**
+     * Obtains the dispatchers which listen to the given
+     * event class or any of its supertypes.
+     *
+     * @param cls the event class
+     * @return the dispatchers, in dispatch order
+     */
+    private EventDispatcher[] resolve(Class<?> cls) {
+        EventDispatcher[] dispatchers = this.resolved.get(cls);
+        if (dispatchers != null) {
+            return dispatchers;
+        }
+
+        long gen = this.generation.get();
+        dispatchers = this.collect(cls);
+        EventDispatcher[] prev = this.resolved.putIfAbsent(cls, dispatchers);
+        if (prev != null) {
+            return prev;
+        }
+
+        // Listeners were modified while collecting, the
+        // result may be stale and must not be cached
+        if (this.generation.get() != gen) {
+            this.resolved.remove(cls, dispatchers);
+        }
+
+        return dispatchers;
+    }
+
+    /**
+     * Walks the type hierarchy of the given class and merges
+     * the listeners of every event type that it can be
+     * assigned to.
+     *
+     * @param cls the event class
+     * @return the merged dispatchers, in dispatch order
+     */
+    private EventDispatcher[] collect(Class<?> cls) {
+        List<EventDispatcher> merged = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+        Deque<Class<?>> types = new ArrayDeque<>();
+        types.add(cls);
+
+        while (!types.isEmpty()) {
+            Class<?> type = types.poll();
+            if (!seen.add(type) || !Event.class.isAssignableFrom(type)) {
+                continue;
+            }
+
+            EventDispatcher[] dispatchers = this.listeners.get(type);
+            if (dispatchers != null) {
+                Collections.addAll(merged, dispatchers);
+            }
+
+            Class<?> superclass = type.getSuperclass();
+            if (superclass != null) {
+                types.add(superclass);
+            }
+            Collections.addAll(types, type.getInterfaces());
+        }
+
+        if (merged.isEmpty()) {
+            return NONE;
+        }
+
+        // Stable, so listeners of the more specific type
+        // are called first within the same order
+        merged.sort(null);
+        return merged.toArray(new EventDispatcher[merged.size()]);
+    }
+
+    /**
+     * Determines whether any listener would be called if an
+     * event of the given type were to be dispatched.
+     *
+     * <p>After the first call for a given class, this is a
+     * single lookup, so callers on hot paths may use this
+     * to avoid creating events that nobody listens to.</p>
+     *
+     * @param cls the event class
+     * @return {@code true} if the event has listeners
+     */
+    public boolean hasListeners(Class<? extends Event> cls) {
+        return this.resolve(cls).length != 0;
+    }
+
+    /**
+     * Obtains the listeners which have spent the most time
+     * handling events.
+     *
+     * @param limit the max amount of listeners to obtain
+     * @return the listeners, most expensive first
+     */
+    public List<EventDispatcher> getMostExpensive(int limit) {
+        List<EventDispatcher> dispatchers = new ArrayList<>();
+        for (EventDispatcher[] array : this.listeners.values()) {
+            Collections.addAll(dispatchers, array);
+        }
+
+        dispatchers.sort(Comparator.comparingLong(EventDispatcher::getTotalNanos).reversed());
+        return dispatchers.subList(0, Math.min(limit, dispatchers.size()));
+    }
+
+    /**
+     * Logs the listeners and the listener classes which
+     * have spent the most time handling events.
+     *
+     * @param logger the logger to which the report is
+     * logged
+     * @param limit the max amount of entries of each kind
+     */
+    public void report(Logger logger, int limit) {
+        List<EventDispatcher> dispatchers = this.getMostExpensive(Integer.MAX_VALUE);
+        if (dispatchers.isEmpty() || dispatchers.get(0).getInvocations() == 0) {
+            return;
+        }
+
+        // Container class -> {invocations, nanos}
+        Map<String, long[]> containers = new HashMap<>();
+        logger.log("Most expensive event listeners:");
+        for (int i = 0; i < dispatchers.size(); i++) {
+            EventDispatcher dispatcher = dispatchers.get(i);
+            long invocations = dispatcher.getInvocations();
+            long nanos = dispatcher.getTotalNanos();
+
+            long[] total = containers.computeIfAbsent(dispatcher.getContainer().getClass().getName(), k -> new long[2]);
+            total[0] += invocations;
+            total[1] += nanos;
+
+            if (i < limit && invocations > 0) {
+                logger.log(String.format("  %s: %.2f ms over %d calls (%.3f ms avg)", dispatcher.getName(),
+                        nanos / 1e6, invocations, nanos / 1e6 / invocations));
+            }
+        }
+
+        logger.log("Most expensive listener classes:");
+        containers.entrySet().stream()
+                .filter(e -> e.getValue()[0] > 0)
+                .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                .limit(limit)
+                .forEach(e -> logger.log(String.format("  %s: %.2f ms over %d calls",
+                        e.getKey(), e.getValue()[1] / 1e6, e.getValue()[0])));
+    }
+
+    /**
+     * Fires the given event to all of its listeners on the
+     * caller thread, in dispatch order.
+     *
+     * <p>This does not allocate; exceptions thrown by a
+     * listener are printed and do not prevent the
+     * remaining listeners from being called.</p>
+     *
+     * @param event the event to fire
+     * @param <T> the type of event
+     * @return the event which was passed in
+     */
+    public <T extends Event> T fire(T event) {
+        EventDispatcher[] dispatchers = this.resolve(event.getClass());
+        if (dispatchers.length != 0) {
+            fire(dispatchers, event);
+        }
+
+        return event;
+    }
+
+    /**
+     * Calls the given dispatchers in order with the given
+     * event.
+     *
+     * @param dispatchers the dispatchers to call
+     * @param event the event to pass
+     */
+    private static void fire(EventDispatcher[] dispatchers, Event event) {
+        for (EventDispatcher dispatcher : dispatchers) {
+            try {
+                dispatcher.fire(event);
+            } catch (Throwable t) {
+                t.printStackTrace();
             }
         }
     }
 
     @Override
     public <T extends Event> void dispatch(T event) {
-        ConcurrentSkipListSet<EventDispatcher> dispatchers = this.listeners.get(event.getClass());
-        if (dispatchers != null) {
-            CompletableFuture<T> future = CompletableFuture.completedFuture(event);
-            for (EventDispatcher dispatcher : dispatchers) {
-                future.thenApplyAsync(dispatcher::fire, PLUGIN_EXECUTOR).exceptionally(t -> {
-                    t.printStackTrace();
-                    return event;
-                });
-            }
+        EventDispatcher[] dispatchers = this.resolve(event.getClass());
+        if (dispatchers.length != 0) {
+            PLUGIN_EXECUTOR.execute(() -> fire(dispatchers, event));
         }
     }
 
     @Override
     public <T extends Event> void dispatch(T event, Consumer<T> callback) {
-        ConcurrentSkipListSet<EventDispatcher> dispatchers = this.listeners.get(event.getClass());
-        if (dispatchers != null) {
-            CompletableFuture<T> future = CompletableFuture.completedFuture(event);
-            for (EventDispatcher dispatcher : dispatchers) {
-                future.thenApplyAsync(dispatcher::fire, PLUGIN_EXECUTOR).exceptionally(t -> {
-                    t.printStackTrace();
-                    return event;
-                });
+        EventDispatcher[] dispatchers = this.resolve(event.getClass());
+        PLUGIN_EXECUTOR.execute(() -> {
+            if (dispatchers.length != 0) {
+                fire(dispatchers, event);
             }
 
-            future.thenAcceptAsync(callback, PLUGIN_EXECUTOR);
-        }
+            callback.accept(event);
+        });
     }
 }
\ No newline at end of file
@@ -17,15 +17,24 @@
 package net.tridentsdk.server.ui.bossbar;
 
 import net.tridentsdk.doc.Policy;
+import net.tridentsdk.server.packet.play.PlayOutBossBar;
+import net.tridentsdk.server.player.TridentPlayer;
 import net.tridentsdk.ui.bossbar.BossBar;
 
 import java.util.Collections;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
+ * The base boss bar, which keeps the players viewing it and
+ * sends its changes to all of them once per tick, encoding
+ * one packet per changed attribute.
+ *
  * @author TridentSDK
  * @since 0.5-alpha
  */
@@ -39,6 +48,11 @@ public abstract class AbstractBossBar implements BossBar {
      * Set of used UUIDs to prevent conflicts
      */
     private static final Set<UUID> uuids = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /**
+     * The boss bars which have changes waiting to be
+     * flushed
+     */
+    private static final Queue<AbstractBossBar> DIRTY = new ConcurrentLinkedQueue<>();
 
     /**
      * The UUID of the boss bar
@@ -54,6 +68,15 @@ public abstract class AbstractBossBar implements BossBar {
     @Policy("Use STATE field to make changes")
     protected volatile int b;
 
+    /**
+     * The players viewing this boss bar
+     */
+    private final Set<TridentPlayer> viewers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /**
+     * Whether this boss bar is queued to be flushed
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
     /**
      * Creates a new boss bar and assigns a UUID
      */
@@ -73,13 +96,109 @@ public abstract class AbstractBossBar implements BossBar {
     }
 
     /**
-     * Unsets the changed flags of the boss bar
+     * Shows this boss bar to the given player.
+     *
+     * @param player the player
+     * @return {@code true} if the player was not already
+     * viewing this boss bar
+     */
+    public boolean addViewer(TridentPlayer player) {
+        if (this.viewers.add(player)) {
+            player.net().sendPacket(new PlayOutBossBar.Add(this));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Hides this boss bar from the given player.
+     *
+     * @param player the player
+     * @param sendPacket {@code true} to tell the client to
+     * remove the boss bar
+     * @return {@code true} if the player was viewing this
+     * boss bar
+     */
+    public boolean removeViewer(TridentPlayer player, boolean sendPacket) {
+        if (this.viewers.remove(player)) {
+            if (sendPacket) {
+                player.net().sendPacket(new PlayOutBossBar.Remove(this));
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Marks the given attribute as changed and queues this
+     * boss bar to be flushed on the next tick.
      *
-     * @param last the last state value that was read
-     * @return {@code false} if a retry is needed
+     * @param idx the index to set (described in
+     * {@link #b})
      */
-    public boolean unsetChanged(int last) {
-        return STATE.compareAndSet(this, last, 0);
+    protected void setChanged(int idx) {
+        int b;
+        do {
+            b = STATE.get(this);
+            // Check if bit already set
+            if ((b >>> idx & 1) == 1) {
+                break;
+            }
+        } while (!STATE.compareAndSet(this, b, b | 1 << idx));
+
+        if (this.dirty.compareAndSet(false, true)) {
+            DIRTY.add(this);
+        }
+    }
+
+    /**
+     * Sends the pending changes of every boss bar which
+     * has changed to its viewers.
+     *
+     * <p>Called once per tick by the tick thread.</p>
+     */
+    public static void flushAll() {
+        for (AbstractBossBar bar = DIRTY.poll(); bar != null; bar = DIRTY.poll()) {
+            // Unset before flushing so that changes made
+            // while flushing are queued for the next tick
+            bar.dirty.set(false);
+            bar.flush();
+        }
+    }
+
+    /**
+     * Sends the attributes which have changed since the
+     * last flush to every viewer, encoding one packet per
+     * changed attribute for all of them.
+     */
+    public synchronized void flush() {
+        int changed = STATE.getAndSet(this, 0);
+        if (changed == 0 || this.viewers.isEmpty()) {
+            return;
+        }
+
+        // The sky and dragon bar flags share one packet
+        PlayOutBossBar health = (changed >>> 2 & 1) == 1 ? new PlayOutBossBar.UpdateHealth(this) : null;
+        PlayOutBossBar title = (changed >>> 3 & 1) == 1 ? new PlayOutBossBar.UpdateTitle(this) : null;
+        PlayOutBossBar style = (changed >>> 1 & 1) == 1 ? new PlayOutBossBar.UpdateStyle(this) : null;
+        PlayOutBossBar flags = (changed & 0x11) != 0 ? new PlayOutBossBar.UpdateFlags(this) : null;
+
+        for (TridentPlayer player : this.viewers) {
+            if (health != null) {
+                player.net().sendPacket(health);
+            }
+            if (title != null) {
+                player.net().sendPacket(title);
+            }
+            if (style != null) {
+                player.net().sendPacket(style);
+            }
+            if (flags != null) {
+                player.net().sendPacket(flags);
+            }
+        }
     }
 
     @Override
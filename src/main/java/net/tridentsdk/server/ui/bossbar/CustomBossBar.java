@@ -18,7 +18,6 @@ package net.tridentsdk.server.ui.bossbar;
 
 import lombok.NoArgsConstructor;
 import net.tridentsdk.chat.ChatComponent;
-import net.tridentsdk.server.util.BitUtils;
 import net.tridentsdk.ui.bossbar.BossBarColor;
 import net.tridentsdk.ui.bossbar.BossBarDivision;
 
@@ -70,7 +69,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.title.get();
             if (title != null && !title.equals(old)) {
                 if (this.title.compareAndSet(old, title)) {
-                    this.casState(3);
+                    this.setChanged(3);
                     break;
                 }
             } else {
@@ -93,7 +92,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.health.get();
             if (old != n) {
                 if (this.health.compareAndSet(old, n)) {
-                    this.casState(2);
+                    this.setChanged(2);
                     break;
                 }
             } else {
@@ -114,7 +113,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.color.get();
             if (color != null && !color.equals(old)) {
                 if (this.color.compareAndSet(old, color)) {
-                    this.casState(1);
+                    this.setChanged(1);
                     break;
                 }
             } else {
@@ -135,7 +134,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.division.get();
             if (division != null && !division.equals(old)) {
                 if (this.division.compareAndSet(old, division)) {
-                    this.casState(1);
+                    this.setChanged(1);
                     break;
                 }
             } else {
@@ -157,7 +156,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.darkenSky.get();
             if (old != darkenSky) {
                 if (this.darkenSky.compareAndSet(old, darkenSky)) {
-                    this.casState(4);
+                    this.setChanged(4);
                     break;
                 }
             } else {
@@ -179,7 +178,7 @@ public class CustomBossBar extends AbstractBossBar {
             old = this.dragonBar.get();
             if (old != dragonBar) {
                 if (this.dragonBar.compareAndSet(old, dragonBar)) {
-                    this.casState(0);
+                    this.setChanged(0);
                     break;
                 }
             } else {
@@ -188,30 +187,6 @@ public class CustomBossBar extends AbstractBossBar {
         }
     }
 
-    /**
-     * Performs a compare and swap on the getState field which
-     * indicates whether or not a particular field has
-     * been changed yet.
-     *
-     * @param idx the index to cas (described in
-     * {@link AbstractBossBar#b})
-     */
-    private void casState(int idx) {
-        int b;
-        while (true) {
-            b = STATE.get(this);
-
-            // Check if bit already set
-            if ((b >>> idx & 1) == 1) {
-                break;
-            }
-
-            if (AbstractBossBar.STATE.compareAndSet(this, b, BitUtils.setBit(b, 0, true))) {
-                break;
-            }
-        }
-    }
-
     @Override
     public CustomBossBar clone() {
         return new CustomBossBar(ChatComponent.fromJson(this.title.get().asJson().getAsJsonObject()),
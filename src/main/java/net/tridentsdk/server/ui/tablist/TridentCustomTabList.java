@@ -17,12 +17,8 @@
 package net.tridentsdk.server.ui.tablist;
 
 import net.tridentsdk.chat.ChatComponent;
-import net.tridentsdk.server.packet.play.PlayOutTabListItem;
-import net.tridentsdk.server.player.TridentPlayer;
 
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Implementation of a custom tab list that may be added to
@@ -45,13 +41,8 @@ public class TridentCustomTabList extends TridentTabList {
             if(value != null) {
                 if (this.elements.size() > slot && this.elements.get(slot) != null) {
                     this.elements.get(slot).setDisplayName(value);
-
-                    PlayOutTabListItem.PlayOutTabListItemUpdateDisplayName packet = PlayOutTabListItem.updatePlayerPacket();
-                    packet.update(this.elements.get(slot).getUuid(), value);
-                    this.getUserList().forEach(player -> ((TridentPlayer) player).net().sendPacket(packet));
+                    this.queueDisplayName(this.elements.get(slot).getUuid(), value);
                 } else {
-                    List<TabListElement> addedElements = new ArrayList<>();
-
                     for (int i = 0; i < slot; i++) {
                         if (this.elements.size() == i || this.elements.get(i) == null) {
                             TabListElement blank = new TabListElement();
@@ -59,7 +50,7 @@ public class TridentCustomTabList extends TridentTabList {
                             blank.setBlank(true);
                             blank.setDisplayName(ChatComponent.empty());
                             this.elements.add(i, blank);
-                            addedElements.add(blank);
+                            this.queueAdd(blank);
                         }
                     }
 
@@ -68,41 +59,24 @@ public class TridentCustomTabList extends TridentTabList {
                     element.setName(this.getName(slot));
 
                     this.elements.add(slot, element);
-                    addedElements.add(element);
-
-                    if(addedElements.size() > 0) {
-                        PlayOutTabListItem.PlayOutTabListItemAddPlayer packet = PlayOutTabListItem.addPlayerPacket();
-                        addedElements.forEach(e -> packet.addPlayer(e.getUuid(), e.getName(), e.getGameMode(), e.getPing(), e.getDisplayName()));
-                        this.getUserList().forEach(player -> ((TridentPlayer) player).net().sendPacket(packet));
-                    }
+                    this.queueAdd(element);
                 }
             } else {
                 if (this.elements.size() > slot && this.elements.get(slot) != null) {
                     if (slot == this.elements.size() - 1) {
-                        List<TabListElement> removedElements = new ArrayList<>();
-
-                        removedElements.add(this.elements.get(slot));
-                        this.elements.remove(slot);
+                        this.queueRemove(this.elements.remove(slot).getUuid());
 
                         for (int i = this.elements.size() - 1; i >= 0; i--) {
                             if (this.elements.get(i).isBlank()) {
-                                removedElements.add(this.elements.get(i));
-                                this.elements.remove(i);
+                                this.queueRemove(this.elements.remove(i).getUuid());
                             } else {
                                 break;
                             }
                         }
-
-                        PlayOutTabListItem.PlayOutTabListItemRemovePlayer packet = PlayOutTabListItem.removePlayerPacket();
-                        removedElements.forEach(e -> packet.removePlayer(e.getUuid()));
-                        this.getUserList().forEach(player -> ((TridentPlayer) player).net().sendPacket(packet));
                     } else {
                         this.elements.get(slot).setDisplayName(ChatComponent.empty());
                         this.elements.get(slot).setBlank(true);
-
-                        PlayOutTabListItem.PlayOutTabListItemUpdateDisplayName packet = PlayOutTabListItem.updatePlayerPacket();
-                        packet.update(this.elements.get(slot).getUuid(), ChatComponent.empty());
-                        this.getUserList().forEach(player -> ((TridentPlayer) player).net().sendPacket(packet));
+                        this.queueDisplayName(this.elements.get(slot).getUuid(), ChatComponent.empty());
                     }
                 }
             }
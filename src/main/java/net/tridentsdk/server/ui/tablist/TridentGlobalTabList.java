@@ -22,7 +22,7 @@ import net.tridentsdk.doc.Policy;
 import net.tridentsdk.server.player.TridentPlayer;
 
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.Collection;
+import java.util.UUID;
 
 /**
  * Implementation of a global tablist, which contains all
@@ -55,15 +55,49 @@ public class TridentGlobalTabList extends TridentTabList {
         return null;
     }
 
-    @Override
-    public void update() {
+    /**
+     * Adds the given player to the tab list.
+     *
+     * @param player the player which has joined
+     */
+    public void add(TridentPlayer player) {
+        TabListElement element = new TabListElement(player);
         synchronized (this.lock) {
-            this.elements.clear();
+            this.elements.add(element);
+            this.queueAdd(element);
+        }
+    }
 
-            Collection<TridentPlayer> players = TridentPlayer.getPlayers().values();
-            players.forEach(p -> this.elements.add(new TabListElement(p)));
+    /**
+     * Removes the given player from the tab list.
+     *
+     * @param player the player which has left
+     */
+    public void remove(TridentPlayer player) {
+        UUID uuid = player.getUuid();
+        synchronized (this.lock) {
+            if (this.elements.removeIf(e -> e.getUuid().equals(uuid))) {
+                this.queueRemove(uuid);
+            }
         }
+    }
 
-        super.update();
+    /**
+     * Updates the display name shown for the given player.
+     *
+     * @param player the player whose name has changed
+     */
+    public void updateDisplayName(TridentPlayer player) {
+        UUID uuid = player.getUuid();
+        ChatComponent displayName = player.getDisplayName();
+        synchronized (this.lock) {
+            for (TabListElement element : this.elements) {
+                if (element.getUuid().equals(uuid)) {
+                    element.setDisplayName(displayName);
+                    this.queueDisplayName(uuid, displayName);
+                    return;
+                }
+            }
+        }
     }
-}
+}
\ No newline at end of file
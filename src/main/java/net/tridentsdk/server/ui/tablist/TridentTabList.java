@@ -28,21 +28,29 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The tab list implementation.
+ *
+ * <p>Changes to the elements are queued and coalesced,
+ * then sent to the subscribers once per tick by
+ * {@link #flushAll()} as at most one packet per action
+ * type.</p>
  */
 @ThreadSafe
 public abstract class TridentTabList implements TabList {
     /**
-     * The players which are displayed this tab list
+     * The tab lists which have changes waiting to be
+     * flushed
      */
-    protected final Collection<Player> users = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Queue<TridentTabList> DIRTY = new ConcurrentLinkedQueue<>();
+
     /**
-     * The last observed list of elements belonging to this
-     * tab list's subscribers
+     * The players which are displayed this tab list
      */
-    private final Set<TabListElement> lastSeen = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    protected final Collection<Player> users = Collections.newSetFromMap(new ConcurrentHashMap<>());
     /**
      * Elements of this tab list
      */
@@ -53,6 +61,32 @@ public abstract class TridentTabList implements TabList {
      */
     protected final Object lock = new Object();
 
+    /**
+     * The elements waiting to be added, in order
+     */
+    @GuardedBy("lock")
+    private Map<UUID, TabListElement> pendingAdd = new LinkedHashMap<>();
+    /**
+     * The elements waiting to be removed
+     */
+    @GuardedBy("lock")
+    private Set<UUID> pendingRemove = new LinkedHashSet<>();
+    /**
+     * The display names waiting to be updated
+     */
+    @GuardedBy("lock")
+    private Map<UUID, ChatComponent> pendingDisplayName = new LinkedHashMap<>();
+    /**
+     * The UUIDs of the elements which have been taken to be
+     * sent and not removed since
+     */
+    @GuardedBy("lock")
+    private final Set<UUID> sent = new HashSet<>();
+    /**
+     * Whether this tab list is queued to be flushed
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
     /**
      * The tab list header
      */
@@ -92,60 +126,167 @@ public abstract class TridentTabList implements TabList {
     }
 
     /**
-     * Sends the tab list to all subscribed players.
+     * Queues the given element to be added to the tab list
+     * of every subscriber.
+     *
+     * <p>The element is read when the change is flushed,
+     * so later changes to it need not be queued.</p>
+     *
+     * @param element the element which was added
      */
-    public void update() {
-        if (this.users.isEmpty())
-            return;
+    @GuardedBy("lock")
+    protected void queueAdd(TabListElement element) {
+        UUID uuid = element.getUuid();
+        this.pendingAdd.put(uuid, element);
+        this.pendingDisplayName.remove(uuid);
+        this.markDirty();
+    }
 
-        PlayOutPlayerListHeaderAndFooter headerAndFooterPacket = new PlayOutPlayerListHeaderAndFooter(this.header, this.footer);
-        PlayOutTabListItem.PlayOutTabListItemAddPlayer addPacket = PlayOutTabListItem.addPlayerPacket();
-        PlayOutTabListItem.PlayOutTabListItemRemovePlayer removePacket = PlayOutTabListItem.removePlayerPacket();
-        PlayOutTabListItem.PlayOutTabListItemUpdateDisplayName updatePacket = PlayOutTabListItem.updatePlayerPacket();
+    /**
+     * Queues the element with the given UUID to be removed
+     * from the tab list of every subscriber.
+     *
+     * @param uuid the UUID of the removed element
+     */
+    @GuardedBy("lock")
+    protected void queueRemove(UUID uuid) {
+        // An element that was never sent needs no removal,
+        // unless it was added again after being sent
+        if (this.pendingAdd.remove(uuid) == null || this.sent.contains(uuid)) {
+            this.pendingRemove.add(uuid);
+        }
+        this.pendingDisplayName.remove(uuid);
+        this.markDirty();
+    }
+
+    /**
+     * Queues a display name update for the element with
+     * the given UUID.
+     *
+     * @param uuid the UUID of the element
+     * @param displayName the new display name
+     */
+    @GuardedBy("lock")
+    protected void queueDisplayName(UUID uuid, ChatComponent displayName) {
+        if (!this.pendingAdd.containsKey(uuid)) {
+            this.pendingDisplayName.put(uuid, displayName);
+            this.markDirty();
+        }
+    }
+
+    /**
+     * Queues this tab list to be flushed on the next tick.
+     */
+    private void markDirty() {
+        if (this.dirty.compareAndSet(false, true)) {
+            DIRTY.add(this);
+        }
+    }
+
+    /**
+     * Sends the pending changes of every tab list which
+     * has changed to its subscribers.
+     *
+     * <p>Called once per tick by the tick thread.</p>
+     */
+    public static void flushAll() {
+        for (TridentTabList list = DIRTY.poll(); list != null; list = DIRTY.poll()) {
+            // Unset before flushing so that changes made
+            // while flushing are queued for the next tick
+            list.dirty.set(false);
+            list.flush();
+        }
+    }
+
+    /**
+     * The changes queued over a tick, taken from the tab
+     * list all at once.
+     */
+    static final class PendingChanges {
+        final Map<UUID, TabListElement> added;
+        final Set<UUID> removed;
+        final Map<UUID, ChatComponent> updated;
 
-        Map<UUID, TabListElement> lastSeen = new LinkedHashMap<>();
-        Map<UUID, TabListElement> current = new LinkedHashMap<>();
+        private PendingChanges(Map<UUID, TabListElement> added, Set<UUID> removed,
+                               Map<UUID, ChatComponent> updated) {
+            this.added = added;
+            this.removed = removed;
+            this.updated = updated;
+        }
+    }
 
-        this.lastSeen.forEach(e -> lastSeen.put(e.getUuid(), e));
+    /**
+     * Takes the changes queued since they were last taken,
+     * leaving nothing pending.
+     *
+     * @return the pending changes, or {@code null} if there
+     * are none
+     */
+    PendingChanges takePending() {
         synchronized (this.lock) {
-            this.elements.forEach(e -> current.put(e.getUuid(), e));
+            if (this.pendingAdd.isEmpty() && this.pendingRemove.isEmpty() && this.pendingDisplayName.isEmpty()) {
+                return null;
+            }
+
+            // Removes are sent before adds
+            this.sent.removeAll(this.pendingRemove);
+            this.sent.addAll(this.pendingAdd.keySet());
+
+            PendingChanges changes = new PendingChanges(this.pendingAdd, this.pendingRemove, this.pendingDisplayName);
+            this.pendingAdd = new LinkedHashMap<>();
+            this.pendingRemove = new LinkedHashSet<>();
+            this.pendingDisplayName = new LinkedHashMap<>();
+            return changes;
         }
+    }
 
-        if (current.containsKey(null)) {
-            throw new IllegalStateException("tablist currently has a null uuid (= " + current.get(null) + ")");
+    /**
+     * Sends the pending changes to all subscribed players,
+     * encoding each packet once for all of them.
+     */
+    private void flush() {
+        PendingChanges changes = this.takePending();
+        if (changes == null || this.users.isEmpty()) {
+            return;
         }
 
-        lastSeen.entrySet()
-                .stream()
-                .filter(e -> !current.containsKey(e.getKey()))
-                .forEach(e -> removePacket.removePlayer(e.getKey()));
+        Map<UUID, TabListElement> added = changes.added;
+        Set<UUID> removed = changes.removed;
+        Map<UUID, ChatComponent> updated = changes.updated;
 
-        current.entrySet()
-                .stream()
-                .filter(e -> !lastSeen.containsKey(e.getKey()))
-                .forEach(e -> addPacket.addPlayer(e.getValue()));
+        PlayOutTabListItem.PlayOutTabListItemRemovePlayer removePacket = null;
+        if (!removed.isEmpty()) {
+            removePacket = PlayOutTabListItem.removePlayerPacket();
+            for (UUID uuid : removed) {
+                removePacket.removePlayer(uuid);
+            }
+        }
 
-        current.entrySet()
-                .stream()
-                .filter(e -> lastSeen.containsKey(e.getKey()))
-                .filter(e -> !Objects.equals(e.getValue().getDisplayName(), lastSeen.get(e.getKey()).getDisplayName()))
-                .forEach(e -> updatePacket.update(e.getKey(), e.getValue().getDisplayName()));
+        PlayOutTabListItem.PlayOutTabListItemAddPlayer addPacket = null;
+        if (!added.isEmpty()) {
+            addPacket = PlayOutTabListItem.addPlayerPacket();
+            for (TabListElement element : added.values()) {
+                addPacket.addPlayer(element);
+            }
+        }
 
-        synchronized (this.lock) {
-            this.lastSeen.clear();
-            this.lastSeen.addAll(this.elements);
+        PlayOutTabListItem.PlayOutTabListItemUpdateDisplayName updatePacket = null;
+        if (!updated.isEmpty()) {
+            updatePacket = PlayOutTabListItem.updatePlayerPacket();
+            for (Map.Entry<UUID, ChatComponent> entry : updated.entrySet()) {
+                updatePacket.update(entry.getKey(), entry.getValue());
+            }
         }
 
-        this.users.forEach(p -> {
+        for (Player p : this.users) {
             TridentPlayer player = (TridentPlayer) p;
-            if (removePacket.getActionCount() > 0)
+            if (removePacket != null)
                 player.net().sendPacket(removePacket);
-            if (addPacket.getActionCount() > 0)
+            if (addPacket != null)
                 player.net().sendPacket(addPacket);
-            if (updatePacket.getActionCount() > 0)
+            if (updatePacket != null)
                 player.net().sendPacket(updatePacket);
-            player.net().sendPacket(headerAndFooterPacket);
-        });
+        }
     }
 
     public void forceSend(TridentPlayer player) {
@@ -16,6 +16,8 @@
  */
 package net.tridentsdk.server.util;
 
+import net.tridentsdk.server.concurrent.ServerThreadPool;
+
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -23,6 +25,9 @@ import java.util.concurrent.CountDownLatch;
  * useful for preventing boilerplate in lambdas and places
  * where an exception should be rethrown by a
  * {@link RuntimeException}.
+ *
+ * <p>Waiting on this latch from a work stealing pool
+ * allows the pool to compensate for the blocked thread.</p>
  */
 public class UncheckedCdl extends CountDownLatch {
     public UncheckedCdl(int count) {
@@ -32,7 +37,7 @@ public class UncheckedCdl extends CountDownLatch {
     @Override
     public void await() {
         try {
-            super.await();
+            ServerThreadPool.await(this);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
@@ -86,6 +86,18 @@ public class ChunkMap {
         }
     }
 
+    /**
+     * Copies the loaded chunks into an array which may be
+     * iterated without holding the lock.
+     *
+     * @return the loaded chunks
+     */
+    public TridentChunk[] snapshot() {
+        synchronized (this.lock) {
+            return this.chunks.values().toArray(new TridentChunk[0]);
+        }
+    }
+
     /**
      * All of the loaded chunks.
      *
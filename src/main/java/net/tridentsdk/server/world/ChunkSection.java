@@ -22,6 +22,7 @@ import net.tridentsdk.server.util.ShortArrayList;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLongArray;
 
 import static net.tridentsdk.server.net.NetData.wvint;
@@ -71,6 +72,11 @@ public class ChunkSection {
      * The flag for writing skylight in other dimensions
      */
     private final boolean doSkylight;
+    /**
+     * The amount of blocks in this section which are not
+     * air
+     */
+    private final AtomicInteger nonAir = new AtomicInteger();
 
     /**
      * Creates a new chunk section.
@@ -124,9 +130,27 @@ public class ChunkSection {
             newLong = (oldLong & and) | or;
         }
         while (!this.data.compareAndSet(dataIdx, oldLong, newLong));
+
+        // Palette index 0 is always air
+        long oldPaletteIdx = (oldLong >>> shift) & (1 << bitsPerBlock) - 1;
+        if (oldPaletteIdx == 0 && paletteIdx != 0) {
+            this.nonAir.incrementAndGet();
+        } else if (oldPaletteIdx != 0 && paletteIdx == 0) {
+            this.nonAir.decrementAndGet();
+        }
         // TODO relighting
     }
 
+    /**
+     * Determines whether or not this section contains only
+     * air blocks.
+     *
+     * @return {@code true} if every block is air
+     */
+    public boolean isEmpty() {
+        return this.nonAir.get() == 0;
+    }
+
     /**
      * Obtains the data for a block contained in this chunk
      * section with the given position.
@@ -30,6 +30,7 @@ import net.tridentsdk.world.opt.Dimension;
 import net.tridentsdk.world.opt.GenOpts;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -255,6 +256,19 @@ public class TridentChunk implements Chunk {
         return this.heights.get(x << 4 | z & 0xF);
     }
 
+    /**
+     * Obtains the section at the given section index.
+     *
+     * @param idx the index of the section, which is the
+     * block Y coordinate shifted right by 4
+     * @return the section, or {@code null} if it has not
+     * been created
+     */
+    @Nullable
+    public ChunkSection sectionAt(int idx) {
+        return this.sections.get(idx);
+    }
+
     /**
      * Obtains the stored block data at the given relative
      * coordinates in the chunk.
@@ -271,7 +285,7 @@ public class TridentChunk implements Chunk {
             return 0;
         }
 
-        return section.dataAt(y << 8 | z << 4 | x);
+        return section.dataAt((y & 15) << 8 | z << 4 | x);
     }
 
     /**
@@ -296,6 +310,6 @@ public class TridentChunk implements Chunk {
             }
         }
 
-        section.set(y << 8 | z << 4 | x, state);
+        section.set((y & 15) << 8 | z << 4 | x, state);
     }
 }
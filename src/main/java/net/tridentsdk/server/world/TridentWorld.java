@@ -24,6 +24,7 @@ import net.tridentsdk.server.concurrent.PoolSpec;
 import net.tridentsdk.server.concurrent.ServerThreadPool;
 import net.tridentsdk.server.world.opt.GenOptImpl;
 import net.tridentsdk.server.world.opt.WorldOptImpl;
+import net.tridentsdk.server.world.tick.WorldTicker;
 import net.tridentsdk.world.Chunk;
 import net.tridentsdk.world.IntPair;
 import net.tridentsdk.world.World;
@@ -52,6 +53,10 @@ public class TridentWorld implements World {
      * call to the ticking handler
      */
     private final Runnable tickingTask = this::doTick;
+    /**
+     * The ticker which simulates the blocks in this world
+     */
+    private final WorldTicker ticker = new WorldTicker(this);
 
     /**
      * The chunk collection
@@ -118,6 +123,7 @@ public class TridentWorld implements World {
 
     // Ticking implementation
     private void doTick() {
+        this.ticker.tick();
     }
 
     @Override
@@ -171,6 +177,16 @@ public class TridentWorld implements World {
         return Collections.unmodifiableCollection(this.chunks.values());
     }
 
+    /**
+     * Copies the chunks which are currently loaded into an
+     * array.
+     *
+     * @return the loaded chunks
+     */
+    public TridentChunk[] loadedChunks() {
+        return this.chunks.snapshot();
+    }
+
     @Override
     public int getHighestY(int x, int z) {
         return this.getChunkAt(x >> 4, z >> 4).getHighestY(x & 15, z & 15);
@@ -0,0 +1,42 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.world.tick;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Behavior run when a block of a certain type is picked
+ * by the random tick sampler, e.g. crop growth.
+ *
+ * <p>Handlers are run in parallel for separate regions of
+ * the world, so they must only access blocks through the
+ * given region.</p>
+ */
+@FunctionalInterface
+public interface RandomTickHandler {
+    /**
+     * Ticks the block at the given world coordinates.
+     *
+     * @param region the region being ticked
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @param state the block state that was sampled
+     * @param random the random to use for this tick
+     */
+    void tick(TickRegion region, int x, int y, int z, short state, ThreadLocalRandom random);
+}
@@ -0,0 +1,133 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.world.tick;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The registry of the random tick behavior for each block
+ * type.
+ */
+@ThreadSafe
+public final class RandomTicks {
+    // Block IDs
+    private static final int AIR = 0;
+    private static final int WHEAT = 59;
+    private static final int CACTUS = 81;
+    private static final int SUGAR_CANE = 83;
+    private static final int CARROTS = 141;
+    private static final int POTATOES = 142;
+    private static final int BEETROOTS = 207;
+
+    /**
+     * The chance out of which a crop grows a stage when it
+     * is ticked
+     */
+    private static final int CROP_GROWTH_CHANCE = 5;
+    /**
+     * The tallest that a column of cactus or sugar cane
+     * may grow
+     */
+    private static final int MAX_COLUMN_HEIGHT = 3;
+
+    /**
+     * The handlers indexed by block ID
+     */
+    private static final AtomicReferenceArray<RandomTickHandler> HANDLERS = new AtomicReferenceArray<>(4096);
+
+    static {
+        register(WHEAT, crop(7));
+        register(CARROTS, crop(7));
+        register(POTATOES, crop(7));
+        register(BEETROOTS, crop(3));
+        register(CACTUS, RandomTicks::growColumn);
+        register(SUGAR_CANE, RandomTicks::growColumn);
+    }
+
+    // Prevent instantiation
+    private RandomTicks() {
+    }
+
+    /**
+     * Sets the behavior run when a block with the given ID
+     * is randomly ticked.
+     *
+     * @param id the block ID
+     * @param handler the handler, or {@code null} to remove
+     */
+    public static void register(int id, @Nullable RandomTickHandler handler) {
+        HANDLERS.set(id, handler);
+    }
+
+    /**
+     * Obtains the handler for the given block state.
+     *
+     * @param state the block state
+     * @return the handler, or {@code null} if the block
+     * does not do anything when ticked
+     */
+    @Nullable
+    public static RandomTickHandler handler(short state) {
+        return HANDLERS.get((state & 0xFFFF) >>> 4);
+    }
+
+    /**
+     * Creates a crop handler which increases the block
+     * meta up to the given max stage.
+     *
+     * @param maxStage the fully grown stage
+     * @return the crop handler
+     */
+    private static RandomTickHandler crop(int maxStage) {
+        return (region, x, y, z, state, random) -> {
+            int stage = state & 0xF;
+            if (stage < maxStage && random.nextInt(CROP_GROWTH_CHANCE) == 0) {
+                region.set(x, y, z, state, (short) (state & ~0xF | stage + 1));
+            }
+        };
+    }
+
+    /**
+     * Grows cactus and sugar cane columns by one block
+     * once the top block has aged fully.
+     */
+    private static void growColumn(TickRegion region, int x, int y, int z, short state, ThreadLocalRandom random) {
+        if (y >= 255 || region.get(x, y + 1, z) >> 4 != AIR) {
+            return;
+        }
+
+        int id = state >> 4;
+        int height = 1;
+        while (height < MAX_COLUMN_HEIGHT && y - height >= 0 && region.get(x, y - height, z) >> 4 == id) {
+            height++;
+        }
+        if (height >= MAX_COLUMN_HEIGHT) {
+            return;
+        }
+
+        int age = state & 0xF;
+        if (age == 15) {
+            region.set(x, y + 1, z, (short) 0, (short) (id << 4));
+            region.set(x, y, z, state, (short) (id << 4));
+        } else {
+            region.set(x, y, z, state, (short) (state + 1));
+        }
+    }
+}
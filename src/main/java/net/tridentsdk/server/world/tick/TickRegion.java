@@ -0,0 +1,271 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.world.tick;
+
+import net.tridentsdk.server.world.ChunkSection;
+import net.tridentsdk.server.world.TridentChunk;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A square group of chunks which is ticked independently
+ * of, and in parallel with, the other regions of the
+ * world.
+ *
+ * <p>Block changes inside of the region are applied as
+ * they happen, while changes to blocks outside of the
+ * region are deferred until every region has finished
+ * ticking in order to prevent two regions from writing to
+ * the same chunk at once.</p>
+ */
+@NotThreadSafe
+public final class TickRegion extends RecursiveAction {
+    /**
+     * The shift from chunk coordinates to region
+     * coordinates, i.e. regions are 4x4 chunks
+     */
+    public static final int SHIFT = 2;
+    /**
+     * The width of a region in chunks
+     */
+    private static final int SIZE = 1 << SHIFT;
+    /**
+     * The width of the region including the ring of
+     * neighboring chunks which may be read by block ticks
+     */
+    private static final int SPAN = SIZE + 2;
+    /**
+     * The amount of random blocks ticked per section,
+     * equivalent to the default randomTickSpeed
+     */
+    private static final int RANDOM_TICKS = 3;
+
+    /**
+     * The x coordinate of the first chunk in the region
+     */
+    private final int baseX;
+    /**
+     * The z coordinate of the first chunk in the region
+     */
+    private final int baseZ;
+    /**
+     * The loaded chunks in the region and the ring of chunks
+     * around it, see {@link #index(int, int)}
+     */
+    private final TridentChunk[] chunks = new TridentChunk[SPAN * SPAN];
+    /**
+     * The changes to blocks outside of the region
+     */
+    private final List<DeferredSet> deferred = new ArrayList<>();
+
+    /**
+     * Creates a new region.
+     *
+     * @param regionX the region x
+     * @param regionZ the region z
+     */
+    public TickRegion(int regionX, int regionZ) {
+        this.baseX = regionX << SHIFT;
+        this.baseZ = regionZ << SHIFT;
+    }
+
+    /**
+     * Adds the given loaded chunk to the region.
+     *
+     * @param chunk the chunk, which must be inside of the
+     * region
+     */
+    public void add(TridentChunk chunk) {
+        this.chunks[this.index(chunk.getX(), chunk.getZ())] = chunk;
+    }
+
+    /**
+     * Resolves the loaded chunks around this region so that
+     * ticking never has to look up chunks in the world,
+     * which would contend on the world's chunk lock.
+     *
+     * @param loaded the loaded chunks of the world, keyed by
+     * {@link #key(int, int)}
+     */
+    public void resolveNeighbors(Map<Long, TridentChunk> loaded) {
+        for (int cx = this.baseX - 1; cx <= this.baseX + SIZE; cx++) {
+            for (int cz = this.baseZ - 1; cz <= this.baseZ + SIZE; cz++) {
+                if (!this.contains(cx, cz)) {
+                    this.chunks[this.index(cx, cz)] = loaded.get(key(cx, cz));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the key of a chunk or region from its
+     * coordinates.
+     *
+     * @param x the x coordinate
+     * @param z the z coordinate
+     * @return the key
+     */
+    public static long key(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    @Override
+    protected void compute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int n = 0; n < SIZE * SIZE; n++) {
+            TridentChunk chunk = this.chunks[this.index(this.baseX + n / SIZE, this.baseZ + n % SIZE)];
+            if (chunk == null) {
+                continue;
+            }
+
+            int cx = chunk.getX() << 4;
+            int cz = chunk.getZ() << 4;
+            for (int sy = 0; sy < 16; sy++) {
+                ChunkSection section = chunk.sectionAt(sy);
+                if (section == null || section.isEmpty()) {
+                    continue;
+                }
+
+                for (int i = 0; i < RANDOM_TICKS; i++) {
+                    int idx = random.nextInt(4096);
+                    short state = section.dataAt(idx);
+                    RandomTickHandler handler = RandomTicks.handler(state);
+                    if (handler != null) {
+                        handler.tick(this, cx | idx & 15, sy << 4 | idx >> 8, cz | idx >> 4 & 15, state, random);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains the block state at the given world
+     * coordinates.
+     *
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @return the block state, or {@code 0} (air) if the
+     * chunk is not loaded
+     */
+    public short get(int x, int y, int z) {
+        TridentChunk chunk = this.chunk(x >> 4, z >> 4);
+        if (chunk == null || y < 0 || y > 255) {
+            return 0;
+        }
+
+        return chunk.get(x & 15, y, z & 15);
+    }
+
+    /**
+     * Sets the block at the given world coordinates if it
+     * still has the expected state.
+     *
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @param expect the state that the block had when the
+     * change was decided
+     * @param state the new state
+     */
+    public void set(int x, int y, int z, short expect, short state) {
+        if (y < 0 || y > 255) {
+            return;
+        }
+
+        int cx = x >> 4;
+        int cz = z >> 4;
+        if (this.contains(cx, cz)) {
+            TridentChunk chunk = this.chunks[this.index(cx, cz)];
+            if (chunk != null && chunk.get(x & 15, y, z & 15) == expect) {
+                chunk.set(x & 15, y, z & 15, state);
+            }
+        } else {
+            this.deferred.add(new DeferredSet(x, y, z, expect, state));
+        }
+    }
+
+    /**
+     * Applies the changes made by this region to blocks
+     * outside of it, must only be called once all regions
+     * have finished ticking.
+     */
+    public void merge() {
+        for (DeferredSet set : this.deferred) {
+            TridentChunk chunk = this.chunk(set.x >> 4, set.z >> 4);
+            if (chunk != null && chunk.get(set.x & 15, set.y, set.z & 15) == set.expect) {
+                chunk.set(set.x & 15, set.y, set.z & 15, set.state);
+            }
+        }
+        this.deferred.clear();
+    }
+
+    /**
+     * Determines whether the chunk at the given
+     * coordinates is in this region.
+     */
+    private boolean contains(int cx, int cz) {
+        return cx >= this.baseX && cx < this.baseX + SIZE &&
+                cz >= this.baseZ && cz < this.baseZ + SIZE;
+    }
+
+    /**
+     * Obtains the index of the chunk at the given chunk
+     * coordinates, which must be in the region or the ring
+     * around it.
+     */
+    private int index(int cx, int cz) {
+        return (cx - this.baseX + 1) * SPAN + cz - this.baseZ + 1;
+    }
+
+    /**
+     * Obtains the loaded chunk at the given chunk
+     * coordinates, or {@code null} if it is not loaded or is
+     * too far from the region to have been resolved.
+     */
+    private TridentChunk chunk(int cx, int cz) {
+        if (cx < this.baseX - 1 || cx > this.baseX + SIZE || cz < this.baseZ - 1 || cz > this.baseZ + SIZE) {
+            return null;
+        }
+
+        return this.chunks[this.index(cx, cz)];
+    }
+
+    /**
+     * A block change to be applied during the merge.
+     */
+    private static final class DeferredSet {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final short expect;
+        private final short state;
+
+        DeferredSet(int x, int y, int z, short expect, short state) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.expect = expect;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.world.tick;
+
+import net.tridentsdk.server.world.TridentChunk;
+import net.tridentsdk.server.world.TridentWorld;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Simulates the blocks in a world by splitting its loaded
+ * chunks into {@link TickRegion}s which are ticked in
+ * parallel, followed by a merge step which applies the
+ * effects that crossed region boundaries.
+ */
+@ThreadSafe
+public final class WorldTicker {
+    /**
+     * The world being ticked
+     */
+    private final TridentWorld world;
+    /**
+     * Whether or not a tick is currently running, prevents
+     * ticks from piling up if the world falls behind
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Creates a new ticker for the given world.
+     *
+     * @param world the world to tick
+     */
+    public WorldTicker(TridentWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Runs a single world tick, which should be called
+     * from the {@code WORLDS} pool so that the regions are
+     * forked into the same pool.
+     *
+     * @return {@code false} if the tick was skipped because
+     * the previous tick has yet to finish
+     */
+    public boolean tick() {
+        if (!this.running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            TridentChunk[] chunks = this.world.loadedChunks();
+            Map<Long, TridentChunk> loaded = new HashMap<>(chunks.length * 2);
+            Map<Long, TickRegion> regions = new HashMap<>();
+            for (TridentChunk chunk : chunks) {
+                loaded.put(TickRegion.key(chunk.getX(), chunk.getZ()), chunk);
+
+                int rx = chunk.getX() >> TickRegion.SHIFT;
+                int rz = chunk.getZ() >> TickRegion.SHIFT;
+                regions.computeIfAbsent(TickRegion.key(rx, rz), k -> new TickRegion(rx, rz)).add(chunk);
+            }
+
+            // Resolved up front, regions never touch the
+            // world's chunk map while ticking
+            for (TickRegion region : regions.values()) {
+                region.resolveNeighbors(loaded);
+            }
+
+            ForkJoinTask.invokeAll(regions.values());
+
+            for (TickRegion region : regions.values()) {
+                region.merge();
+            }
+        } finally {
+            this.running.set(false);
+        }
+
+        return true;
+    }
+}
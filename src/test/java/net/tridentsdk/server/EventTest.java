@@ -80,6 +80,11 @@ public class EventTest {
         cdl.await();
     }
 
+    @Benchmark
+    public TestEvent fire() {
+        return TridentEventController.getInstance().fire(this.event);
+    }
+
     @ListenerOpts(order = DispatchOrder.LAST)
     public void testLastOverride(TestEvent event) {
         event.increment();
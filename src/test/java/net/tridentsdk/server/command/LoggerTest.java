@@ -76,7 +76,8 @@ public class LoggerTest {
 
         PipelinedLogger underlying = new DefaultLogger();
         PipelinedLogger colorizer = new ColorizerLogger(underlying);
-        PipelinedLogger debugger = DebugLogger.noop(colorizer);
+        PipelinedLogger console = new ConsoleRenderer(colorizer);
+        PipelinedLogger debugger = DebugLogger.noop(console);
         PipelinedLogger handler = new LoggerHandlers(debugger);
         PipelinedLogger file = null;
         try {
@@ -89,12 +90,14 @@ public class LoggerTest {
     }
 
     private volatile String print;
+    private volatile String colored;
 
     @Setup(Level.Iteration)
     public void setup() {
         byte[] barray = new byte[64];
         ThreadLocalRandom.current().nextBytes(barray);
         this.print = new String(barray);
+        this.colored = "\u00A7a" + this.print.substring(0, 32) + "\u00A7e" + this.print.substring(32);
     }
 
     @TearDown(Level.Iteration)
@@ -106,4 +109,14 @@ public class LoggerTest {
     public void log() {
         this.logger.log(this.print);
     }
+
+    @Benchmark
+    public void logColored() {
+        this.logger.log(this.colored);
+    }
+
+    @Benchmark
+    public void warn() {
+        this.logger.warn(this.print);
+    }
 }
\ No newline at end of file
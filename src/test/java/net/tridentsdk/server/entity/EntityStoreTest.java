@@ -0,0 +1,180 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.entity;
+
+import net.tridentsdk.world.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+public class EntityStoreTest {
+    private static final double UNITS = 32 * 128;
+
+    private final EntityStore store = EntityStore.getInstance();
+    private final World world = newWorld();
+    private int slot;
+    private int generation;
+
+    private static World newWorld() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[] { World.class },
+                (proxy, method, args) -> method.getName().equals("equals") ? proxy == args[0] : null);
+    }
+
+    private static long toFixed(double coordinate) {
+        return (long) Math.floor(coordinate * UNITS);
+    }
+
+    @Before
+    public void setUp() {
+        this.slot = this.store.allocate(0, null, this.world);
+        this.generation = this.store.getGeneration(this.slot);
+        this.store.setPosition(this.slot, this.generation, this.world, 0, 64, 0, 0, 0);
+    }
+
+    @After
+    public void tearDown() {
+        this.store.free(this.slot, this.generation);
+    }
+
+    private long move(double x, double y, double z) {
+        return this.store.move(this.slot, this.generation, this.world, x, y, z, 0, 0);
+    }
+
+    @Test
+    public void smallMovePacksDeltas() {
+        long move = this.move(1.5, 63.25, -2);
+        assertEquals(0, move & (EntityStore.MOVE_TELEPORT | EntityStore.MOVE_LOOK));
+        assertEquals(6144, EntityStore.deltaX(move));
+        assertEquals(-3072, EntityStore.deltaY(move));
+        assertEquals(-8192, EntityStore.deltaZ(move));
+    }
+
+    @Test
+    public void lookChangeIsFlagged() {
+        long move = this.store.move(this.slot, this.generation, this.world, 0, 64, 0, 90, 0);
+        assertEquals(EntityStore.MOVE_LOOK, move);
+
+        move = this.store.move(this.slot, this.generation, this.world, 0, 64, 0, 90, 0);
+        assertEquals(0, move);
+    }
+
+    @Test
+    public void shortRangeEdges() {
+        long move = this.move(Short.MAX_VALUE / UNITS, 64, 0);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(Short.MAX_VALUE, EntityStore.deltaX(move));
+
+        move = this.move(0, 64, 0);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(-Short.MAX_VALUE, EntityStore.deltaX(move));
+
+        move = this.move(0, 64 + Short.MIN_VALUE / UNITS, 0);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(Short.MIN_VALUE, EntityStore.deltaY(move));
+    }
+
+    @Test
+    public void overflowTeleports() {
+        long move = this.move(0, 64, 8);
+        assertEquals(EntityStore.MOVE_TELEPORT, move);
+        assertEquals(0, EntityStore.deltaZ(move));
+
+        move = this.move(-8.001, 64, 8);
+        assertEquals(EntityStore.MOVE_TELEPORT, move);
+
+        // Later moves are relative to where it teleported
+        move = this.move(-8, 64, 8);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(toFixed(-8) - toFixed(-8.001), EntityStore.deltaX(move));
+        assertEquals(0, EntityStore.deltaZ(move));
+    }
+
+    @Test
+    public void worldChangeTeleports() {
+        World other = newWorld();
+        long move = this.store.move(this.slot, this.generation, other, 0.5, 64, 0, 0, 0);
+        assertEquals(EntityStore.MOVE_TELEPORT, move);
+        assertSame(other, this.store.getWorld(this.slot));
+
+        move = this.store.move(this.slot, this.generation, other, 1, 64, 0, 0, 0);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(2048, EntityStore.deltaX(move));
+    }
+
+    @Test
+    public void roundingDoesNotDrift() {
+        double startX = 0.3;
+        double startZ = -17.7;
+        this.store.setPosition(this.slot, this.generation, this.world, startX, 64, startZ, 0, 0);
+
+        double x = startX;
+        double z = startZ;
+        long sumX = 0;
+        long sumZ = 0;
+        for (int i = 0; i < 1000; i++) {
+            x += 0.1;
+            z -= 0.037;
+            long move = this.move(x, 64, z);
+            assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+            sumX += EntityStore.deltaX(move);
+            sumZ += EntityStore.deltaZ(move);
+        }
+
+        assertEquals(toFixed(x) - toFixed(startX), sumX);
+        assertEquals(toFixed(z) - toFixed(startZ), sumZ);
+        assertEquals(x, this.store.getX(this.slot), 0);
+        assertEquals(z, this.store.getZ(this.slot), 0);
+    }
+
+    @Test
+    public void deadHandleDoesNotMove() {
+        int slot = this.slot;
+        int generation = this.generation;
+        assertTrue(this.store.free(slot, generation));
+
+        this.slot = this.store.allocate(0, null, this.world);
+        this.generation = this.store.getGeneration(this.slot);
+        assertEquals(0, this.store.move(slot, generation, this.world, 100, 100, 100, 0, 0));
+        assertNull(this.store.getPosition(slot, generation));
+        assertFalse(this.store.free(slot, generation));
+        if (this.slot == slot) {
+            assertEquals(0, this.store.getX(this.slot), 0);
+        }
+    }
+
+    @Test
+    public void physicsUpdatesSentPosition() {
+        this.store.setFlag(this.slot, this.generation, EntityStore.PHYSICS, true);
+        this.store.setFlag(this.slot, this.generation, EntityStore.ON_GROUND, true);
+        this.store.setVelocity(this.slot, this.generation, 0.5, 0, -0.25);
+        this.store.tickPhysics(Runnable::run);
+
+        assertEquals(0.5, this.store.getX(this.slot), 0);
+        assertEquals(-0.25, this.store.getZ(this.slot), 0);
+
+        // The next move is relative to where physics left it
+        this.store.setFlag(this.slot, this.generation, EntityStore.PHYSICS, false);
+        long move = this.move(0, 64, 0);
+        assertEquals(0, move & EntityStore.MOVE_TELEPORT);
+        assertEquals(-2048, EntityStore.deltaX(move));
+        assertEquals(1024, EntityStore.deltaZ(move));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.player;
+
+import net.tridentsdk.world.World;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ChunkViewTrackerTest {
+    private static final World WORLD = newWorld();
+    private static final ChunkViewTracker.ChunkConsumer FAIL = (x, z) -> fail("Unexpected chunk " + x + ", " + z);
+
+    private static World newWorld() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[] { World.class },
+                (proxy, method, args) -> method.getName().equals("equals") ? proxy == args[0] : null);
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    private static Set<Long> square(int cx, int cz, int radius) {
+        Set<Long> set = new HashSet<>();
+        for (int x = cx - radius; x <= cx + radius; x++) {
+            for (int z = cz - radius; z <= cz + radius; z++) {
+                set.add(key(x, z));
+            }
+        }
+        return set;
+    }
+
+    private static Set<Long> minus(Set<Long> a, Set<Long> b) {
+        Set<Long> set = new HashSet<>(a);
+        set.removeAll(b);
+        return set;
+    }
+
+    /**
+     * Moves the tracker and checks that exactly the chunks
+     * entering and leaving the view are passed, each once.
+     */
+    private static void assertMove(ChunkViewTracker tracker, World world, int ox, int oz, int or, int cx, int cz, int r) {
+        List<Long> loaded = new ArrayList<>();
+        List<Long> unloaded = new ArrayList<>();
+        tracker.update(world, cx, cz, r, (x, z) -> loaded.add(key(x, z)), (x, z) -> unloaded.add(key(x, z)));
+
+        Set<Long> before = square(ox, oz, or);
+        Set<Long> after = square(cx, cz, r);
+        assertEquals(minus(after, before), new HashSet<>(loaded));
+        assertEquals(loaded.size(), new HashSet<>(loaded).size());
+        assertEquals(minus(before, after), new HashSet<>(unloaded));
+        assertEquals(unloaded.size(), new HashSet<>(unloaded).size());
+    }
+
+    @Test
+    public void initialLoadIsSpiral() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        List<int[]> loaded = new ArrayList<>();
+        tracker.update(WORLD, 5, -3, 4, (x, z) -> loaded.add(new int[] { x - 5, z + 3 }), FAIL);
+
+        assertEquals(81, loaded.size());
+        assertArrayEquals(new int[] { 0, 0 }, loaded.get(0));
+
+        int lastRing = 0;
+        int lastDist = 0;
+        for (int[] offset : loaded) {
+            int ring = Math.max(Math.abs(offset[0]), Math.abs(offset[1]));
+            int dist = offset[0] * offset[0] + offset[1] * offset[1];
+            assertTrue(ring >= lastRing);
+            if (ring == lastRing) {
+                assertTrue(dist >= lastDist);
+            }
+
+            lastRing = ring;
+            lastDist = dist;
+        }
+    }
+
+    @Test
+    public void diagonalMove() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 2, (x, z) -> {}, FAIL);
+        assertMove(tracker, WORLD, 0, 0, 2, 1, 1, 2);
+        assertMove(tracker, WORLD, 1, 1, 2, -2, -2, 2);
+    }
+
+    @Test
+    public void diagonalMoveCounts() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 2, (x, z) -> {}, FAIL);
+
+        int[] counts = new int[2];
+        tracker.update(WORLD, 1, 1, 2, (x, z) -> counts[0]++, (x, z) -> counts[1]++);
+        assertEquals(9, counts[0]);
+        assertEquals(9, counts[1]);
+    }
+
+    @Test
+    public void teleportFarAway() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 3, (x, z) -> {}, FAIL);
+        assertMove(tracker, WORLD, 0, 0, 3, 100, -100, 3);
+    }
+
+    @Test
+    public void radiusChange() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 3, (x, z) -> {}, FAIL);
+
+        int[] counts = new int[2];
+        tracker.update(WORLD, 0, 0, 1, (x, z) -> counts[0]++, (x, z) -> counts[1]++);
+        assertEquals(0, counts[0]);
+        assertEquals(40, counts[1]);
+
+        counts[0] = counts[1] = 0;
+        tracker.update(WORLD, 0, 0, 3, (x, z) -> counts[0]++, (x, z) -> counts[1]++);
+        assertEquals(40, counts[0]);
+        assertEquals(0, counts[1]);
+
+        assertMove(tracker, WORLD, 0, 0, 3, 2, 1, 5);
+        assertMove(tracker, WORLD, 2, 1, 5, 3, 3, 2);
+    }
+
+    @Test
+    public void unchangedUpdateDoesNothing() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 7, 7, 2, (x, z) -> {}, FAIL);
+        tracker.update(WORLD, 7, 7, 2, FAIL, FAIL);
+    }
+
+    @Test
+    public void containsAndClear() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        assertFalse(tracker.contains(WORLD, 0, 0));
+
+        tracker.update(WORLD, -10, 20, 2, (x, z) -> {}, FAIL);
+        assertTrue(tracker.contains(WORLD, -10, 20));
+        assertTrue(tracker.contains(WORLD, -12, 22));
+        assertFalse(tracker.contains(WORLD, -13, 20));
+        assertFalse(tracker.contains(WORLD, -10, 23));
+
+        tracker.clear();
+        assertFalse(tracker.contains(WORLD, -10, 20));
+
+        // A cleared view loads everything again
+        int[] count = new int[1];
+        tracker.update(WORLD, -10, 20, 2, (x, z) -> count[0]++, FAIL);
+        assertEquals(25, count[0]);
+    }
+
+    @Test
+    public void radiusIsClamped() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        int[] count = new int[1];
+        tracker.update(WORLD, 0, 0, 100, (x, z) -> count[0]++, FAIL);
+
+        int side = 2 * ChunkViewTracker.MAX_RADIUS + 1;
+        assertEquals(side * side, count[0]);
+        assertTrue(tracker.contains(WORLD, ChunkViewTracker.MAX_RADIUS, -ChunkViewTracker.MAX_RADIUS));
+        assertFalse(tracker.contains(WORLD, ChunkViewTracker.MAX_RADIUS + 1, 0));
+    }
+
+    @Test
+    public void worldChangeAtSameCenterReloadsEverything() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 3, 3, 2, (x, z) -> {}, FAIL);
+
+        World other = newWorld();
+        List<Long> loaded = new ArrayList<>();
+        List<Long> unloaded = new ArrayList<>();
+        tracker.update(other, 3, 3, 2, (x, z) -> loaded.add(key(x, z)), (x, z) -> unloaded.add(key(x, z)));
+
+        assertEquals(square(3, 3, 2), new HashSet<>(unloaded));
+        assertEquals(25, unloaded.size());
+        assertEquals(square(3, 3, 2), new HashSet<>(loaded));
+        assertEquals(25, loaded.size());
+        assertEquals(key(3, 3), (long) loaded.get(0));
+
+        assertTrue(tracker.contains(other, 3, 3));
+        assertFalse(tracker.contains(WORLD, 3, 3));
+    }
+
+    @Test
+    public void worldChangeWithOverlapReloadsEverything() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 2, (x, z) -> {}, FAIL);
+
+        World other = newWorld();
+        List<Long> loaded = new ArrayList<>();
+        List<Long> unloaded = new ArrayList<>();
+        tracker.update(other, 1, 0, 3, (x, z) -> loaded.add(key(x, z)), (x, z) -> unloaded.add(key(x, z)));
+
+        assertEquals(square(0, 0, 2), new HashSet<>(unloaded));
+        assertEquals(25, unloaded.size());
+        assertEquals(square(1, 0, 3), new HashSet<>(loaded));
+        assertEquals(49, loaded.size());
+
+        // Moves within the new world are diffs again
+        tracker.update(other, 1, 0, 3, FAIL, FAIL);
+        assertMove(tracker, other, 1, 0, 3, 2, 0, 3);
+    }
+
+    @Test
+    public void clearForgetsWorld() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        tracker.update(WORLD, 0, 0, 1, (x, z) -> {}, FAIL);
+        tracker.clear();
+
+        int[] count = new int[1];
+        tracker.update(newWorld(), 0, 0, 1, (x, z) -> count[0]++, FAIL);
+        assertEquals(9, count[0]);
+    }
+}
\ No newline at end of file
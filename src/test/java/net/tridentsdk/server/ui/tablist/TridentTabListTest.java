@@ -0,0 +1,163 @@
+/*
+ * Trident - A Multithreaded Server Alternative
+ * Copyright 2017 The TridentSDK Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.tridentsdk.server.ui.tablist;
+
+import net.tridentsdk.chat.ChatComponent;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class TridentTabListTest {
+    private static UUID uuid(TridentTabList list, int slot) {
+        synchronized (list.lock) {
+            return list.elements.get(slot).getUuid();
+        }
+    }
+
+    @Test
+    public void addThenRemoveCancels() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+        list.setElement(0, null);
+
+        assertNull(list.takePending());
+    }
+
+    @Test
+    public void addThenRemoveKeepsOtherAdds() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+        UUID kept = uuid(list, 0);
+        list.setElement(1, ChatComponent.text("b"));
+        list.setElement(1, null);
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertEquals(1, changes.added.size());
+        assertTrue(changes.added.containsKey(kept));
+        assertTrue(changes.removed.isEmpty());
+        assertTrue(changes.updated.isEmpty());
+    }
+
+    @Test
+    public void displayNameAfterAddIsCarriedByAdd() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+        ChatComponent name = ChatComponent.text("b");
+        list.setElement(0, name);
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertEquals(1, changes.added.size());
+        assertSame(name, changes.added.get(uuid(list, 0)).getDisplayName());
+        assertTrue(changes.updated.isEmpty());
+    }
+
+    @Test
+    public void displayNamesCoalesce() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+        list.takePending();
+
+        ChatComponent last = ChatComponent.text("c");
+        list.setElement(0, ChatComponent.text("b"));
+        list.setElement(0, last);
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertTrue(changes.added.isEmpty());
+        assertTrue(changes.removed.isEmpty());
+        assertEquals(1, changes.updated.size());
+        assertSame(last, changes.updated.get(uuid(list, 0)));
+    }
+
+    @Test
+    public void removeAfterFlushIsSent() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+        UUID uuid = uuid(list, 0);
+        list.takePending();
+
+        list.setElement(0, ChatComponent.text("b"));
+        list.setElement(0, null);
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertTrue(changes.added.isEmpty());
+        assertEquals(1, changes.removed.size());
+        assertTrue(changes.removed.contains(uuid));
+        assertTrue(changes.updated.isEmpty());
+    }
+
+    @Test
+    public void replacingSentElementRemovesThenAdds() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        TabListElement element = new TabListElement();
+        synchronized (list.lock) {
+            list.queueAdd(element);
+        }
+        list.takePending();
+
+        synchronized (list.lock) {
+            list.queueRemove(element.getUuid());
+            list.queueAdd(element);
+        }
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertTrue(changes.removed.contains(element.getUuid()));
+        assertSame(element, changes.added.get(element.getUuid()));
+    }
+
+    @Test
+    public void removingReaddedSentElementIsSent() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        TabListElement element = new TabListElement();
+        synchronized (list.lock) {
+            list.queueAdd(element);
+        }
+        list.takePending();
+
+        synchronized (list.lock) {
+            list.queueAdd(element);
+            list.queueRemove(element.getUuid());
+        }
+
+        TridentTabList.PendingChanges changes = list.takePending();
+        assertNotNull(changes);
+        assertTrue(changes.added.isEmpty());
+        assertTrue(changes.removed.contains(element.getUuid()));
+
+        // Once removed, it is unsent again
+        synchronized (list.lock) {
+            list.queueAdd(element);
+            list.queueRemove(element.getUuid());
+        }
+        assertNull(list.takePending());
+    }
+
+    @Test
+    public void takeLeavesNothingPending() {
+        TridentCustomTabList list = new TridentCustomTabList();
+        list.setElement(0, ChatComponent.text("a"));
+
+        assertNotNull(list.takePending());
+        assertNull(list.takePending());
+    }
+}
\ No newline at end of file